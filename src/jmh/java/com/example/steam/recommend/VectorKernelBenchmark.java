@@ -0,0 +1,79 @@
+package com.example.steam.recommend;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 스칼라/SIMD 커널의 임베딩 차원별 처리량 비교.
+ * 한 번의 호출은 질의 하나와 저장 벡터 ROWS 개의 내적 (전수 검색 안쪽 루프와 같은 모양).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class VectorKernelBenchmark {
+
+    private static final int ROWS = 1024;
+
+    @Param({"32", "64", "128", "256"})
+    public int dim;
+
+    @Param({"scalar", "simd"})
+    public String kernel;
+
+    private VectorKernel impl;
+    private float[] query;
+    private float[] rows;
+    private byte[] codes;
+
+    @Setup
+    public void setUp() {
+        impl = "simd".equals(kernel) ? new SimdVectorKernel() : new ScalarVectorKernel();
+        SplittableRandom random = new SplittableRandom(42);
+        query = new float[dim];
+        rows = new float[ROWS * dim];
+        codes = new byte[ROWS * dim];
+        for (int i = 0; i < dim; i++) {
+            query[i] = (float) random.nextDouble(-1, 1);
+        }
+        for (int i = 0; i < rows.length; i++) {
+            rows[i] = (float) random.nextDouble(-1, 1);
+            codes[i] = (byte) random.nextInt(-127, 128);
+        }
+    }
+
+    @Benchmark
+    public float dotFloat() {
+        float best = Float.NEGATIVE_INFINITY;
+        for (int r = 0; r < ROWS; r++) {
+            best = Math.max(best, impl.dot(query, 0, rows, r * dim, dim));
+        }
+        return best;
+    }
+
+    @Benchmark
+    public float dotInt8() {
+        float best = Float.NEGATIVE_INFINITY;
+        for (int r = 0; r < ROWS; r++) {
+            best = Math.max(best, impl.dot(query, codes, r * dim, dim));
+        }
+        return best;
+    }
+
+    @Benchmark
+    public float squaredDistance() {
+        float best = Float.POSITIVE_INFINITY;
+        for (int r = 0; r < ROWS; r++) {
+            best = Math.min(best, impl.squaredDistance(query, 0, rows, r * dim, dim));
+        }
+        return best;
+    }
+}
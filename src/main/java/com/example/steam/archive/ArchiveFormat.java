@@ -0,0 +1,55 @@
+package com.example.steam.archive;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 스냅샷 아카이브 파일 공통 형식.
+ *
+ * 파일 전체를 gzip 으로 감싸고, 안쪽은 [매직 "SGAR"][버전][테이블] 머리글 뒤에 행 그룹이 이어진다.
+ * 행 그룹은 [varint 행 수][컬럼 수만큼 (varint 길이, 바이트)] 이고 행 수 0 이 파일 끝이다.
+ * 같은 컬럼 값끼리 붙어 있어 (정렬된 appid 차이, 작은 플레이 시간 varint) gzip 이 행 단위 CSV 보다 훨씬 잘 줄인다.
+ */
+final class ArchiveFormat {
+
+    static final int MAGIC = 0x53474152;  // "SGAR"
+    static final int VERSION = 1;
+    static final int TABLE_OWNED_GAME = 1;
+    static final int TABLE_PLAYTIME_HISTORY = 2;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private ArchiveFormat() {
+    }
+
+    static DataOutputStream openWriter(OutputStream out, int table) throws IOException {
+        DataOutputStream data = new DataOutputStream(new BufferedOutputStream(new GZIPOutputStream(out, BUFFER_SIZE), BUFFER_SIZE));
+        data.writeInt(MAGIC);
+        data.writeByte(VERSION);
+        data.writeByte(table);
+        return data;
+    }
+
+    static DataInputStream openReader(InputStream in, int table) throws IOException {
+        DataInputStream data = new DataInputStream(new BufferedInputStream(new GZIPInputStream(in, BUFFER_SIZE), BUFFER_SIZE));
+        if (data.readInt() != MAGIC) {
+            throw new IOException("Not a snapshot archive file");
+        }
+        int version = data.readUnsignedByte();
+        if (version != VERSION) {
+            throw new IOException("Unsupported archive version: " + version);
+        }
+        int actual = data.readUnsignedByte();
+        if (actual != table) {
+            throw new IOException("Unexpected archive table: expected " + table + ", got " + actual);
+        }
+        return data;
+    }
+}
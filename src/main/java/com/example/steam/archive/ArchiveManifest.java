@@ -0,0 +1,59 @@
+package com.example.steam.archive;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 파티션 하나를 이루는 파트 파일 목록 (파티션 디렉터리의 _manifest, 파일 이름 한 줄에 하나).
+ * 내보내기는 파트를 모두 올린 뒤 마지막에 매니페스트를 바꿔 파티션을 한 번에 교체한다.
+ * 읽는 쪽은 매니페스트가 있으면 거기 적힌 파트만 읽고, 없으면 (이전 형식) 디렉터리의 파트를 모두 읽는다.
+ */
+public final class ArchiveManifest {
+
+    public static final String FILE_NAME = "_manifest";
+    public static final String PART_SUFFIX = ".sgar.gz";
+
+    private ArchiveManifest() {
+    }
+
+    public static List<String> read(InputStream in) throws IOException {
+        List<String> names = new ArrayList<>();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            if (!line.isBlank()) {
+                names.add(line.trim());
+            }
+        }
+        return names;
+    }
+
+    public static void write(Path file, List<String> names) throws IOException {
+        Files.write(file, names, StandardCharsets.UTF_8);
+    }
+
+    // 파티션 디렉터리에서 읽을 파트 파일 (이름순)
+    public static List<Path> parts(Path directory) throws IOException {
+        Path manifest = directory.resolve(FILE_NAME);
+        List<Path> parts = new ArrayList<>();
+        if (Files.isRegularFile(manifest)) {
+            try (InputStream in = Files.newInputStream(manifest)) {
+                for (String name : read(in)) {
+                    parts.add(directory.resolve(name));
+                }
+            }
+            return parts;
+        }
+        try (var files = Files.list(directory)) {
+            files.filter(file -> file.getFileName().toString().endsWith(PART_SUFFIX)).sorted().forEach(parts::add);
+        }
+        return parts;
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.steam.archive;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * 아카이브 파일 저장소 (로컬 디렉터리 또는 S3 호환 버킷).
+ * 키는 "library/date=2024-01-31/part-00000.sgar.gz" 처럼 '/' 로 구분한 상대 경로다.
+ */
+public interface ArchiveStore {
+
+    // 다 쓴 로컬 파일을 key 로 올린다
+    void put(String key, Path file) throws IOException;
+
+    InputStream open(String key) throws IOException;
+
+    // prefix 로 시작하는 키 (사전순)
+    List<String> list(String prefix) throws IOException;
+
+    // 없는 키는 무시한다
+    void delete(String key) throws IOException;
+
+    String describe();
+}
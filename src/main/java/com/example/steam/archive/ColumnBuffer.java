@@ -0,0 +1,132 @@
+package com.example.steam.archive;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * 컬럼 하나의 인코딩 버퍼 (varint, zigzag varint, 길이 접두 문자열/바이트).
+ * 아카이브 행 그룹을 쓸 때 컬럼마다 하나씩 채운 뒤 길이와 함께 차례로 내보내고,
+ * 읽을 때는 같은 클래스로 컬럼 바이트를 커서로 훑는다.
+ */
+final class ColumnBuffer {
+
+    private byte[] data;
+    private int length;
+    private int position;
+
+    ColumnBuffer(int capacity) {
+        this.data = new byte[Math.max(capacity, 16)];
+    }
+
+    void clear() {
+        length = 0;
+        position = 0;
+    }
+
+    int length() {
+        return length;
+    }
+
+    boolean hasRemaining() {
+        return position < length;
+    }
+
+    void writeVarLong(long value) {
+        ensureCapacity(10);
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    void writeZigzag(long value) {
+        writeVarLong((value << 1) ^ (value >> 63));
+    }
+
+    void writeBytes(byte[] bytes) {
+        writeVarLong(bytes.length);
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, data, length, bytes.length);
+        length += bytes.length;
+    }
+
+    void writeString(String value) {
+        writeBytes(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[position++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    long readZigzag() {
+        long value = readVarLong();
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    byte[] readBytes() {
+        int size = (int) readVarLong();
+        byte[] bytes = Arrays.copyOfRange(data, position, position + size);
+        position += size;
+        return bytes;
+    }
+
+    String readString() {
+        int size = (int) readVarLong();
+        String value = new String(data, position, size, StandardCharsets.UTF_8);
+        position += size;
+        return value;
+    }
+
+    // [varint 길이][바이트] 로 내보낸다
+    void writeTo(DataOutputStream out) throws IOException {
+        writeRawVarLong(out, length);
+        out.write(data, 0, length);
+    }
+
+    // writeTo 로 쓴 컬럼 하나를 읽어 들인다
+    void readFrom(DataInputStream in) throws IOException {
+        int size = (int) readRawVarLong(in);
+        clear();
+        ensureCapacity(size);
+        in.readFully(data, 0, size);
+        length = size;
+    }
+
+    static void writeRawVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    static long readRawVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.steam.archive;
+
+import com.example.steam.recommend.UserLibrary;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Arrays;
+import java.util.function.Consumer;
+
+/**
+ * owned_game 컬럼 아카이브 쓰기/읽기.
+ *
+ * 컬럼: 사용자 (steamId, 행 수) 연속 구간 / 사용자 안에서 appid 차이 / playtime_forever / playtime2weeks
+ * / rtime_last_played 직전 행 대비 차이(zigzag). content_hash 는 나머지 컬럼으로 다시 계산할 수 있어 저장하지 않는다.
+ * 행은 (steamId, appid) 순으로 받아야 하고, 사용자 한 명이 행 그룹을 넘나들지 않도록 사용자 경계에서만 그룹을 나눈다.
+ */
+public final class OwnedGameArchive {
+
+    public static final int DEFAULT_ROW_GROUP_ROWS = 1 << 17;
+
+    private static final int COLUMNS = 5;
+
+    private OwnedGameArchive() {
+    }
+
+    // 한 행씩 받는 읽기 콜백
+    @FunctionalInterface
+    public interface RowVisitor {
+        void row(String steamId, int appid, int playtimeForever, int playtime2weeks, long rtimeLastPlayed);
+    }
+
+    public static Writer writer(OutputStream out) throws IOException {
+        return new Writer(out, DEFAULT_ROW_GROUP_ROWS);
+    }
+
+    public static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        private final int rowGroupRows;
+        private final ColumnBuffer users = new ColumnBuffer(1 << 12);
+        private final ColumnBuffer appids = new ColumnBuffer(1 << 16);
+        private final ColumnBuffer playtimes = new ColumnBuffer(1 << 16);
+        private final ColumnBuffer recentPlaytimes = new ColumnBuffer(1 << 16);
+        private final ColumnBuffer lastPlayed = new ColumnBuffer(1 << 16);
+        private String steamId;
+        private int userRows;
+        private int previousAppid;
+        private long previousLastPlayed;
+        private int groupRows;
+        private long rowCount;
+
+        Writer(OutputStream out, int rowGroupRows) throws IOException {
+            this.out = ArchiveFormat.openWriter(out, ArchiveFormat.TABLE_OWNED_GAME);
+            this.rowGroupRows = rowGroupRows;
+        }
+
+        public void write(String steamId, int appid, int playtimeForever, int playtime2weeks, long rtimeLastPlayed)
+                throws IOException {
+            if (!steamId.equals(this.steamId)) {
+                endUser();
+                if (groupRows >= rowGroupRows) {
+                    flushGroup();
+                }
+                this.steamId = steamId;
+                previousAppid = 0;
+            }
+            appids.writeVarLong(appid - previousAppid);
+            playtimes.writeVarLong(playtimeForever);
+            recentPlaytimes.writeVarLong(playtime2weeks);
+            lastPlayed.writeZigzag(rtimeLastPlayed - previousLastPlayed);
+            previousAppid = appid;
+            previousLastPlayed = rtimeLastPlayed;
+            userRows++;
+            groupRows++;
+            rowCount++;
+        }
+
+        public long rowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            endUser();
+            flushGroup();
+            ColumnBuffer.writeRawVarLong(out, 0);
+            out.close();
+        }
+
+        private void endUser() {
+            if (steamId != null && userRows > 0) {
+                users.writeString(steamId);
+                users.writeVarLong(userRows);
+            }
+            steamId = null;
+            userRows = 0;
+        }
+
+        private void flushGroup() throws IOException {
+            if (groupRows == 0) {
+                return;
+            }
+            ColumnBuffer.writeRawVarLong(out, groupRows);
+            for (ColumnBuffer column : new ColumnBuffer[]{users, appids, playtimes, recentPlaytimes, lastPlayed}) {
+                column.writeTo(out);
+                column.clear();
+            }
+            groupRows = 0;
+            previousLastPlayed = 0;
+        }
+    }
+
+    // 파일의 모든 행을 (steamId, appid) 순으로 넘긴다. 스트림은 닫지 않는다.
+    public static void read(InputStream in, RowVisitor visitor) throws IOException {
+        DataInputStream data = ArchiveFormat.openReader(in, ArchiveFormat.TABLE_OWNED_GAME);
+        ColumnBuffer[] columns = new ColumnBuffer[COLUMNS];
+        for (int c = 0; c < COLUMNS; c++) {
+            columns[c] = new ColumnBuffer(1 << 16);
+        }
+        ColumnBuffer users = columns[0];
+        ColumnBuffer appids = columns[1];
+        ColumnBuffer playtimes = columns[2];
+        ColumnBuffer recentPlaytimes = columns[3];
+        ColumnBuffer lastPlayed = columns[4];
+        long groupRows;
+        while ((groupRows = ColumnBuffer.readRawVarLong(data)) > 0) {
+            for (ColumnBuffer column : columns) {
+                column.readFrom(data);
+            }
+            long previousLastPlayed = 0;
+            while (users.hasRemaining()) {
+                String steamId = users.readString();
+                long rows = users.readVarLong();
+                int appid = 0;
+                for (long r = 0; r < rows; r++) {
+                    appid += (int) appids.readVarLong();
+                    previousLastPlayed += lastPlayed.readZigzag();
+                    visitor.row(steamId, appid, (int) playtimes.readVarLong(), (int) recentPlaytimes.readVarLong(),
+                            previousLastPlayed);
+                }
+            }
+        }
+    }
+
+    // 사용자 단위로 모아 UserLibrary 로 넘긴다 (학습/평가용)
+    public static void forEachLibrary(InputStream in, Consumer<UserLibrary> consumer) throws IOException {
+        LibraryCollector collector = new LibraryCollector(consumer);
+        read(in, collector);
+        collector.flush();
+    }
+
+    private static final class LibraryCollector implements RowVisitor {
+        private final Consumer<UserLibrary> consumer;
+        private String steamId;
+        private int[] appids = new int[256];
+        private int[] playtimes = new int[256];
+        private int size;
+
+        LibraryCollector(Consumer<UserLibrary> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void row(String steamId, int appid, int playtimeForever, int playtime2weeks, long rtimeLastPlayed) {
+            if (!steamId.equals(this.steamId)) {
+                flush();
+                this.steamId = steamId;
+            }
+            if (size == appids.length) {
+                appids = Arrays.copyOf(appids, size * 2);
+                playtimes = Arrays.copyOf(playtimes, size * 2);
+            }
+            appids[size] = appid;
+            playtimes[size++] = playtimeForever;
+        }
+
+        void flush() {
+            if (steamId != null && size > 0) {
+                consumer.accept(new UserLibrary(steamId, Arrays.copyOf(appids, size), Arrays.copyOf(playtimes, size)));
+            }
+            size = 0;
+        }
+    }
+}
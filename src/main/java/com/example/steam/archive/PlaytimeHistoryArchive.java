@@ -0,0 +1,129 @@
+package com.example.steam.archive;
+
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * playtime_history 컬럼 아카이브 쓰기/읽기.
+ *
+ * 컬럼: 사용자 (steamId, 행 수) 연속 구간 / 월(yyyyMM) / 관측 수 / 블록 바이트 (길이 접두).
+ * 블록은 이미 delta/varint 인코딩(PlaytimeHistoryBlock)이라 그대로 옮기고 압축은 파일 gzip 에 맡긴다.
+ * 블록이 커질 수 있어 행 수와 바이트 수 중 먼저 닿는 쪽에서 행 그룹을 나눈다.
+ */
+public final class PlaytimeHistoryArchive {
+
+    public static final int DEFAULT_ROW_GROUP_ROWS = 1 << 14;
+    public static final int DEFAULT_ROW_GROUP_BYTES = 8 << 20;
+
+    private static final int COLUMNS = 4;
+
+    private PlaytimeHistoryArchive() {
+    }
+
+    @FunctionalInterface
+    public interface RowVisitor {
+        void row(String steamId, int month, int observationCount, byte[] data);
+    }
+
+    public static Writer writer(OutputStream out) throws IOException {
+        return new Writer(out, DEFAULT_ROW_GROUP_ROWS, DEFAULT_ROW_GROUP_BYTES);
+    }
+
+    public static final class Writer implements Closeable {
+        private final DataOutputStream out;
+        private final int rowGroupRows;
+        private final int rowGroupBytes;
+        private final ColumnBuffer users = new ColumnBuffer(1 << 12);
+        private final ColumnBuffer months = new ColumnBuffer(1 << 12);
+        private final ColumnBuffer counts = new ColumnBuffer(1 << 12);
+        private final ColumnBuffer blocks = new ColumnBuffer(1 << 20);
+        private String steamId;
+        private int userRows;
+        private int groupRows;
+        private long rowCount;
+
+        Writer(OutputStream out, int rowGroupRows, int rowGroupBytes) throws IOException {
+            this.out = ArchiveFormat.openWriter(out, ArchiveFormat.TABLE_PLAYTIME_HISTORY);
+            this.rowGroupRows = rowGroupRows;
+            this.rowGroupBytes = rowGroupBytes;
+        }
+
+        public void write(String steamId, int month, int observationCount, byte[] data) throws IOException {
+            if (!steamId.equals(this.steamId)) {
+                endUser();
+                this.steamId = steamId;
+            }
+            months.writeVarLong(month);
+            counts.writeVarLong(observationCount);
+            blocks.writeBytes(data);
+            userRows++;
+            groupRows++;
+            rowCount++;
+            if (groupRows >= rowGroupRows || blocks.length() >= rowGroupBytes) {
+                flushGroup();
+            }
+        }
+
+        public long rowCount() {
+            return rowCount;
+        }
+
+        @Override
+        public void close() throws IOException {
+            flushGroup();
+            ColumnBuffer.writeRawVarLong(out, 0);
+            out.close();
+        }
+
+        private void endUser() {
+            if (steamId != null && userRows > 0) {
+                users.writeString(steamId);
+                users.writeVarLong(userRows);
+            }
+            userRows = 0;
+        }
+
+        // 사용자 구간이 그룹 안에서 닫히도록 현재 사용자까지 기록하고 내보낸다 (다음 그룹에서 같은 사용자가 이어질 수 있다)
+        private void flushGroup() throws IOException {
+            endUser();
+            if (groupRows == 0) {
+                return;
+            }
+            ColumnBuffer.writeRawVarLong(out, groupRows);
+            for (ColumnBuffer column : new ColumnBuffer[]{users, months, counts, blocks}) {
+                column.writeTo(out);
+                column.clear();
+            }
+            groupRows = 0;
+        }
+    }
+
+    // 파일의 모든 행을 (steamId, month) 순으로 넘긴다. 스트림은 닫지 않는다.
+    public static void read(InputStream in, RowVisitor visitor) throws IOException {
+        DataInputStream data = ArchiveFormat.openReader(in, ArchiveFormat.TABLE_PLAYTIME_HISTORY);
+        ColumnBuffer[] columns = new ColumnBuffer[COLUMNS];
+        for (int c = 0; c < COLUMNS; c++) {
+            columns[c] = new ColumnBuffer(1 << 16);
+        }
+        ColumnBuffer users = columns[0];
+        ColumnBuffer months = columns[1];
+        ColumnBuffer counts = columns[2];
+        ColumnBuffer blocks = columns[3];
+        while (ColumnBuffer.readRawVarLong(data) > 0) {
+            for (ColumnBuffer column : columns) {
+                column.readFrom(data);
+            }
+            while (users.hasRemaining()) {
+                String steamId = users.readString();
+                long rows = users.readVarLong();
+                for (long r = 0; r < rows; r++) {
+                    visitor.row(steamId, (int) months.readVarLong(), (int) counts.readVarLong(), blocks.readBytes());
+                }
+            }
+        }
+    }
+}
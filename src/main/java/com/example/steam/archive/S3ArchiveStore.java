@@ -0,0 +1,68 @@
+package com.example.steam.archive;
+
+import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
+import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.ListObjectsV2Request;
+import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Object;
+
+import java.io.InputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+// S3 호환 객체 저장소 아카이브 (키 앞에 keyPrefix 를 붙인다)
+public class S3ArchiveStore implements ArchiveStore {
+
+    private final S3Client s3Client;
+    private final String bucket;
+    private final String keyPrefix;
+
+    public S3ArchiveStore(S3Client s3Client, String bucket, String keyPrefix) {
+        this.s3Client = s3Client;
+        this.bucket = bucket;
+        this.keyPrefix = keyPrefix == null || keyPrefix.isEmpty() || keyPrefix.endsWith("/") ? nullToEmpty(keyPrefix) : keyPrefix + "/";
+    }
+
+    @Override
+    public void put(String key, Path file) {
+        s3Client.putObject(PutObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(keyPrefix + key)
+                        .contentType("application/octet-stream")
+                        .build(),
+                RequestBody.fromFile(file));
+    }
+
+    @Override
+    public InputStream open(String key) {
+        return s3Client.getObject(GetObjectRequest.builder().bucket(bucket).key(keyPrefix + key).build());
+    }
+
+    @Override
+    public List<String> list(String prefix) {
+        List<String> keys = new ArrayList<>();
+        ListObjectsV2Request request = ListObjectsV2Request.builder().bucket(bucket).prefix(keyPrefix + prefix).build();
+        for (S3Object object : s3Client.listObjectsV2Paginator(request).contents()) {
+            keys.add(object.key().substring(keyPrefix.length()));
+        }
+        keys.sort(null);
+        return keys;
+    }
+
+    @Override
+    public void delete(String key) {
+        s3Client.deleteObject(DeleteObjectRequest.builder().bucket(bucket).key(keyPrefix + key).build());
+    }
+
+    @Override
+    public String describe() {
+        return "s3://" + bucket + "/" + keyPrefix;
+    }
+
+    private static String nullToEmpty(String value) {
+        return value == null ? "" : value;
+    }
+}
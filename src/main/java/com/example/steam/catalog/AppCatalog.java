@@ -0,0 +1,208 @@
+package com.example.steam.catalog;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.function.IntConsumer;
+
+/**
+ * 메모리 매핑 기본 색인 + 그 이후 변경을 담은 작은 힙 오버레이로 이루어진 앱 카탈로그 (불변).
+ *
+ * 증분 동기화로 받은 변경은 apply 로 오버레이만 다시 만든 새 인스턴스를 돌려주므로 기본 파일은 건드리지 않는다.
+ * 조회는 오버레이를 먼저 보고, 검색은 오버레이 결과와 (오버레이에 있는 appid 를 뺀) 기본 색인 결과를 순위대로 합친다.
+ * 오버레이가 커지면 compactTo 로 둘을 합친 새 기본 파일을 만든다.
+ */
+public final class AppCatalog {
+
+    private final AppCatalogIndex base;
+    // 오버레이 (appid 오름차순)
+    private final int[] appids;
+    private final String[] names;
+    private final byte[][] norms;
+    private final long[] modified;
+    // 오버레이 검색 키 (항목, 단어 시작 위치), 기본 색인과 같은 순서로 정렬
+    private final int[] keyEntries;
+    private final int[] keyPositions;
+    private final int addedCount;
+    private final long lastModified;
+
+    private AppCatalog(AppCatalogIndex base, int[] appids, String[] names, long[] modified) {
+        this.base = base;
+        this.appids = appids;
+        this.names = names;
+        this.modified = modified;
+        this.norms = new byte[appids.length][];
+        int added = 0;
+        long maxModified = base.lastModified();
+        List<int[]> keys = new ArrayList<>();
+        for (int i = 0; i < appids.length; i++) {
+            norms[i] = AppCatalogIndex.normalize(names[i]);
+            if (!base.contains(appids[i])) {
+                added++;
+            }
+            maxModified = Math.max(maxModified, modified[i]);
+            for (int pos = 0; pos < norms[i].length; pos++) {
+                if (pos == 0 || norms[i][pos - 1] == ' ') {
+                    keys.add(new int[]{i, pos});
+                }
+            }
+        }
+        keys.sort((a, b) -> Arrays.compareUnsigned(norms[a[0]], a[1], norms[a[0]].length,
+                norms[b[0]], b[1], norms[b[0]].length));
+        this.keyEntries = new int[keys.size()];
+        this.keyPositions = new int[keys.size()];
+        for (int k = 0; k < keys.size(); k++) {
+            keyEntries[k] = keys.get(k)[0];
+            keyPositions[k] = keys.get(k)[1];
+        }
+        this.addedCount = added;
+        this.lastModified = maxModified;
+    }
+
+    public static AppCatalog of(AppCatalogIndex base) {
+        return new AppCatalog(base, new int[0], new String[0], new long[0]);
+    }
+
+    // 변경을 반영한 새 카탈로그 (같은 appid 는 나중 변경이 이긴다)
+    public AppCatalog apply(List<AppChange> changes) {
+        if (changes.isEmpty()) {
+            return this;
+        }
+        TreeMap<Integer, AppChange> merged = new TreeMap<>();
+        for (int i = 0; i < appids.length; i++) {
+            merged.put(appids[i], new AppChange(appids[i], names[i], modified[i]));
+        }
+        for (AppChange change : changes) {
+            merged.put(change.appid(), new AppChange(change.appid(), change.name() == null ? "" : change.name(),
+                    change.lastModified()));
+        }
+        int n = merged.size();
+        int[] ids = new int[n];
+        String[] newNames = new String[n];
+        long[] newModified = new long[n];
+        int i = 0;
+        for (AppChange change : merged.values()) {
+            ids[i] = change.appid();
+            newNames[i] = change.name();
+            newModified[i++] = change.lastModified();
+        }
+        return new AppCatalog(base, ids, newNames, newModified);
+    }
+
+    public AppCatalogIndex base() {
+        return base;
+    }
+
+    public int size() {
+        return base.size() + addedCount;
+    }
+
+    public int overlaySize() {
+        return appids.length;
+    }
+
+    // 반영된 스토어 최종 수정 시각 (epoch 초, 다음 증분 동기화의 if_modified_since)
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public boolean contains(int appid) {
+        return Arrays.binarySearch(appids, appid) >= 0 || base.contains(appid);
+    }
+
+    public String name(int appid) {
+        int i = Arrays.binarySearch(appids, appid);
+        return i >= 0 ? names[i] : base.name(appid);
+    }
+
+    // 모든 appid (기본 색인 순서 뒤에 오버레이로 새로 생긴 것)
+    public void forEachAppid(IntConsumer consumer) {
+        for (int i = 0; i < base.size(); i++) {
+            consumer.accept(base.appidAt(i));
+        }
+        for (int appid : appids) {
+            if (!base.contains(appid)) {
+                consumer.accept(appid);
+            }
+        }
+    }
+
+    /**
+     * 기본 색인과 같은 규칙(이름 맨 앞 일치 먼저, 짧은 이름 먼저)으로 오버레이와 기본 결과를 합친다.
+     */
+    public List<AppMatch> search(String prefix, int limit) {
+        byte[] query = AppCatalogIndex.normalize(prefix);
+        if (appids.length == 0) {
+            return base.search(query, limit, null);
+        }
+        List<AppMatch> candidates = new ArrayList<>(base.search(query, limit,
+                appid -> Arrays.binarySearch(appids, appid) >= 0));
+        candidates.addAll(searchOverlay(query, limit));
+        candidates.sort(Comparator.comparingLong(match -> rank(match.name(), query)));
+        return candidates.size() > limit ? new ArrayList<>(candidates.subList(0, limit)) : candidates;
+    }
+
+    // 기본 색인 + 오버레이를 합친 새 기본 파일을 쓴다
+    public void compactTo(Path file) throws IOException {
+        int n = size();
+        int[] ids = new int[n];
+        String[] allNames = new String[n];
+        int count = 0;
+        for (int i = 0; i < base.size(); i++) {
+            int appid = base.appidAt(i);
+            if (Arrays.binarySearch(appids, appid) < 0) {
+                ids[count] = appid;
+                allNames[count++] = base.nameAt(i);
+            }
+        }
+        for (int i = 0; i < appids.length; i++) {
+            ids[count] = appids[i];
+            allNames[count++] = names[i];
+        }
+        AppCatalogIndex.write(file, Arrays.copyOf(ids, count), Arrays.copyOf(allNames, count), lastModified);
+    }
+
+    private List<AppMatch> searchOverlay(byte[] query, int limit) {
+        List<AppMatch> result = new ArrayList<>();
+        if (query.length == 0) {
+            return result;
+        }
+        int lo = 0;
+        int hi = keyEntries.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            byte[] norm = norms[keyEntries[mid]];
+            if (Arrays.compareUnsigned(norm, keyPositions[mid], norm.length, query, 0, query.length) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        boolean[] seen = new boolean[appids.length];
+        for (int k = lo; k < keyEntries.length && result.size() < limit * 4; k++) {
+            int entry = keyEntries[k];
+            byte[] norm = norms[entry];
+            int pos = keyPositions[k];
+            if (norm.length - pos < query.length
+                    || Arrays.compare(norm, pos, pos + query.length, query, 0, query.length) != 0) {
+                break;
+            }
+            if (!seen[entry]) {
+                seen[entry] = true;
+                result.add(new AppMatch(appids[entry], names[entry]));
+            }
+        }
+        return result;
+    }
+
+    private static long rank(String name, byte[] query) {
+        byte[] norm = AppCatalogIndex.normalize(name);
+        boolean leading = norm.length >= query.length
+                && Arrays.compare(norm, 0, query.length, query, 0, query.length) == 0;
+        return ((long) (leading ? 0 : 1) << 32) | norm.length;
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.steam.catalog;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * 기본 색인 파일 이후의 앱 변경을 덧붙이는 로그.
+ * 레코드: [int 본문 길이][int CRC32][본문: int appid, long lastModified, UTF-8 이름(길이 접두)].
+ * 기록 중 중단돼 꼬리가 잘렸거나 CRC 가 맞지 않는 레코드에서 읽기를 멈추고 그 뒤를 잘라 낸다.
+ */
+public final class AppCatalogDeltaLog {
+
+    private AppCatalogDeltaLog() {
+    }
+
+    // 로그의 유효한 변경을 기록 순서대로 읽는다 (파일이 없으면 빈 목록)
+    public static List<AppChange> read(Path file) throws IOException {
+        List<AppChange> changes = new ArrayList<>();
+        if (!Files.exists(file)) {
+            return changes;
+        }
+        long valid = 0;
+        try (InputStream raw = Files.newInputStream(file);
+             DataInputStream in = new DataInputStream(new BufferedInputStream(raw, 1 << 16))) {
+            while (true) {
+                int length;
+                try {
+                    length = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                int crc;
+                byte[] body;
+                try {
+                    crc = in.readInt();
+                    if (length < 0 || length > 1 << 20) {
+                        break;
+                    }
+                    body = new byte[length];
+                    in.readFully(body);
+                } catch (EOFException e) {
+                    break;
+                }
+                if (crc(body) != crc) {
+                    break;
+                }
+                changes.add(decode(body));
+                valid += 8 + length;
+            }
+        }
+        if (valid < Files.size(file)) {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                channel.truncate(valid);
+            }
+        }
+        return changes;
+    }
+
+    // 변경 묶음을 덧붙이고 디스크에 반영될 때까지 기다린다
+    public static void append(Path file, List<AppChange> changes) throws IOException {
+        if (changes.isEmpty()) {
+            return;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(changes.size() * 48);
+        DataOutputStream out = new DataOutputStream(bytes);
+        for (AppChange change : changes) {
+            byte[] body = encode(change);
+            out.writeInt(body.length);
+            out.writeInt(crc(body));
+            out.write(body);
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = ByteBuffer.wrap(bytes.toByteArray());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+    }
+
+    private static byte[] encode(AppChange change) {
+        byte[] name = change.name() == null ? new byte[0] : change.name().getBytes(StandardCharsets.UTF_8);
+        ByteBuffer buffer = ByteBuffer.allocate(4 + 8 + 4 + name.length);
+        buffer.putInt(change.appid());
+        buffer.putLong(change.lastModified());
+        buffer.putInt(name.length);
+        buffer.put(name);
+        return buffer.array();
+    }
+
+    private static AppChange decode(byte[] body) {
+        ByteBuffer buffer = ByteBuffer.wrap(body);
+        int appid = buffer.getInt();
+        long lastModified = buffer.getLong();
+        byte[] name = new byte[buffer.getInt()];
+        buffer.get(name);
+        return new AppChange(appid, new String(name, StandardCharsets.UTF_8), lastModified);
+    }
+
+    private static int crc(byte[] body) {
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        return (int) crc.getValue();
+    }
+}
@@ -0,0 +1,410 @@
+package com.example.steam.catalog;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+/**
+ * 메모리 매핑한 앱 카탈로그 파일 (appid -> 이름, 이름 접두어 검색).
+ *
+ * 파일 구성: [머리글][appid 오름차순 int][이름 오프셋 int][정규화 이름 오프셋 int]
+ * [검색 키 (앱 인덱스 int, 단어 시작 위치 int) 정렬 배열][첫 두 바이트 구간표 int][이름 UTF-8][정규화 이름 UTF-8]
+ *
+ * 검색 키는 정규화 이름(소문자, 영숫자 외는 공백)의 단어 시작마다 하나씩 두고 그 위치부터의 바이트열 순으로 정렬한다.
+ * 첫 두 바이트로 구간표를 한 번 보고 (깊이 2 트라이) 그 안에서 이분 탐색하므로 "witch" 로 "The Witcher 3" 도 찾는다.
+ * 모든 배열이 매핑된 파일 위에 있어 앱 수와 무관하게 힙에는 문자열이 올라오지 않고, 결과 이름만 그때 디코딩한다.
+ * 한 번 쓴 파일은 바꾸지 않는다 (이후 변경은 AppCatalog 오버레이에 쌓았다가 새 파일로 합친다).
+ */
+public final class AppCatalogIndex {
+
+    private static final int MAGIC = 0x53474143;  // "SGAC"
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 32;
+    private static final int JUMP_SIZE = 1 << 16;
+    // 흔한 접두어("a", "the")에서 구간 전체를 훑지 않도록 보는 키 수 상한
+    private static final int MAX_SCANNED_KEYS = 256;
+
+    private final ByteBuffer buffer;
+    private final int size;
+    private final int keyCount;
+    private final int appidsAt;
+    private final int nameOffsetsAt;
+    private final int normOffsetsAt;
+    private final int keysAt;
+    private final int jumpAt;
+    private final int namesAt;
+    private final int normsAt;
+    private final long lastModified;
+    private final long fileBytes;
+
+    private AppCatalogIndex(ByteBuffer buffer, long fileBytes) throws IOException {
+        this.buffer = buffer;
+        this.fileBytes = fileBytes;
+        if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            throw new IOException("Not an app catalogue index file");
+        }
+        this.size = buffer.getInt(8);
+        this.keyCount = buffer.getInt(12);
+        int nameBytes = buffer.getInt(16);
+        this.lastModified = buffer.getLong(24);
+        this.appidsAt = HEADER_BYTES;
+        this.nameOffsetsAt = appidsAt + 4 * size;
+        this.normOffsetsAt = nameOffsetsAt + 4 * (size + 1);
+        this.keysAt = normOffsetsAt + 4 * (size + 1);
+        this.jumpAt = keysAt + 8 * keyCount;
+        this.namesAt = jumpAt + 4 * (JUMP_SIZE + 1);
+        this.normsAt = namesAt + nameBytes;
+    }
+
+    public static AppCatalogIndex open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new AppCatalogIndex(buffer, channel.size());
+        }
+    }
+
+    /**
+     * appid/이름 목록으로 색인 파일을 쓴다 (순서 무관, 같은 appid 는 처음 것만).
+     * 이름이 비어 있는 앱도 appid 조회용으로 남기되 검색 키는 만들지 않는다.
+     * lastModified 는 이 목록에 반영된 스토어 최종 수정 시각 (다음 증분 동기화 기준).
+     */
+    public static void write(Path file, int[] appids, String[] names, long lastModified) throws IOException {
+        Integer[] order = new Integer[appids.length];
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Integer.compare(appids[a], appids[b]));
+        int n = 0;
+        int[] sortedAppids = new int[appids.length];
+        byte[][] nameBytes = new byte[appids.length][];
+        byte[][] normBytes = new byte[appids.length][];
+        for (Integer i : order) {
+            if (n > 0 && sortedAppids[n - 1] == appids[i]) {
+                continue;
+            }
+            String name = names[i] == null ? "" : names[i];
+            sortedAppids[n] = appids[i];
+            nameBytes[n] = name.getBytes(StandardCharsets.UTF_8);
+            normBytes[n] = normalize(name);
+            n++;
+        }
+
+        // 단어 시작마다 검색 키 (앱 인덱스, 위치)
+        List<long[]> keyList = new ArrayList<>();
+        for (int app = 0; app < n; app++) {
+            byte[] norm = normBytes[app];
+            for (int pos = 0; pos < norm.length; pos++) {
+                if (pos == 0 || norm[pos - 1] == ' ') {
+                    keyList.add(new long[]{app, pos});
+                }
+            }
+        }
+        long[][] keys = keyList.toArray(new long[0][]);
+        Arrays.sort(keys, (a, b) -> {
+            byte[] x = normBytes[(int) a[0]];
+            byte[] y = normBytes[(int) b[0]];
+            int c = Arrays.compareUnsigned(x, (int) a[1], x.length, y, (int) b[1], y.length);
+            if (c != 0) {
+                return c;
+            }
+            // 같은 키면 이름 전체가 짧은 (더 정확히 맞는) 앱을 앞에
+            c = Integer.compare(x.length, y.length);
+            return c != 0 ? c : Long.compare(a[0], b[0]);
+        });
+        int[] jump = new int[JUMP_SIZE + 1];
+        for (long[] key : keys) {
+            jump[bucket(normBytes[(int) key[0]], (int) key[1]) + 1]++;
+        }
+        for (int b = 0; b < JUMP_SIZE; b++) {
+            jump[b + 1] += jump[b];
+        }
+
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+            int totalNameBytes = 0;
+            int totalNormBytes = 0;
+            for (int app = 0; app < n; app++) {
+                totalNameBytes += nameBytes[app].length;
+                totalNormBytes += normBytes[app].length;
+            }
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(n);
+            out.writeInt(keys.length);
+            out.writeInt(totalNameBytes);
+            out.writeInt(totalNormBytes);
+            out.writeLong(lastModified);
+            for (int app = 0; app < n; app++) {
+                out.writeInt(sortedAppids[app]);
+            }
+            writeOffsets(out, nameBytes, n);
+            writeOffsets(out, normBytes, n);
+            for (long[] key : keys) {
+                out.writeInt((int) key[0]);
+                out.writeInt((int) key[1]);
+            }
+            for (int value : jump) {
+                out.writeInt(value);
+            }
+            for (int app = 0; app < n; app++) {
+                out.write(nameBytes[app]);
+            }
+            for (int app = 0; app < n; app++) {
+                out.write(normBytes[app]);
+            }
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public long fileBytes() {
+        return fileBytes;
+    }
+
+    // 반영된 스토어 최종 수정 시각 (epoch 초)
+    public long lastModified() {
+        return lastModified;
+    }
+
+    public int appidAt(int index) {
+        return buffer.getInt(appidsAt + 4 * index);
+    }
+
+    // appid 의 인덱스, 없으면 음수
+    public int indexOf(int appid) {
+        int lo = 0;
+        int hi = size - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            int value = appidAt(mid);
+            if (value < appid) {
+                lo = mid + 1;
+            } else if (value > appid) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(lo + 1);
+    }
+
+    public boolean contains(int appid) {
+        return indexOf(appid) >= 0;
+    }
+
+    // 이름, 없는 appid 면 null
+    public String name(int appid) {
+        int index = indexOf(appid);
+        return index < 0 ? null : nameAt(index);
+    }
+
+    public String nameAt(int index) {
+        int start = buffer.getInt(nameOffsetsAt + 4 * index);
+        int end = buffer.getInt(nameOffsetsAt + 4 * (index + 1));
+        byte[] bytes = new byte[end - start];
+        buffer.get(namesAt + start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * 이름의 어느 단어로든 prefix 로 시작하는 앱을 찾는다.
+     * 이름 맨 앞에서 맞는 앱을 먼저, 그다음 이름이 짧은 순으로 최대 limit 개.
+     */
+    public List<AppMatch> search(String prefix, int limit) {
+        return search(normalize(prefix), limit, null);
+    }
+
+    /**
+     * 정규화한 접두어로 검색한다. excluded 가 주어지면 그 appid 는 건너뛴다 (덮어쓴 항목 제외용).
+     */
+    public List<AppMatch> search(byte[] query, int limit, IntPredicate excluded) {
+        List<AppMatch> result = new ArrayList<>();
+        if (query.length == 0 || limit <= 0 || keyCount == 0) {
+            return result;
+        }
+        int from;
+        int to;
+        if (query.length == 1) {
+            int b = (query[0] & 0xFF) << 8;
+            from = jump(b);
+            to = jump(Math.min(b + 256, JUMP_SIZE));
+        } else {
+            int b = bucket(query, 0);
+            from = jump(b);
+            to = jump(b + 1);
+        }
+        from = lowerBound(query, from, to);
+
+        // 구간에서 접두어가 맞는 키를 모아 (이름 맨 앞 일치 먼저, 짧은 이름 먼저) 상위 limit 개
+        int[] apps = new int[Math.min(limit * 4, MAX_SCANNED_KEYS)];
+        long[] ranks = new long[apps.length];
+        int count = 0;
+        int scanned = 0;
+        for (int k = from; k < to && scanned < MAX_SCANNED_KEYS; k++, scanned++) {
+            int app = keyApp(k);
+            int pos = keyPos(k);
+            if (!startsWith(app, pos, query)) {
+                break;
+            }
+            if (excluded != null && excluded.test(appidAt(app))) {
+                continue;
+            }
+            long rank = ((long) (pos == 0 ? 0 : 1) << 40) | ((long) normLength(app) << 20) | Math.min(scanned, (1 << 20) - 1);
+            int existing = -1;
+            for (int i = 0; i < count; i++) {
+                if (apps[i] == app) {
+                    existing = i;
+                    break;
+                }
+            }
+            if (existing >= 0) {
+                ranks[existing] = Math.min(ranks[existing], rank);
+            } else if (count < apps.length) {
+                apps[count] = app;
+                ranks[count++] = rank;
+            } else {
+                // 가장 나쁜 후보보다 좋으면 교체
+                int worst = 0;
+                for (int i = 1; i < count; i++) {
+                    if (ranks[i] > ranks[worst]) {
+                        worst = i;
+                    }
+                }
+                if (rank < ranks[worst]) {
+                    apps[worst] = app;
+                    ranks[worst] = rank;
+                }
+            }
+        }
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Long.compare(ranks[a], ranks[b]));
+        for (int i = 0; i < Math.min(limit, count); i++) {
+            int app = apps[order[i]];
+            result.add(new AppMatch(appidAt(app), nameAt(app)));
+        }
+        return result;
+    }
+
+    /**
+     * 검색용 정규화: 소문자로 바꾸고 문자/숫자가 아닌 것은 공백 하나로 합친 뒤 앞뒤 공백 제거 (UTF-8 바이트).
+     */
+    public static byte[] normalize(String text) {
+        StringBuilder normalized = new StringBuilder(text.length());
+        boolean space = true;
+        for (int i = 0; i < text.length(); ) {
+            int cp = text.codePointAt(i);
+            i += Character.charCount(cp);
+            if (Character.isLetterOrDigit(cp)) {
+                normalized.appendCodePoint(Character.toLowerCase(cp));
+                space = false;
+            } else if (!space) {
+                normalized.append(' ');
+                space = true;
+            }
+        }
+        int length = normalized.length();
+        if (length > 0 && normalized.charAt(length - 1) == ' ') {
+            normalized.setLength(length - 1);
+        }
+        return normalized.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private int jump(int bucket) {
+        return buffer.getInt(jumpAt + 4 * bucket);
+    }
+
+    private int keyApp(int key) {
+        return buffer.getInt(keysAt + 8 * key);
+    }
+
+    private int keyPos(int key) {
+        return buffer.getInt(keysAt + 8 * key + 4);
+    }
+
+    private int normStart(int app) {
+        return buffer.getInt(normOffsetsAt + 4 * app);
+    }
+
+    private int normLength(int app) {
+        return buffer.getInt(normOffsetsAt + 4 * (app + 1)) - normStart(app);
+    }
+
+    // 키 (app, pos) 가 query 로 시작하면 true
+    private boolean startsWith(int app, int pos, byte[] query) {
+        int length = normLength(app) - pos;
+        if (length < query.length) {
+            return false;
+        }
+        int base = normsAt + normStart(app) + pos;
+        for (int i = 0; i < query.length; i++) {
+            if (buffer.get(base + i) != query[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // [from, to) 에서 키 >= query 인 첫 위치
+    private int lowerBound(byte[] query, int from, int to) {
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (compareKey(mid, query) < 0) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private int compareKey(int key, byte[] query) {
+        int app = keyApp(key);
+        int pos = keyPos(key);
+        int length = normLength(app) - pos;
+        int base = normsAt + normStart(app) + pos;
+        int n = Math.min(length, query.length);
+        for (int i = 0; i < n; i++) {
+            int c = Integer.compare(buffer.get(base + i) & 0xFF, query[i] & 0xFF);
+            if (c != 0) {
+                return c;
+            }
+        }
+        return Integer.compare(length, query.length);
+    }
+
+    // 키 첫 두 바이트 (한 바이트뿐이면 둘째는 0)
+    private static int bucket(byte[] bytes, int pos) {
+        int first = bytes[pos] & 0xFF;
+        int second = pos + 1 < bytes.length ? bytes[pos + 1] & 0xFF : 0;
+        return (first << 8) | second;
+    }
+
+    private static void writeOffsets(DataOutputStream out, byte[][] values, int n) throws IOException {
+        int offset = 0;
+        out.writeInt(0);
+        for (int i = 0; i < n; i++) {
+            offset += values[i].length;
+            out.writeInt(offset);
+        }
+    }
+}
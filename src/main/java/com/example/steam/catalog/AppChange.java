@@ -0,0 +1,5 @@
+package com.example.steam.catalog;
+
+// 스토어 앱 목록의 앱 한 건 (추가 또는 이름/메타데이터 변경)
+public record AppChange(int appid, String name, long lastModified) {
+}
@@ -0,0 +1,121 @@
+package com.example.steam.catalog;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Arrays;
+
+/**
+ * 앱 목록 응답 한 페이지 (ISteamApps/GetAppList 전체 목록 또는 IStoreService/GetAppList 페이지).
+ * 응답이 수 MB 라 Map 으로 풀지 않고 토큰 단위로 읽어 appid/이름 배열에 바로 담는다.
+ */
+public final class AppListPage {
+
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private int[] appids = new int[1024];
+    private String[] names = new String[1024];
+    private long[] lastModified = new long[1024];
+    private int size;
+    private boolean haveMoreResults;
+    private int lastAppid;
+
+    public static AppListPage parse(InputStream in) throws IOException {
+        AppListPage page = new AppListPage();
+        try (JsonParser parser = JSON_FACTORY.createParser(in)) {
+            int appid = -1;
+            String name = null;
+            long modified = 0;
+            int depth = 0;
+            int appDepth = -1;
+            JsonToken token;
+            while ((token = parser.nextToken()) != null) {
+                if (token == JsonToken.START_OBJECT) {
+                    depth++;
+                    appid = -1;
+                    name = null;
+                    modified = 0;
+                } else if (token == JsonToken.END_OBJECT) {
+                    if (depth == appDepth) {
+                        page.add(appid, name, modified);
+                        appDepth = -1;
+                    }
+                    depth--;
+                } else if (token == JsonToken.FIELD_NAME) {
+                    String field = parser.getCurrentName();
+                    JsonToken value = parser.nextToken();
+                    switch (field) {
+                        case "appid" -> {
+                            appid = parser.getValueAsInt(-1);
+                            appDepth = depth;
+                        }
+                        case "name" -> name = parser.getValueAsString();
+                        case "last_modified" -> modified = parser.getValueAsLong();
+                        case "have_more_results" -> page.haveMoreResults = parser.getValueAsBoolean();
+                        case "last_appid" -> page.lastAppid = parser.getValueAsInt();
+                        default -> {
+                            // 감싸는 객체("applist", "response")와 배열("apps")은 안으로 들어간다
+                            if (value == JsonToken.START_OBJECT) {
+                                depth++;
+                                appid = -1;
+                                name = null;
+                                modified = 0;
+                            }
+                        }
+                    }
+                }
+            }
+        }
+        return page;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int appid(int i) {
+        return appids[i];
+    }
+
+    public String name(int i) {
+        return names[i];
+    }
+
+    // 스토어 최종 수정 시각 (epoch 초, ISteamApps 목록에는 없음 -> 0)
+    public long lastModified(int i) {
+        return lastModified[i];
+    }
+
+    public boolean haveMoreResults() {
+        return haveMoreResults;
+    }
+
+    public int lastAppid() {
+        return lastAppid;
+    }
+
+    public int[] appids() {
+        return Arrays.copyOf(appids, size);
+    }
+
+    public String[] names() {
+        return Arrays.copyOf(names, size);
+    }
+
+    private void add(int appid, String name, long modified) {
+        if (appid < 0) {
+            return;
+        }
+        if (size == appids.length) {
+            appids = Arrays.copyOf(appids, size * 2);
+            names = Arrays.copyOf(names, size * 2);
+            lastModified = Arrays.copyOf(lastModified, size * 2);
+        }
+        appids[size] = appid;
+        names[size] = name;
+        lastModified[size++] = modified;
+    }
+}
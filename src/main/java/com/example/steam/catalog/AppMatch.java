@@ -0,0 +1,5 @@
+package com.example.steam.catalog;
+
+// 앱 이름 자동 완성 결과 한 건
+public record AppMatch(int appid, String name) {
+}
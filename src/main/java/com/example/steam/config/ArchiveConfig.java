@@ -0,0 +1,42 @@
+package com.example.steam.config;
+
+import com.example.steam.archive.ArchiveStore;
+import com.example.steam.archive.LocalArchiveStore;
+import com.example.steam.archive.S3ArchiveStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3ClientBuilder;
+import software.amazon.awssdk.services.s3.S3Configuration;
+
+import java.net.URI;
+import java.nio.file.Path;
+
+@Configuration
+public class ArchiveConfig {
+
+    // 스냅샷 아카이브 저장 위치 (archive.type=local|s3, s3 는 endpoint 를 주면 MinIO 등 S3 호환 저장소)
+    @Bean
+    public ArchiveStore archiveStore(@Value("${archive.type:local}") String type,
+                                     @Value("${archive.local.dir:archive}") String localDir,
+                                     @Value("${archive.s3.bucket:}") String bucket,
+                                     @Value("${archive.s3.prefix:}") String prefix,
+                                     @Value("${archive.s3.region:ap-northeast-2}") String region,
+                                     @Value("${archive.s3.endpoint:}") String endpoint) {
+        if (!"s3".equalsIgnoreCase(type)) {
+            return new LocalArchiveStore(Path.of(localDir));
+        }
+        if (bucket.isEmpty()) {
+            throw new IllegalStateException("archive.s3.bucket is required when archive.type=s3");
+        }
+        // 자격 증명은 기본 공급자 체인(환경 변수, 프로필, 인스턴스 역할)에서 찾는다
+        S3ClientBuilder builder = S3Client.builder().region(Region.of(region));
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint))
+                    .serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build());
+        }
+        return new S3ArchiveStore(builder.build(), bucket, prefix);
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.steam.config;
+
+import com.example.steam.recommend.ContentRecommender;
+import com.example.steam.recommend.DecayingTasteProfile;
+import com.example.steam.recommend.LibraryRegistry;
+import com.example.steam.recommend.MmrReranker;
+import com.example.steam.recommend.RandomWalkRecommender;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class RecommendConfig {
+
+    // steamId 별 최신 라이브러리 (추천 색인들의 원본 데이터)
+    @Bean
+    public LibraryRegistry libraryRegistry() {
+        return new LibraryRegistry();
+    }
+
+    // 랜덤 워크 추천기: 요청당 스텝 예산을 코어 수만큼의 워커가 나눠 실행
+    @Bean(destroyMethod = "close")
+    public RandomWalkRecommender randomWalkRecommender(
+            @Value("${recommend.randomwalk.steps:200000}") int steps,
+            @Value("${recommend.randomwalk.restart:0.3}") float restartProbability,
+            @Value("${recommend.randomwalk.timeout-ms:50}") long timeoutMillis) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        return new RandomWalkRecommender(steps, restartProbability, parallelism, timeoutMillis);
+    }
+
+    // 태그 벡터 콘텐츠 추천기: 프로필 상위 태그의 포스팅 리스트만 사용
+    @Bean
+    public ContentRecommender contentRecommender(
+            @Value("${recommend.content.max-profile-tags:32}") int maxProfileTags) {
+        return new ContentRecommender(maxProfileTags);
+    }
+
+    // 최근 플레이 취향 프로필: 기본 반감기 7일
+    @Bean
+    public DecayingTasteProfile decayingTasteProfile(
+            @Value("${recommend.taste.half-life-days:7}") long halfLifeDays) {
+        return new DecayingTasteProfile(halfLifeDays * 86400L);
+    }
+
+    // 다양성 재정렬: 상위 pool 개 후보를 태그 유사도 기반 MMR 로 재정렬
+    @Bean
+    public MmrReranker mmrReranker(
+            @Value("${recommend.mmr.lambda:0.7}") float lambda,
+            @Value("${recommend.mmr.pool:50}") int poolSize) {
+        return new MmrReranker(lambda, poolSize);
+    }
+}
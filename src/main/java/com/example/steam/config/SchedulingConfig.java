@@ -0,0 +1,10 @@
+package com.example.steam.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+// 추천 색인 재구축 등 주기 작업(@Scheduled) 활성화
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
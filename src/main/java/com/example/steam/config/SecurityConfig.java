@@ -12,6 +12,7 @@ import org.apache.http.ssl.SSLContextBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
@@ -49,6 +50,7 @@ import reactor.netty.http.client.HttpClient;
 public class SecurityConfig  {
 
     private final JwtTokenProvider jwtTokenProvider;
+    private final Environment environment;
 
 
     @Value("${steam.client.id}")
@@ -81,12 +83,14 @@ public class SecurityConfig  {
                 .build();
     }
 
-    public SecurityConfig(JwtTokenProvider jwtTokenProvider) {
+    public SecurityConfig(JwtTokenProvider jwtTokenProvider, Environment environment) {
         this.jwtTokenProvider = jwtTokenProvider;
+        this.environment = environment;
     }
 
     @Bean
     public SecurityFilterChain filterChain(HttpSecurity http) throws Exception {
+        boolean shardNode = ShardNodeCondition.enabled(environment);
         http
                 .cors().configurationSource(corsConfigurationSource()).and()
                 .csrf().disable()
@@ -101,6 +105,11 @@ public class SecurityConfig  {
                     auth.requestMatchers("/login/**").permitAll();
                     auth.requestMatchers("/manager/**").hasAnyRole("ADMIN", "MANAGER");
                     auth.requestMatchers("/steam/**").permitAll();
+                    if (shardNode) {
+                        auth.requestMatchers("/internal/shard/**").permitAll(); // 샤드 간 호출 (X-Shard-Token 으로 확인)
+                    } else {
+                        auth.requestMatchers("/internal/shard/**").denyAll();  // 샤드 노드가 아니면 막는다
+                    }
                     auth.requestMatchers("/admin/**").hasRole("ADMIN");
                     auth.anyRequest().permitAll();
                 })
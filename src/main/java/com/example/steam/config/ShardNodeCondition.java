@@ -0,0 +1,25 @@
+package com.example.steam.config;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.env.Environment;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * 이 인스턴스가 샤드 노드로 설정됐는지 (appid 범위와 X-Shard-Token 이 둘 다 있어야 한다).
+ * 아니면 /internal/shard/** 를 등록하지도 허용하지도 않는다.
+ */
+public class ShardNodeCondition implements Condition {
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        return enabled(context.getEnvironment());
+    }
+
+    public static boolean enabled(Environment environment) {
+        String token = environment.getProperty("recommend.shard.token", "");
+        boolean ranged = environment.containsProperty("recommend.shard.min-appid")
+                || environment.containsProperty("recommend.shard.max-appid");
+        return ranged && !token.isBlank();
+    }
+}
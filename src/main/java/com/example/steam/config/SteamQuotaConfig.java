@@ -0,0 +1,24 @@
+package com.example.steam.config;
+
+import com.example.steam.util.TokenBucket;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class SteamQuotaConfig {
+
+    // 백그라운드 Steam Web API 호출 할당량 (기본 초당 1회 ≒ 하루 86,400회, Steam 일일 한도 100,000회 이내)
+    @Bean
+    public TokenBucket steamQuota(@Value("${steam.quota.requests-per-second:1.0}") double ratePerSecond,
+                                  @Value("${steam.quota.burst:10}") int burst) {
+        return new TokenBucket(ratePerSecond, burst);
+    }
+
+    // 스토어 appdetails 호출 할당량 (키가 없는 대신 IP 당 5분 약 200회로 제한된다, 기본 5분 150회)
+    @Bean
+    public TokenBucket storeQuota(@Value("${steam.store.requests-per-second:0.5}") double ratePerSecond,
+                                  @Value("${steam.store.burst:5}") int burst) {
+        return new TokenBucket(ratePerSecond, burst);
+    }
+}
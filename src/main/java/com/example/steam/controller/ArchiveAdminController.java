@@ -0,0 +1,61 @@
+package com.example.steam.controller;
+
+import com.example.steam.service.SnapshotArchiveService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Map;
+
+// 스냅샷 아카이브 관리 (/admin/** 는 ADMIN 권한만)
+@RestController
+@RequestMapping("/admin/archive")
+public class ArchiveAdminController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ArchiveAdminController.class);
+
+    private final SnapshotArchiveService snapshotArchiveService;
+
+    public ArchiveAdminController(SnapshotArchiveService snapshotArchiveService) {
+        this.snapshotArchiveService = snapshotArchiveService;
+    }
+
+    // 아카이브된 파티션 날짜
+    @GetMapping("/dates")
+    public ResponseEntity<?> listDates() {
+        try {
+            return ResponseEntity.ok(snapshotArchiveService.listDates());
+        } catch (Exception e) {
+            logger.error("Error listing archive dates", e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error listing archive dates");
+        }
+    }
+
+    // 한 날짜 파티션에서 DB 에 없는 사용자와 기록 블록만 채운다 (한 번에 하나만 실행)
+    @PostMapping("/restore")
+    public ResponseEntity<?> restore(@RequestParam("date") String date) {
+        LocalDate partition;
+        try {
+            partition = LocalDate.parse(date.trim());
+        } catch (DateTimeParseException e) {
+            return ResponseEntity.status(HttpStatus.BAD_REQUEST).body("Invalid date: " + date);
+        }
+        try {
+            int users = snapshotArchiveService.restore(partition);
+            return ResponseEntity.ok(Map.of("date", partition.toString(), "restoredUsers", users));
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error restoring archive for date: " + partition, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error restoring archive");
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.example.steam.controller;
+
+import com.example.steam.config.ShardNodeCondition;
+import com.example.steam.model.ShardQuery;
+import com.example.steam.recommend.ContentRecommender;
+import com.example.steam.recommend.ScoredGame;
+import com.example.steam.recommend.TagProfileEntry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.List;
+import java.util.Map;
+
+// 샤드 노드 간 내부 호출 (이 노드가 맡은 appid 범위의 콘텐츠 색인만 사용)
+// 샤드 범위와 토큰이 모두 설정된 노드에서만 등록된다
+@Conditional(ShardNodeCondition.class)
+@RestController
+@RequestMapping("/internal/shard")
+public class ShardController {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardController.class);
+
+    private final ContentRecommender contentRecommender;
+    private final String shardToken;
+
+    public ShardController(ContentRecommender contentRecommender,
+                           @Value("${recommend.shard.token:}") String shardToken) {
+        this.contentRecommender = contentRecommender;
+        this.shardToken = shardToken;
+    }
+
+    // 1단계: 이 샤드에 있는 보유 게임으로 만든 부분 프로필
+    @PostMapping("/profile")
+    public ResponseEntity<?> profile(@RequestHeader(value = "X-Shard-Token", required = false) String token,
+                                     @RequestBody ShardQuery query) {
+        if (!authorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+        }
+        try {
+            Map<String, TagProfileEntry> profile = contentRecommender.partialProfile(query.toUserLibrary());
+            return ResponseEntity.ok(profile);
+        } catch (Exception e) {
+            logger.error("Error building partial profile for steamId: " + query.getSteamId(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error building partial profile");
+        }
+    }
+
+    // 2단계: 합쳐진 프로필로 이 샤드의 게임 상위 k 개
+    @PostMapping("/topk")
+    public ResponseEntity<?> topK(@RequestHeader(value = "X-Shard-Token", required = false) String token,
+                                  @RequestBody ShardQuery query) {
+        if (!authorized(token)) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN).body(null);
+        }
+        try {
+            List<ScoredGame> games = contentRecommender.recommend(query.getProfile(), query.toUserLibrary(),
+                    Math.min(Math.max(query.getK(), 1), 1000));
+            return ResponseEntity.ok(games);
+        } catch (Exception e) {
+            logger.error("Error scoring shard top-k for steamId: " + query.getSteamId(), e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error scoring shard top-k");
+        }
+    }
+
+    // 토큰이 비어 있으면 누구도 통과시키지 않는다 (비교는 일정 시간)
+    private boolean authorized(String token) {
+        if (shardToken.isBlank() || token == null) {
+            return false;
+        }
+        return MessageDigest.isEqual(shardToken.getBytes(StandardCharsets.UTF_8), token.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -5,8 +5,26 @@ import com.example.steam.dto.CustomUserDetails;
 import com.example.steam.repository.UserRepository;
 import com.example.steam.service.CustomUserDetailsService;
 import com.example.steam.service.SteamAuthenticationService;
+import com.example.steam.service.AppCatalogService;
+import com.example.steam.service.AppDetailsService;
+import com.example.steam.service.LibraryStatsService;
+import com.example.steam.service.LibrarySyncService;
+import com.example.steam.service.PlaytimeHistoryService;
+import com.example.steam.service.RecommendationService;
+import com.example.steam.service.SeedRecommendationService;
+import com.example.steam.service.FriendRecommendationService;
+import com.example.steam.service.SimilarPlayerService;
 import com.example.steam.service.SteamService;
+import com.example.steam.service.TasteProfileService;
+import com.example.steam.service.TrendingService;
+import com.example.steam.catalog.AppMatch;
+import com.example.steam.model.AppInfo;
+import com.example.steam.model.FriendPopularGame;
+import com.example.steam.model.PlaytimePoint;
+import com.example.steam.model.RecommendedGame;
+import com.example.steam.model.SimilarPlayer;
 import com.example.steam.model.SteamUser;
+import com.example.steam.model.TasteWeight;
 import com.example.steam.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,6 +54,39 @@ public class SteamController {
     @Autowired
     private SteamService steamService;
 
+    @Autowired
+    private SimilarPlayerService similarPlayerService;
+
+    @Autowired
+    private RecommendationService recommendationService;
+
+    @Autowired
+    private TasteProfileService tasteProfileService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private FriendRecommendationService friendRecommendationService;
+
+    @Autowired
+    private SeedRecommendationService seedRecommendationService;
+
+    @Autowired
+    private PlaytimeHistoryService playtimeHistoryService;
+
+    @Autowired
+    private LibrarySyncService librarySyncService;
+
+    @Autowired
+    private LibraryStatsService libraryStatsService;
+
+    @Autowired
+    private AppCatalogService appCatalogService;
+
+    @Autowired
+    private AppDetailsService appDetailsService;
+
     private final RestTemplate restTemplate;
 
     @Autowired
@@ -109,6 +160,9 @@ public class SteamController {
     @CrossOrigin(origins = "https://stdash.shop")
     @GetMapping("/reviews")
     public ResponseEntity<List<String>> getReviews(@RequestParam("appId") String appId) {
+        if (!isKnownAppid(appId)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(null);
+        }
         try {
             List<String> reviews = steamService.getReviews(appId);
             return ResponseEntity.ok(reviews);
@@ -159,6 +213,9 @@ public class SteamController {
     @CrossOrigin(origins = "https://stdash.shop")
     @GetMapping("/globalAchievements")
     public ResponseEntity<?> getGlobalAchievements(@RequestParam("gameid") String gameid) {
+        if (!isKnownAppid(gameid)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Unknown appid: " + gameid);
+        }
         // 해당 로직을 구현합니다.
         try {
             // 예시: 해당 gameid에 대한 업적 데이터를 가져오는 로직 구현
@@ -186,8 +243,12 @@ public class SteamController {
     @CrossOrigin(origins = "https://stdash.shop")
     @GetMapping("/currentPlayers")
     public ResponseEntity<?> getCurrentPlayers(@RequestParam("appid") String appid) {
+        Integer parsed = parseAppid(appid);
+        if (parsed == null || !appCatalogService.mightExist(parsed)) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Unknown appid: " + appid);
+        }
         try {
-            int playerCount = steamService.getCurrentPlayers(appid);
+            int playerCount = steamService.getCurrentPlayers(parsed);
             Map<String, Integer> response = new HashMap<>();
             response.put("player_count", playerCount);
             return ResponseEntity.ok(response);
@@ -222,4 +283,221 @@ public class SteamController {
             return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error fetching steam profile");
         }
     }
+
+    // 라이브러리가 비슷한 사이트 사용자 (MinHash LSH)
+    @CrossOrigin(origins = "https://stdash.shop")
+    @GetMapping("/similarPlayers")
+    public ResponseEntity<?> getSimilarPlayers(Authentication authentication,
+                                               @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        String steamId = userDetails.getSteamId();
+        try {
+            List<SimilarPlayer> players = similarPlayerService.findSimilarPlayers(steamId, Math.min(Math.max(limit, 1), 50));
+            return ResponseEntity.ok(players);
+        } catch (Exception e) {
+            logger.error("Error fetching similar players for steamId: " + steamId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error fetching similar players");
+        }
+    }
+
+    // 게임 추천 (미리 계산해 둔 목록 조회)
+    @CrossOrigin(origins = "https://stdash.shop")
+    @GetMapping("/recommendations")
+    public ResponseEntity<?> getRecommendations(Authentication authentication,
+                                                @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        String steamId = userDetails.getSteamId();
+        try {
+            // 스팀 계정을 연동하지 않은 사용자는 온보딩에서 고른 시드 게임으로 추천
+            if (steamId == null) {
+                List<RecommendedGame> games = seedRecommendationService.getRecommendations(userDetails.getUsername(), Math.min(Math.max(limit, 1), 100));
+                return ResponseEntity.ok(games);
+            }
+            List<RecommendedGame> games = recommendationService.getRecommendations(steamId, Math.min(Math.max(limit, 1), 100));
+            return ResponseEntity.ok(games);
+        } catch (Exception e) {
+            logger.error("Error fetching recommendations for steamId: " + steamId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error fetching recommendations");
+        }
+    }
+
+    // 최근 관심 게임 (최근 플레이 시간을 시간 감쇠로 누적한 가중치 순)
+    @CrossOrigin(origins = "https://stdash.shop")
+    @GetMapping("/tasteProfile")
+    public ResponseEntity<?> getTasteProfile(Authentication authentication,
+                                             @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        String steamId = userDetails.getSteamId();
+        try {
+            List<TasteWeight> weights = tasteProfileService.getTasteProfile(steamId, Math.min(Math.max(limit, 1), 50));
+            return ResponseEntity.ok(weights);
+        } catch (Exception e) {
+            logger.error("Error fetching taste profile for steamId: " + steamId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error fetching taste profile");
+        }
+    }
+
+    // 지금 뜨는 게임 (미리 계산해 둔 스냅샷 조회)
+    @CrossOrigin(origins = "https://stdash.shop")
+    @GetMapping("/trending")
+    public ResponseEntity<?> getTrending() {
+        return ResponseEntity.ok(trendingService.getTrending());
+    }
+
+    // 친구들 사이에서 인기 있는 게임 (내가 가진 게임 제외)
+    @CrossOrigin(origins = "https://stdash.shop")
+    @GetMapping("/friendsPopular")
+    public ResponseEntity<?> getFriendsPopular(Authentication authentication,
+                                               @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        String steamId = userDetails.getSteamId();
+        try {
+            List<FriendPopularGame> games = friendRecommendationService.getPopularAmongFriends(steamId, Math.min(Math.max(limit, 1), 100));
+            return ResponseEntity.ok(games);
+        } catch (Exception e) {
+            logger.error("Error fetching games popular among friends for steamId: " + steamId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error fetching games popular among friends");
+        }
+    }
+
+    // 온보딩 시드 게임 저장 (스팀 계정 미연동 사용자용)
+    @CrossOrigin(origins = "https://stdash.shop")
+    @PostMapping("/seeds")
+    public ResponseEntity<?> saveSeeds(Authentication authentication, @RequestBody List<Integer> appids) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        String userId = userDetails.getUsername();
+        try {
+            return ResponseEntity.ok(seedRecommendationService.saveSeeds(userId, appids));
+        } catch (IllegalArgumentException e) {
+            return ResponseEntity.badRequest().body(e.getMessage());
+        } catch (Exception e) {
+            logger.error("Error saving seed games for userId: " + userId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error saving seed games");
+        }
+    }
+
+    @CrossOrigin(origins = "https://stdash.shop")
+    @GetMapping("/seeds")
+    public ResponseEntity<?> getSeeds(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        return ResponseEntity.ok(seedRecommendationService.getSeeds(userDetails.getUsername()));
+    }
+
+    // 누적 플레이 시간 추이 (appid 가 없으면 전체 합, 기간 기본값은 최근 90일, epoch 초)
+    @CrossOrigin(origins = "https://stdash.shop")
+    @GetMapping("/playtimeHistory")
+    public ResponseEntity<?> getPlaytimeHistory(Authentication authentication,
+                                                @RequestParam(value = "appid", required = false) Integer appid,
+                                                @RequestParam(value = "from", required = false) Long from,
+                                                @RequestParam(value = "to", required = false) Long to) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        String steamId = userDetails.getSteamId();
+        long end = to != null ? to : System.currentTimeMillis() / 1000;
+        long start = from != null ? from : end - 90L * 86400;
+        if (start > end) {
+            return ResponseEntity.badRequest().body("from must not be after to");
+        }
+        try {
+            List<PlaytimePoint> points = playtimeHistoryService.getHistory(steamId, appid, start, end);
+            return ResponseEntity.ok(points);
+        } catch (Exception e) {
+            logger.error("Error fetching playtime history for steamId: " + steamId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error fetching playtime history");
+        }
+    }
+
+    // 앱 이름 자동 완성 (로컬 카탈로그, 이름의 어느 단어로든 접두어 일치)
+    @CrossOrigin(origins = "https://stdash.shop")
+    @GetMapping("/apps/search")
+    public ResponseEntity<?> searchApps(@RequestParam("prefix") String prefix,
+                                        @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        try {
+            List<AppMatch> apps = appCatalogService.search(prefix, Math.min(Math.max(limit, 1), 50));
+            return ResponseEntity.ok(apps);
+        } catch (Exception e) {
+            logger.error("Error searching apps for prefix: " + prefix, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error searching apps");
+        }
+    }
+
+    // 앱 메타데이터 (장르, 가격, 헤더 이미지) 로컬 캐시 조회, 아직 모르는 appid 는 결과에서 빠지고 수집 대기열에 들어간다
+    @CrossOrigin(origins = "https://stdash.shop")
+    @GetMapping("/apps/details")
+    public ResponseEntity<?> getAppDetails(@RequestParam("appids") List<Integer> appids) {
+        if (appids.size() > 100) {
+            return ResponseEntity.badRequest().body("At most 100 appids per request");
+        }
+        try {
+            Map<Integer, AppInfo> infos = appDetailsService.getAppInfo(appids);
+            return ResponseEntity.ok(infos.values());
+        } catch (Exception e) {
+            logger.error("Error fetching app details for appids: " + appids, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error fetching app details");
+        }
+    }
+
+    // 라이브러리 백그라운드 동기화 지표 (대기열 깊이, 지연, 할당량)
+    @GetMapping("/sync/status")
+    public ResponseEntity<?> getLibrarySyncStatus(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        return ResponseEntity.ok(librarySyncService.getStatus());
+    }
+
+    // 라이브러리 통계 요약 (게임 수, 플레이 시간 분포, 가장 많이 한 게임)
+    @CrossOrigin(origins = "https://stdash.shop")
+    @GetMapping("/stats/summary")
+    public ResponseEntity<?> getLibraryStatsSummary(Authentication authentication) {
+        if (authentication == null || !authentication.isAuthenticated()) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(null);
+        }
+        CustomUserDetails userDetails = (CustomUserDetails) authentication.getPrincipal();
+        String steamId = userDetails.getSteamId();
+        if (steamId == null) {
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("Steam account not linked");
+        }
+        try {
+            return ResponseEntity.ok(libraryStatsService.getSummary(steamId));
+        } catch (Exception e) {
+            logger.error("Error fetching library stats for steamId: " + steamId, e);
+            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body("Error fetching library stats");
+        }
+    }
+
+    // Steam 이나 커뮤니티 페이지로 나가기 전에 숫자가 아니거나 카탈로그에 없는 appid 를 걸러 낸다 (블룸 필터)
+    private boolean isKnownAppid(String appid) {
+        Integer parsed = parseAppid(appid);
+        return parsed != null && appCatalogService.mightExist(parsed);
+    }
+
+    // 공백을 떼고 숫자로 바꾼다 (숫자가 아니면 null)
+    private static Integer parseAppid(String appid) {
+        try {
+            return Integer.parseInt(appid.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
 }
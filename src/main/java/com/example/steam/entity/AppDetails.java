@@ -0,0 +1,75 @@
+package com.example.steam.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 스토어 appdetails 에서 가져온 게임 메타데이터 (로컬 카탈로그)
+@Entity
+@Table(name = "app_details")
+@Getter
+@Setter
+@NoArgsConstructor
+public class AppDetails {
+
+    @Id
+    private Integer appid;
+
+    private String name;
+
+    private String type;  // game, dlc, demo ...
+
+    @Column(length = 1000)
+    private String genres;  // 쉼표로 구분한 장르 목록
+
+    @Column(length = 2000)
+    private String categories;  // 쉼표로 구분한 카테고리 목록
+
+    @Column(length = 500)
+    private String headerImage;
+
+    @Column(name = "is_free")
+    private boolean free;
+
+    private String priceCurrency;  // price_overview (무료이거나 판매하지 않으면 null)
+
+    private Integer priceInitial;  // 할인 전 가격 (최소 화폐 단위, 예: 센트)
+
+    private Integer priceFinal;  // 현재 가격
+
+    private Integer discountPercent;
+
+    private LocalDateTime fetchedAt;
+
+    private LocalDateTime priceFetchedAt;  // 가격만 묶음 조회로 따로 갱신한다
+
+    // 헤더 이미지를 받기 전에 수집한 행은 appid 로 정해지는 CDN 주소를 쓴다
+    public String headerImageUrl() {
+        return headerImage != null ? headerImage
+                : "https://cdn.cloudflare.steamstatic.com/steam/apps/" + appid + "/header.jpg";
+    }
+
+    // 콘텐츠 추천용 태그 ("genre:Action", "category:Multi-player")
+    public List<String> toTags() {
+        List<String> tags = new ArrayList<>();
+        addTags(tags, "genre:", genres);
+        addTags(tags, "category:", categories);
+        return tags;
+    }
+
+    private static void addTags(List<String> tags, String prefix, String values) {
+        if (values == null || values.isEmpty()) {
+            return;
+        }
+        for (String value : values.split(",")) {
+            if (!value.isBlank()) {
+                tags.add(prefix + value.trim());
+            }
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.steam.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 사용자 라이브러리 동기화 요약 (owned_game 행들의 머리 정보)
+@Entity
+@Table(name = "library_snapshot")
+@Getter
+@Setter
+@NoArgsConstructor
+public class LibrarySnapshot {
+
+    @Id
+    private String steamId;
+
+    private int gameCount;
+
+    private long totalPlaytime;  // 전체 누적 플레이 시간(분)
+
+    private Long libraryHash;  // UserLibrary.libraryHash() (appid + 누적 플레이 시간)
+
+    private Long contentHash;  // 게임 내용 해시의 합 (순서 무관, 같으면 동기화 생략)
+
+    private LocalDateTime syncedAt;
+}
@@ -0,0 +1,45 @@
+package com.example.steam.entity;
+
+import com.example.steam.model.LibraryGame;
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 사용자가 보유한 게임 한 건 (마지막 GetOwnedGames 동기화 기준)
+// 쓰기는 OwnedGameJdbcRepository 의 다중 행 upsert 로만 한다
+@Entity
+@Table(name = "owned_game")
+@IdClass(OwnedGameId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class OwnedGame {
+
+    @Id
+    private String steamId;
+
+    @Id
+    private Integer appid;
+
+    private int playtimeForever;  // 누적 플레이 시간(분)
+
+    private int playtime2weeks;  // 최근 2주 플레이 시간(분)
+
+    private long rtimeLastPlayed;  // 마지막 플레이 시각(epoch 초)
+
+    private Long contentHash;  // LibraryGame.contentHash() (바뀐 행만 다시 쓰기 위한 비교용)
+
+    private LocalDateTime syncedAt;  // 이 행이 마지막으로 바뀐 동기화 시각
+
+    public LibraryGame toLibraryGame() {
+        return LibraryGame.builder()
+                .appid(appid)
+                .playtime_forever(playtimeForever)
+                .playtime_2weeks(playtime2weeks)
+                .rtime_last_played(rtimeLastPlayed)
+                .build();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.steam.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 사용자별 월 단위 플레이 시간 기록 블록 (PlaytimeHistoryBlock 인코딩)
+@Entity
+@Table(name = "playtime_history")
+@IdClass(PlaytimeHistoryId.class)
+@Getter
+@Setter
+@NoArgsConstructor
+public class PlaytimeHistory {
+
+    @Id
+    private String steamId;
+
+    @Id
+    private Integer month;  // yyyyMM (UTC)
+
+    @Lob
+    @Column(columnDefinition = "MEDIUMBLOB")
+    private byte[] data;
+
+    private int observationCount;
+
+    private LocalDateTime updatedAt;
+}
@@ -0,0 +1,18 @@
+package com.example.steam.entity;
+
+import lombok.AllArgsConstructor;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+
+// PlaytimeHistory 복합 키 (steamId, month)
+@Getter
+@NoArgsConstructor
+@AllArgsConstructor
+@EqualsAndHashCode
+public class PlaytimeHistoryId implements Serializable {
+    private String steamId;
+    private Integer month;
+}
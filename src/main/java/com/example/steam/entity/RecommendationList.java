@@ -0,0 +1,30 @@
+package com.example.steam.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 사용자별로 미리 계산해 둔 추천 목록
+@Entity
+@Table(name = "recommendation_list")
+@Getter
+@Setter
+@NoArgsConstructor
+public class RecommendationList {
+
+    @Id
+    private String steamId;
+
+    private Long libraryHash;  // 계산에 사용한 라이브러리 스냅샷 해시
+
+    private String modelVersion;  // 계산에 사용한 추천 모델 버전
+
+    @Lob
+    @Column(columnDefinition = "TEXT")
+    private String items;  // RecommendedGame 목록 (JSON)
+
+    private LocalDateTime computedAt;
+}
@@ -0,0 +1,25 @@
+package com.example.steam.entity;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+// 스팀 계정을 연동하지 않은 사용자가 온보딩에서 고른 시드 게임
+@Entity
+@Table(name = "seed_games")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SeedGames {
+
+    @Id
+    private String userId;
+
+    @Column(length = 1000)
+    private String appids;  // 쉼표로 구분한 appid 목록 (고른 순서)
+
+    private LocalDateTime updatedAt;
+}
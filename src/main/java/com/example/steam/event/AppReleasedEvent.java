@@ -0,0 +1,27 @@
+package com.example.steam.event;
+
+// 앱 카탈로그 증분 동기화에서 처음 보는 appid 가 나왔을 때 발행되는 이벤트
+public class AppReleasedEvent {
+
+    private final int appid;
+    private final String name;
+    private final long lastModified;  // 스토어 최종 수정 시각 (epoch 초)
+
+    public AppReleasedEvent(int appid, String name, long lastModified) {
+        this.appid = appid;
+        this.name = name;
+        this.lastModified = lastModified;
+    }
+
+    public int getAppid() {
+        return appid;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public long getLastModified() {
+        return lastModified;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.steam.event;
+
+// GetNumberOfCurrentPlayers 로 동시 접속자 수를 조회했을 때 발행되는 이벤트
+public class CurrentPlayersSampledEvent {
+
+    private final int appid;
+    private final int playerCount;
+    private final long sampledAt;  // epoch 밀리초
+
+    public CurrentPlayersSampledEvent(int appid, int playerCount, long sampledAt) {
+        this.appid = appid;
+        this.playerCount = playerCount;
+        this.sampledAt = sampledAt;
+    }
+
+    public int getAppid() {
+        return appid;
+    }
+
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    public long getSampledAt() {
+        return sampledAt;
+    }
+}
@@ -0,0 +1,59 @@
+package com.example.steam.event;
+
+import com.example.steam.model.LibraryGame;
+
+import java.util.List;
+
+// 저장된 라이브러리 스냅샷과 비교해 실제로 바뀐 게임이 있을 때만 발행되는 이벤트 (변경분만 담는다)
+public class LibraryChangedEvent {
+
+    private final String steamId;
+    private final List<GameChange> changes;
+    private final boolean firstSnapshot;
+    private final long contentHash;  // 변경 후 라이브러리 내용 해시 (LibrarySnapshot.contentHash)
+
+    public LibraryChangedEvent(String steamId, List<GameChange> changes, boolean firstSnapshot, long contentHash) {
+        this.steamId = steamId;
+        this.changes = changes;
+        this.firstSnapshot = firstSnapshot;
+        this.contentHash = contentHash;
+    }
+
+    public String getSteamId() {
+        return steamId;
+    }
+
+    public List<GameChange> getChanges() {
+        return changes;
+    }
+
+    // 저장된 스냅샷이 없던 사용자 (모든 게임이 추가로 들어온다)
+    public boolean isFirstSnapshot() {
+        return firstSnapshot;
+    }
+
+    public long getContentHash() {
+        return contentHash;
+    }
+
+    // 보유 목록이나 누적 플레이 시간이 바뀌었는지 (최근 2주/마지막 플레이 시각만 바뀐 경우 false)
+    public boolean isLibraryChanged() {
+        for (GameChange change : changes) {
+            if (change.before() == null || change.after() == null
+                    || change.before().getPlaytime_forever() != change.after().getPlaytime_forever()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 게임 한 건의 변경. before 가 없으면 추가, after 가 없으면 제거.
+     */
+    public record GameChange(int appid, LibraryGame before, LibraryGame after) {
+
+        public int playtimeDelta() {
+            return (after == null ? 0 : after.getPlaytime_forever()) - (before == null ? 0 : before.getPlaytime_forever());
+        }
+    }
+}
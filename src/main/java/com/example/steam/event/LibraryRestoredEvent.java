@@ -0,0 +1,17 @@
+package com.example.steam.event;
+
+import com.example.steam.recommend.UserLibrary;
+
+// 저장된 라이브러리(DB, 아카이브)를 Steam 호출 없이 registry 로 되살렸을 때 발행되는 이벤트
+public class LibraryRestoredEvent {
+
+    private final UserLibrary library;
+
+    public LibraryRestoredEvent(UserLibrary library) {
+        this.library = library;
+    }
+
+    public UserLibrary getLibrary() {
+        return library;
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.steam.event;
+
+import com.example.steam.model.LibraryGame;
+import com.example.steam.recommend.UserLibrary;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+// Steam 에서 사용자의 게임 라이브러리를 새로 가져왔을 때 발행되는 이벤트
+public class LibraryUpdatedEvent {
+
+    private final String steamId;
+    private final List<LibraryGame> games;
+
+    public LibraryUpdatedEvent(String steamId, List<LibraryGame> games) {
+        this.steamId = steamId;
+        this.games = games;
+    }
+
+    public String getSteamId() {
+        return steamId;
+    }
+
+    public List<LibraryGame> getGames() {
+        return games;
+    }
+
+    // 소유한 appid 목록 (중복 제거, 오름차순)
+    public int[] getAppids() {
+        return games.stream().mapToInt(LibraryGame::getAppid).distinct().sorted().toArray();
+    }
+
+    // 추천 계산용 라이브러리 (appid 오름차순, 중복 appid 는 첫 항목만 사용)
+    public UserLibrary toUserLibrary() {
+        List<LibraryGame> sorted = games.stream()
+                .sorted(Comparator.comparingInt(LibraryGame::getAppid))
+                .toList();
+        int[] appids = new int[sorted.size()];
+        int[] playtimes = new int[sorted.size()];
+        int n = 0;
+        for (LibraryGame game : sorted) {
+            if (n > 0 && appids[n - 1] == game.getAppid()) {
+                continue;
+            }
+            appids[n] = game.getAppid();
+            playtimes[n++] = game.getPlaytime_forever();
+        }
+        return new UserLibrary(steamId, Arrays.copyOf(appids, n), Arrays.copyOf(playtimes, n));
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.steam.event;
+
+import com.example.steam.model.LibraryGame;
+
+import java.util.List;
+
+// GetRecentlyPlayedGames 응답을 받았을 때 발행되는 이벤트 (최근 2주 플레이 관측)
+public class RecentlyPlayedEvent {
+
+    private final String steamId;
+    private final List<LibraryGame> games;
+    private final long observedAt;  // epoch 초
+
+    public RecentlyPlayedEvent(String steamId, List<LibraryGame> games, long observedAt) {
+        this.steamId = steamId;
+        this.games = games;
+        this.observedAt = observedAt;
+    }
+
+    public String getSteamId() {
+        return steamId;
+    }
+
+    public List<LibraryGame> getGames() {
+        return games;
+    }
+
+    public long getObservedAt() {
+        return observedAt;
+    }
+}
@@ -0,0 +1,21 @@
+package com.example.steam.event;
+
+// 최근 플레이 관측으로 취향 프로필이 실제로 바뀌었을 때 발행되는 이벤트 (바뀐 게임이 하나 이상)
+public class TasteChangedEvent {
+
+    private final String steamId;
+    private final int changedGames;
+
+    public TasteChangedEvent(String steamId, int changedGames) {
+        this.steamId = steamId;
+        this.changedGames = changedGames;
+    }
+
+    public String getSteamId() {
+        return steamId;
+    }
+
+    public int getChangedGames() {
+        return changedGames;
+    }
+}
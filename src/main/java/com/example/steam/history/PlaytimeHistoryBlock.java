@@ -0,0 +1,214 @@
+package com.example.steam.history;
+
+import java.util.Arrays;
+
+/**
+ * 사용자 한 명의 한 달치 누적 플레이 시간 기록 (델타 + varint 인코딩).
+ *
+ * 관측 하나 = varint(직전 관측 이후 초) + varint(바뀐 게임 수) + 바뀐 게임마다
+ * [varint(직전 바뀐 appid 와의 차이), zigzag varint(직전 값 대비 플레이 시간 변화)].
+ * 블록의 첫 관측은 플레이 시간이 있는 모든 게임을 담는 키프레임이라 블록끼리 독립적으로 디코딩된다.
+ * 바뀐 게임이 한두 개면 관측 하나가 몇 바이트다.
+ */
+public final class PlaytimeHistoryBlock {
+
+    private final long monthStart;  // 블록 기준 시각 (epoch 초, 월초 UTC)
+
+    private byte[] data = new byte[64];
+    private int length;
+    private int observations;
+    private long lastTimestamp;
+
+    // 블록 끝 시점의 상태 (appid 오름차순)
+    private int[] appids = new int[16];
+    private int[] playtimes = new int[16];
+    private int stateSize;
+
+    public PlaytimeHistoryBlock(long monthStart) {
+        this.monthStart = monthStart;
+        this.lastTimestamp = monthStart;
+    }
+
+    // 저장된 바이트로 블록을 복원 (끝 상태를 다시 만들기 위해 한 번 재생)
+    public static PlaytimeHistoryBlock decode(long monthStart, byte[] bytes) {
+        PlaytimeHistoryBlock block = new PlaytimeHistoryBlock(monthStart);
+        block.data = Arrays.copyOf(bytes, Math.max(bytes.length, 64));
+        block.length = bytes.length;
+        block.replay((timestamp, changedAppids, changedPlaytimes, changedCount, total) -> {
+            block.observations++;
+            block.lastTimestamp = timestamp;
+            for (int i = 0; i < changedCount; i++) {
+                block.put(changedAppids[i], changedPlaytimes[i]);
+            }
+        });
+        return block;
+    }
+
+    public long monthStart() {
+        return monthStart;
+    }
+
+    public int observations() {
+        return observations;
+    }
+
+    public long lastTimestamp() {
+        return lastTimestamp;
+    }
+
+    public int byteSize() {
+        return length;
+    }
+
+    public byte[] toBytes() {
+        return Arrays.copyOf(data, length);
+    }
+
+    /**
+     * 라이브러리 관측 하나를 덧붙인다. 이전 관측과 달라진 게임만 기록하고, 아무것도 바뀌지 않았으면 기록하지 않는다.
+     *
+     * @param sortedAppids 오름차순 appid
+     * @return 기록했으면 true
+     */
+    public boolean append(long timestamp, int[] sortedAppids, int[] newPlaytimes) {
+        if (timestamp < lastTimestamp) {
+            throw new IllegalArgumentException("관측 시각이 블록의 마지막 관측보다 이르다: " + timestamp + " < " + lastTimestamp);
+        }
+        int[] changedAppids = new int[sortedAppids.length];
+        int[] deltas = new int[sortedAppids.length];
+        int changed = 0;
+        for (int i = 0; i < sortedAppids.length; i++) {
+            int previous = get(sortedAppids[i]);
+            if (newPlaytimes[i] != previous) {
+                changedAppids[changed] = sortedAppids[i];
+                deltas[changed++] = newPlaytimes[i] - previous;
+            }
+        }
+        if (changed == 0 && observations > 0) {
+            return false;
+        }
+
+        ensureCapacity(10 + 10 + changed * 10);
+        writeVarLong(timestamp - lastTimestamp);
+        writeVarLong(changed);
+        int previousAppid = 0;
+        for (int i = 0; i < changed; i++) {
+            writeVarLong(changedAppids[i] - previousAppid);
+            writeVarLong(zigzag(deltas[i]));
+            previousAppid = changedAppids[i];
+            put(changedAppids[i], get(changedAppids[i]) + deltas[i]);
+        }
+        observations++;
+        lastTimestamp = timestamp;
+        return true;
+    }
+
+    /**
+     * 블록을 처음부터 재생하며 관측마다 바뀐 게임의 (절대) 플레이 시간과 그 시점의 전체 합을 넘긴다.
+     * changedAppids/changedPlaytimes 배열은 호출마다 재사용되므로 visitor 밖으로 들고 나가면 안 된다.
+     */
+    public void replay(Visitor visitor) {
+        int[] stateAppids = new int[16];
+        int[] statePlaytimes = new int[16];
+        int size = 0;
+        long total = 0;
+        int[] changedAppids = new int[16];
+        int[] changedPlaytimes = new int[16];
+
+        int[] cursor = {0};
+        long timestamp = monthStart;
+        while (cursor[0] < length) {
+            timestamp += readVarLong(cursor);
+            int changed = (int) readVarLong(cursor);
+            if (changed > changedAppids.length) {
+                changedAppids = new int[changed];
+                changedPlaytimes = new int[changed];
+            }
+            int appid = 0;
+            for (int i = 0; i < changed; i++) {
+                appid += (int) readVarLong(cursor);
+                int delta = unzigzag(readVarLong(cursor));
+                int index = Arrays.binarySearch(stateAppids, 0, size, appid);
+                if (index < 0) {
+                    index = -index - 1;
+                    if (size == stateAppids.length) {
+                        stateAppids = Arrays.copyOf(stateAppids, size * 2);
+                        statePlaytimes = Arrays.copyOf(statePlaytimes, size * 2);
+                    }
+                    System.arraycopy(stateAppids, index, stateAppids, index + 1, size - index);
+                    System.arraycopy(statePlaytimes, index, statePlaytimes, index + 1, size - index);
+                    stateAppids[index] = appid;
+                    statePlaytimes[index] = 0;
+                    size++;
+                }
+                statePlaytimes[index] += delta;
+                total += delta;
+                changedAppids[i] = appid;
+                changedPlaytimes[i] = statePlaytimes[index];
+            }
+            visitor.observation(timestamp, changedAppids, changedPlaytimes, changed, total);
+        }
+    }
+
+    @FunctionalInterface
+    public interface Visitor {
+        void observation(long timestamp, int[] changedAppids, int[] changedPlaytimes, int changedCount, long totalPlaytime);
+    }
+
+    private int get(int appid) {
+        int index = Arrays.binarySearch(appids, 0, stateSize, appid);
+        return index >= 0 ? playtimes[index] : 0;
+    }
+
+    private void put(int appid, int playtime) {
+        int index = Arrays.binarySearch(appids, 0, stateSize, appid);
+        if (index >= 0) {
+            playtimes[index] = playtime;
+            return;
+        }
+        index = -index - 1;
+        if (stateSize == appids.length) {
+            appids = Arrays.copyOf(appids, stateSize * 2);
+            playtimes = Arrays.copyOf(playtimes, stateSize * 2);
+        }
+        System.arraycopy(appids, index, appids, index + 1, stateSize - index);
+        System.arraycopy(playtimes, index, playtimes, index + 1, stateSize - index);
+        appids[index] = appid;
+        playtimes[index] = playtime;
+        stateSize++;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (length + extra > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length * 2, length + extra));
+        }
+    }
+
+    private void writeVarLong(long value) {
+        while ((value & ~0x7FL) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    private long readVarLong(int[] cursor) {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = data[cursor[0]++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+
+    private static long zigzag(int value) {
+        return Integer.toUnsignedLong((value << 1) ^ (value >> 31));
+    }
+
+    private static int unzigzag(long value) {
+        return (int) (value >>> 1) ^ -(int) (value & 1);
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.steam.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 로컬 캐시에서 내려주는 앱 메타데이터 (대시보드/추천 화면용)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class AppInfo {
+    private int appid;
+    private String name;
+    private String type;
+    private List<String> genres;
+    private String headerImage;
+    private boolean free;
+    private String currency;       // 가격 정보가 없으면 null
+    private Integer priceInitial;  // 최소 화폐 단위
+    private Integer priceFinal;
+    private Integer discountPercent;
+}
@@ -0,0 +1,22 @@
+package com.example.steam.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 스냅샷 아카이브 내보내기 결과
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ArchiveExport {
+    private String date;            // 파티션 날짜 (yyyy-MM-dd, UTC)
+    private long libraryRows;       // owned_game 행 수
+    private long historyRows;       // playtime_history 블록 수
+    private long bytes;             // 압축 후 전체 크기
+    private List<String> files;     // 올린 키
+    private long elapsedMillis;
+}
@@ -0,0 +1,18 @@
+package com.example.steam.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 친구들 사이에서 인기 있는 게임 (friendCount: 이 게임을 가진 공개 프로필 친구 수)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class FriendPopularGame {
+    private int appid;
+    private String name;
+    private int friendCount;
+    private int totalPlaytime;  // 친구들의 누적 플레이 시간 합 (분)
+}
@@ -0,0 +1,27 @@
+package com.example.steam.model;
+
+import com.example.steam.util.ContentHash;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// GetOwnedGames / GetRecentlyPlayedGames 응답의 게임 한 건
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@JsonIgnoreProperties(ignoreUnknown = true)
+public class LibraryGame {
+    private int appid;
+    private String name;
+    private int playtime_forever;      // 누적 플레이 시간(분)
+    private int playtime_2weeks;       // 최근 2주 플레이 시간(분)
+    private long rtime_last_played;    // 마지막 플레이 시각(epoch 초)
+
+    // 동기화 비교용 게임 내용 해시
+    public long contentHash() {
+        return ContentHash.game(appid, playtime_forever, playtime_2weeks, rtime_last_played);
+    }
+}
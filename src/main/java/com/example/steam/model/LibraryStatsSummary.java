@@ -0,0 +1,34 @@
+package com.example.steam.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+// 라이브러리 통계 요약 (대시보드 첫 화면용, 라이브러리 크기와 무관하게 수백 바이트)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LibraryStatsSummary {
+    private int gameCount;
+    private int playedCount;               // 한 번이라도 플레이한 게임 수
+    private double neverPlayedRatio;       // 안 해 본 게임 비율 (0~1)
+    private long totalPlaytimeMinutes;
+    private long recentPlaytimeMinutes;    // 최근 2주
+    private long averagePlaytimeMinutes;   // 플레이한 게임당 평균
+    private Map<String, Integer> playtimeDistribution; // 구간 -> 게임 수 (구간 순서 유지)
+    private List<MostPlayed> mostPlayed;   // 누적 플레이 시간 상위
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class MostPlayed {
+        private int appid;
+        private String name;
+        private int playtimeMinutes;
+    }
+}
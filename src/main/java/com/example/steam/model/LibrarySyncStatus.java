@@ -0,0 +1,25 @@
+package com.example.steam.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 라이브러리 백그라운드 동기화 상태 (운영 지표)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class LibrarySyncStatus {
+    private int trackedUsers;           // 동기화 대상 사용자 수
+    private int pendingFetches;         // 한 번만 가져오기로 대기 중인 라이브러리 수
+    private int queueDepth;             // 대기열 항목 수 (재예약으로 무효가 된 항목 포함)
+    private int overdueUsers;           // 예정 시각이 지났는데 아직 실행되지 않은 사용자 수
+    private long oldestOverdueSeconds;  // 가장 오래 밀린 사용자의 지연 (초)
+    private long lastDispatchLagMillis; // 마지막으로 꺼낸 항목의 예정 시각 대비 지연
+    private long averageDispatchLagMillis;
+    private int inFlight;
+    private long completed;
+    private long failed;
+    private double availableQuotaTokens;
+}
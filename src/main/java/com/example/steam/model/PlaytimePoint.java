@@ -0,0 +1,14 @@
+package com.example.steam.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 플레이 시간 기록의 한 시점 (누적 플레이 시간, 분)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PlaytimePoint {
+    private long timestamp;  // 관측 시각 (epoch 초)
+    private long playtime;
+}
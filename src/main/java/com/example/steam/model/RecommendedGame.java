@@ -0,0 +1,20 @@
+package com.example.steam.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 추천 결과 항목
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class RecommendedGame {
+    private int appid;
+    private String name;
+    private float score;
+    private int becauseAppid;     // 추천 이유: 가장 크게 기여한 보유 게임 (없으면 0)
+    private String becauseName;
+    private float becauseWeight;  // 그 게임의 기여 비율 (0~1)
+}
@@ -0,0 +1,27 @@
+package com.example.steam.model;
+
+import com.example.steam.recommend.TagProfileEntry;
+import com.example.steam.recommend.UserLibrary;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+// 코디네이터가 샤드 노드로 보내는 질의 (profile 은 2단계 top-K 요청에만 채운다)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class ShardQuery {
+    private String steamId;
+    private int[] appids;      // 오름차순
+    private int[] playtimes;
+    private Map<String, TagProfileEntry> profile;
+    private int k;
+
+    public UserLibrary toUserLibrary() {
+        return new UserLibrary(steamId, appids, playtimes);
+    }
+}
@@ -0,0 +1,17 @@
+package com.example.steam.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// "나와 비슷한 플레이어" 응답 항목
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class SimilarPlayer {
+    private String steamId;
+    private String steamNickname;
+    private double similarity;   // 추정 Jaccard 유사도 (0 ~ 1)
+}
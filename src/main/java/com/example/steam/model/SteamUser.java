@@ -1,5 +1,6 @@
 package com.example.steam.model;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -12,6 +13,7 @@ import lombok.NoArgsConstructor;
 @Builder
 @JsonIgnoreProperties(ignoreUnknown = true)
 public class SteamUser {
+    @JsonAlias("steamid")
     private String steamId;
     private String displayName;
     private String personaname;
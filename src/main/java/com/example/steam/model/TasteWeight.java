@@ -0,0 +1,17 @@
+package com.example.steam.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 취향 프로필 항목 (weight: 시간 감쇠된 최근 플레이 시간, 분)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TasteWeight {
+    private int appid;
+    private String name;
+    private float weight;
+}
@@ -0,0 +1,17 @@
+package com.example.steam.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// 트렌딩 항목 (score: 시간 창 안 누적값 추정)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingGame {
+    private int appid;
+    private String name;
+    private long score;
+}
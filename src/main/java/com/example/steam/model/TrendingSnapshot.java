@@ -0,0 +1,20 @@
+package com.example.steam.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// 미리 계산해 둔 트렌딩 목록
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class TrendingSnapshot {
+    private List<TrendingGame> sitePlayers;     // 사이트 사용자들이 최근 플레이한 게임 (사용자 수 기준)
+    private List<TrendingGame> currentPlayers;  // 동시 접속자 수 표본 합계 기준
+    private long windowMinutes;
+    private long computedAt;                    // epoch 밀리초
+}
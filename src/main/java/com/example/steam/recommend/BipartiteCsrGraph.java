@@ -0,0 +1,128 @@
+package com.example.steam.recommend;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * 사용자-게임 이분 그래프를 CSR(Compressed Sparse Row) int 배열로 보관한다.
+ * 간선 하나당 int 2개(양방향)만 쓰므로 수백만 간선도 수십 MB 안에 들어간다.
+ * 한 번 만들면 변경하지 않으며, 라이브러리가 바뀌면 새로 만들어 교체한다.
+ */
+public final class BipartiteCsrGraph {
+
+    private final String[] userIds;
+    private final int[] appids;       // 게임 인덱스 -> appid (오름차순)
+    private final int[] userOffsets;  // 사용자 u 의 게임: userEdges[userOffsets[u] .. userOffsets[u + 1])
+    private final int[] userEdges;
+    private final int[] gameOffsets;  // 게임 g 의 소유자: gameEdges[gameOffsets[g] .. gameOffsets[g + 1])
+    private final int[] gameEdges;
+
+    private BipartiteCsrGraph(String[] userIds, int[] appids, int[] userOffsets, int[] userEdges,
+                              int[] gameOffsets, int[] gameEdges) {
+        this.userIds = userIds;
+        this.appids = appids;
+        this.userOffsets = userOffsets;
+        this.userEdges = userEdges;
+        this.gameOffsets = gameOffsets;
+        this.gameEdges = gameEdges;
+    }
+
+    public static BipartiteCsrGraph build(Collection<UserLibrary> libraries) {
+        int userCount = libraries.size();
+        String[] userIds = new String[userCount];
+
+        // 1) 전체 appid 사전 (정렬 + 중복 제거)
+        int edgeCount = 0;
+        for (UserLibrary library : libraries) {
+            edgeCount += library.size();
+        }
+        int[] allAppids = new int[edgeCount];
+        int pos = 0;
+        for (UserLibrary library : libraries) {
+            System.arraycopy(library.appids(), 0, allAppids, pos, library.size());
+            pos += library.size();
+        }
+        int[] appids = Arrays.stream(allAppids).sorted().distinct().toArray();
+
+        // 2) 사용자 -> 게임 CSR
+        int[] userOffsets = new int[userCount + 1];
+        int[] userEdges = new int[edgeCount];
+        int[] gameDegrees = new int[appids.length + 1];
+        int u = 0;
+        pos = 0;
+        for (UserLibrary library : libraries) {
+            userIds[u] = library.steamId();
+            userOffsets[u] = pos;
+            for (int appid : library.appids()) {
+                int g = Arrays.binarySearch(appids, appid);
+                userEdges[pos++] = g;
+                gameDegrees[g + 1]++;
+            }
+            u++;
+        }
+        userOffsets[userCount] = pos;
+
+        // 3) 게임 -> 사용자 CSR (차수 누적합으로 오프셋 계산 후 채우기)
+        int[] gameOffsets = new int[appids.length + 1];
+        for (int g = 0; g < appids.length; g++) {
+            gameOffsets[g + 1] = gameOffsets[g] + gameDegrees[g + 1];
+        }
+        int[] cursor = Arrays.copyOf(gameOffsets, appids.length);
+        int[] gameEdges = new int[edgeCount];
+        for (u = 0; u < userCount; u++) {
+            for (int e = userOffsets[u]; e < userOffsets[u + 1]; e++) {
+                gameEdges[cursor[userEdges[e]]++] = u;
+            }
+        }
+        return new BipartiteCsrGraph(userIds, appids, userOffsets, userEdges, gameOffsets, gameEdges);
+    }
+
+    public int userCount() {
+        return userIds.length;
+    }
+
+    public int gameCount() {
+        return appids.length;
+    }
+
+    public long edgeCount() {
+        return userEdges.length;
+    }
+
+    public String userId(int user) {
+        return userIds[user];
+    }
+
+    public int appid(int game) {
+        return appids[game];
+    }
+
+    // appid 의 게임 인덱스, 그래프에 없으면 -1
+    public int gameIndex(int appid) {
+        int g = Arrays.binarySearch(appids, appid);
+        return g >= 0 ? g : -1;
+    }
+
+    public int userDegree(int user) {
+        return userOffsets[user + 1] - userOffsets[user];
+    }
+
+    public int gameDegree(int game) {
+        return gameOffsets[game + 1] - gameOffsets[game];
+    }
+
+    // 사용자 user 의 i 번째 게임
+    public int userNeighbor(int user, int i) {
+        return userEdges[userOffsets[user] + i];
+    }
+
+    // 게임 game 의 i 번째 소유자
+    public int gameNeighbor(int game, int i) {
+        return gameEdges[gameOffsets[game] + i];
+    }
+
+    // 배열이 차지하는 대략적인 힙 크기(바이트)
+    public long estimatedBytes() {
+        return 4L * (appids.length + userOffsets.length + userEdges.length + gameOffsets.length + gameEdges.length);
+    }
+}
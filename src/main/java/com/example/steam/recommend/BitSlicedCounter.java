@@ -0,0 +1,76 @@
+package com.example.steam.recommend;
+
+import java.util.Arrays;
+
+/**
+ * 비트셋 여러 개를 위치별로 세는 비트 슬라이스 카운터.
+ * 카운트의 p 번째 비트를 plane[p] 비트셋에 두고, 비트셋 하나를 더할 때 64 개 위치를 한 번에 자리올림 덧셈한다.
+ * 친구 n 명이면 plane 은 log2(n)+1 개뿐이라 위치마다 int 카운터를 두는 것보다 훨씬 작고 빠르다.
+ */
+public final class BitSlicedCounter {
+
+    private final int words;
+    private long[][] planes = new long[0][];
+    private final long[] union;
+
+    public BitSlicedCounter(int bits) {
+        this.words = (bits + 63) >>> 6;
+        this.union = new long[words];
+    }
+
+    // 비트셋 하나를 더한다 (bitset.length 는 words 이하)
+    public void add(long[] bitset) {
+        for (int w = 0; w < bitset.length; w++) {
+            long carry = bitset[w];
+            union[w] |= carry;
+            for (int p = 0; carry != 0; p++) {
+                if (p == planes.length) {
+                    planes = Arrays.copyOf(planes, p + 1);
+                    planes[p] = new long[words];
+                }
+                long plane = planes[p][w];
+                planes[p][w] = plane ^ carry;
+                carry &= plane;
+            }
+        }
+    }
+
+    public int count(int bit) {
+        int w = bit >>> 6;
+        long mask = 1L << bit;
+        int count = 0;
+        for (int p = 0; p < planes.length; p++) {
+            if ((planes[p][w] & mask) != 0) {
+                count |= 1 << p;
+            }
+        }
+        return count;
+    }
+
+    // 한 번이라도 더해진 위치 (OR 합)
+    public long[] union() {
+        return union;
+    }
+
+    // 다음으로 켜진 위치 (없으면 -1)
+    public int nextSetBit(int from) {
+        int w = from >>> 6;
+        if (w >= words) {
+            return -1;
+        }
+        long word = union[w] & (-1L << from);
+        while (true) {
+            if (word != 0) {
+                return (w << 6) + Long.numberOfTrailingZeros(word);
+            }
+            if (++w == words) {
+                return -1;
+            }
+            word = union[w];
+        }
+    }
+
+    public static void set(long[] bitset, int bit) {
+        bitset[bit >>> 6] |= 1L << bit;
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.steam.recommend;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 태그 벡터 기반 콘텐츠 추천기.
+ * 보유 게임 벡터를 플레이 시간 가중치로 합해 사용자 프로필 벡터를 만들고,
+ * 프로필의 상위 태그 포스팅 리스트만 훑어 희소 내적을 누적한다.
+ * 라이브러리가 아주 작은 사용자도 게임 한두 개의 태그만으로 추천을 받을 수 있다.
+ *
+ * 프로필을 만들 때 태그별로 가장 크게 기여한 보유 게임을, 내적을 누적할 때 후보별로 가장 크게 기여한 태그를
+ * 같은 스크래치 배열에 기록해 두어 추천 이유를 추가 계산 없이 붙인다.
+ */
+public class ContentRecommender implements Recommender {
+
+    private final int maxProfileTags;
+    private final ThreadLocal<Scratch> scratches = new ThreadLocal<>();
+
+    private volatile TagVectorIndex index;
+
+    public ContentRecommender(int maxProfileTags) {
+        this.maxProfileTags = maxProfileTags;
+    }
+
+    @Override
+    public String name() {
+        return "content";
+    }
+
+    public void setIndex(TagVectorIndex index) {
+        this.index = index;
+    }
+
+    public TagVectorIndex getIndex() {
+        return index;
+    }
+
+    @Override
+    public List<ScoredGame> recommend(UserLibrary library, int limit) {
+        TagVectorIndex idx = this.index;
+        if (idx == null || library.size() == 0) {
+            return new ArrayList<>();
+        }
+        Scratch scratch = scratch(idx);
+        try {
+            accumulateProfile(idx, scratch, library);
+            return scoreProfile(idx, scratch, library, limit);
+        } finally {
+            scratch.reset();
+        }
+    }
+
+    /**
+     * 샤드 1단계: 이 색인에 들어 있는 보유 게임만으로 만든 부분 프로필 (태그 이름 기준, 정규화 전).
+     * 코디네이터가 샤드별 부분 프로필을 TagProfileEntry.merge 로 합친다.
+     */
+    public Map<String, TagProfileEntry> partialProfile(UserLibrary library) {
+        TagVectorIndex idx = this.index;
+        Map<String, TagProfileEntry> profile = new HashMap<>();
+        if (idx == null) {
+            return profile;
+        }
+        Scratch scratch = scratch(idx);
+        try {
+            accumulateProfile(idx, scratch, library);
+            for (int i = 0; i < scratch.profileTagCount; i++) {
+                int tag = scratch.profileTags[i];
+                profile.put(idx.tagName(tag),
+                        new TagProfileEntry(scratch.profile[tag], scratch.tagSource[tag], scratch.tagSourceValue[tag]));
+            }
+            return profile;
+        } finally {
+            scratch.reset();
+        }
+    }
+
+    /**
+     * 샤드 2단계: 합쳐진 전체 프로필로 이 색인에 있는 게임만 점수화한다.
+     * IDF 가 전체 카탈로그 기준이므로 샤드별 점수를 그대로 병합할 수 있다.
+     */
+    public List<ScoredGame> recommend(Map<String, TagProfileEntry> profile, UserLibrary library, int limit) {
+        TagVectorIndex idx = this.index;
+        if (idx == null || profile.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Scratch scratch = scratch(idx);
+        try {
+            for (Map.Entry<String, TagProfileEntry> entry : profile.entrySet()) {
+                int tag = idx.tagId(entry.getKey());
+                if (tag >= 0) {
+                    TagProfileEntry value = entry.getValue();
+                    scratch.addProfile(tag, value.weight(), value.sourceAppid(), value.sourceValue());
+                }
+            }
+            return scoreProfile(idx, scratch, library, limit);
+        } finally {
+            scratch.reset();
+        }
+    }
+
+    // 1) 사용자 프로필 벡터 = sum(플레이 시간 가중치 x 게임 벡터)
+    private static void accumulateProfile(TagVectorIndex idx, Scratch scratch, UserLibrary library) {
+        for (int i = 0; i < library.size(); i++) {
+            int game = idx.gameIndex(library.appids()[i]);
+            if (game < 0) {
+                continue;
+            }
+            float w = library.weight(i);
+            for (int e = idx.vectorStart(game); e < idx.vectorEnd(game); e++) {
+                float value = w * idx.vectorWeight(e);
+                scratch.addProfile(idx.vectorTag(e), value, library.appids()[i], value);
+            }
+        }
+    }
+
+    private List<ScoredGame> scoreProfile(TagVectorIndex idx, Scratch scratch, UserLibrary library, int limit) {
+        if (scratch.profileTagCount == 0) {
+            return new ArrayList<>();
+        }
+
+        // 2) 가중치 상위 태그만 남기고 L2 정규화
+        TopK topTags = new TopK(maxProfileTags);
+        double norm = 0;
+        for (int i = 0; i < scratch.profileTagCount; i++) {
+            int tag = scratch.profileTags[i];
+            float value = scratch.profile[tag];
+            norm += (double) value * value;
+            topTags.offer(tag, value);
+        }
+        int[] tags = new int[topTags.size()];
+        float[] weights = new float[topTags.size()];
+        int tagCount = topTags.drainDescending(tags, weights);
+        float inv = (float) (1.0 / Math.sqrt(norm));
+
+        // 3) 태그별 포스팅 리스트로 희소 내적 누적
+        for (int i = 0; i < tagCount; i++) {
+            float profileWeight = weights[i] * inv;
+            for (int e = idx.postingStart(tags[i]); e < idx.postingEnd(tags[i]); e++) {
+                scratch.addScore(idx.postingGame(e), profileWeight * idx.postingWeight(e), tags[i]);
+            }
+        }
+
+        TopK top = new TopK(limit);
+        for (int i = 0; i < scratch.scoredCount; i++) {
+            int game = scratch.scoredGames[i];
+            if (!library.owns(idx.appid(game))) {
+                top.offer(game, scratch.scores[game]);
+            }
+        }
+        // 살아남은 후보: 가장 크게 기여한 태그 -> 그 태그에 가장 크게 기여한 보유 게임
+        int[] games = new int[top.size()];
+        float[] scores = new float[top.size()];
+        int n = top.drainDescending(games, scores);
+        List<ScoredGame> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            int game = games[i];
+            int tag = scratch.bestTag[game];
+            float share = scores[i] > 0 ? scratch.bestTagScore[game] / scores[i] : 0f;
+            result.add(new ScoredGame(idx.appid(game), scores[i], scratch.tagSource[tag], share));
+        }
+        return result;
+    }
+
+    private Scratch scratch(TagVectorIndex idx) {
+        Scratch scratch = scratches.get();
+        if (scratch == null || scratch.profile.length < idx.tagCount() || scratch.scores.length < idx.gameCount()) {
+            scratch = new Scratch(idx.tagCount(), idx.gameCount());
+            scratches.set(scratch);
+        }
+        return scratch;
+    }
+
+    // 요청 스레드별로 재사용하는 밀집 누적 배열. 값이 들어간 위치만 기록했다가 되돌린다.
+    private static final class Scratch {
+        final float[] profile;
+        final int[] profileTags;
+        final int[] tagSource;        // 태그별 가장 크게 기여한 보유 appid
+        final float[] tagSourceValue;
+        int profileTagCount;
+
+        final float[] scores;
+        final int[] scoredGames;
+        final int[] bestTag;          // 후보별 가장 크게 기여한 태그
+        final float[] bestTagScore;
+        int scoredCount;
+
+        Scratch(int tagCount, int gameCount) {
+            this.profile = new float[tagCount];
+            this.profileTags = new int[tagCount];
+            this.tagSource = new int[tagCount];
+            this.tagSourceValue = new float[tagCount];
+            this.scores = new float[gameCount];
+            this.scoredGames = new int[gameCount];
+            this.bestTag = new int[gameCount];
+            this.bestTagScore = new float[gameCount];
+        }
+
+        void addProfile(int tag, float value, int sourceAppid, float sourceValue) {
+            if (profile[tag] == 0f) {
+                profileTags[profileTagCount++] = tag;
+            }
+            profile[tag] += value;
+            if (sourceValue > tagSourceValue[tag]) {
+                tagSourceValue[tag] = sourceValue;
+                tagSource[tag] = sourceAppid;
+            }
+        }
+
+        void addScore(int game, float value, int tag) {
+            if (scores[game] == 0f) {
+                scoredGames[scoredCount++] = game;
+            }
+            scores[game] += value;
+            if (value > bestTagScore[game]) {
+                bestTagScore[game] = value;
+                bestTag[game] = tag;
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < profileTagCount; i++) {
+                profile[profileTags[i]] = 0f;
+                tagSourceValue[profileTags[i]] = 0f;
+            }
+            for (int i = 0; i < scoredCount; i++) {
+                scores[scoredGames[i]] = 0f;
+                bestTagScore[scoredGames[i]] = 0f;
+            }
+            profileTagCount = 0;
+            scoredCount = 0;
+        }
+    }
+}
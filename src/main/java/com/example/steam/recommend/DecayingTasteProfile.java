@@ -0,0 +1,177 @@
+package com.example.steam.recommend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 최근 플레이 관측을 시간 감쇠 가중치로 누적한 사용자별 취향 프로필.
+ *
+ * 전방 감쇠(forward decay): 관측값 v 를 기준 시각 L 에 대해 v * exp(λ(t - L)) 로 더해 두고
+ * 읽을 때 exp(-λ(now - L)) 을 한 번 곱한다. 그래서 관측 하나를 반영할 때 다른 게임은 건드리지 않는다 (변경된 게임 수만큼의 비용).
+ * 지수가 커지면 그때 한 번 기준 시각을 옮기면서 거의 0 이 된 항목을 정리한다.
+ *
+ * 같은 2주 창을 여러 번 조회해도 중복 누적되지 않도록 게임별 누적 플레이 시간의 증가분만 더한다.
+ */
+public class DecayingTasteProfile {
+
+    // exp(λ(t - L)) 가 이 지수를 넘으면 기준 시각을 옮긴다 (float 정밀도 여유)
+    private static final double MAX_EXPONENT = 20.0;
+    // 기준 시각을 옮길 때 현재 가중치(분)가 이보다 작은 항목은 버린다
+    private static final double PRUNE_MINUTES = 0.5;
+    private static final long TWO_WEEKS_SECONDS = 14 * 86400L;
+
+    private final double lambda;
+    private final Map<String, Profile> profiles = new ConcurrentHashMap<>();
+
+    /**
+     * @param halfLifeSeconds 관측 가중치가 절반이 되는 시간
+     */
+    public DecayingTasteProfile(long halfLifeSeconds) {
+        this.lambda = Math.log(2) / halfLifeSeconds;
+    }
+
+    /**
+     * 최근 플레이 관측 한 번을 반영하고 가중치가 바뀐 게임 수를 반환한다.
+     *
+     * @param playtimeForever 게임별 누적 플레이 시간(분)
+     * @param playtime2weeks  게임별 최근 2주 플레이 시간(분), 처음 보는 게임에만 사용
+     */
+    public int observe(String steamId, int[] appids, int[] playtimeForever, int[] playtime2weeks, long now) {
+        Profile profile = profiles.computeIfAbsent(steamId, id -> new Profile(now));
+        synchronized (profile) {
+            if ((now - profile.landmark) * lambda > MAX_EXPONENT) {
+                profile.rescale(now);
+            }
+            int changed = 0;
+            for (int i = 0; i < appids.length; i++) {
+                Entry entry = profile.entries.get(appids[i]);
+                double minutes;
+                long at;
+                if (entry == null) {
+                    // 처음 보는 게임: 최근 2주 플레이를 창 중간 시점의 관측으로 본다
+                    entry = new Entry();
+                    profile.entries.put(appids[i], entry);
+                    minutes = playtime2weeks[i];
+                    at = now - TWO_WEEKS_SECONDS / 2;
+                } else {
+                    minutes = Math.max(0, playtimeForever[i] - entry.lastPlaytimeForever);
+                    at = now;
+                }
+                entry.lastPlaytimeForever = Math.max(entry.lastPlaytimeForever, playtimeForever[i]);
+                if (minutes > 0) {
+                    entry.score += minutes * Math.exp(lambda * (at - profile.landmark));
+                    changed++;
+                }
+            }
+            return changed;
+        }
+    }
+
+    // 현재 시각 기준 감쇠된 가중치 (분 단위, 없으면 0)
+    public float weight(String steamId, int appid, long now) {
+        Profile profile = profiles.get(steamId);
+        if (profile == null) {
+            return 0f;
+        }
+        synchronized (profile) {
+            Entry entry = profile.entries.get(appid);
+            return entry == null ? 0f : (float) (entry.score * profile.decay(now));
+        }
+    }
+
+    // 가중치 상위 limit 개 게임
+    public List<ScoredGame> top(String steamId, int limit, long now) {
+        Profile profile = profiles.get(steamId);
+        if (profile == null) {
+            return new ArrayList<>();
+        }
+        TopK top = new TopK(limit);
+        synchronized (profile) {
+            double decay = profile.decay(now);
+            for (Map.Entry<Integer, Entry> e : profile.entries.entrySet()) {
+                float weight = (float) (e.getValue().score * decay);
+                if (weight > 0) {
+                    top.offer(e.getKey(), weight);
+                }
+            }
+        }
+        return top.toScoredGames();
+    }
+
+    public boolean contains(String steamId) {
+        return profiles.containsKey(steamId);
+    }
+
+    public void remove(String steamId) {
+        profiles.remove(steamId);
+    }
+
+    public int size() {
+        return profiles.size();
+    }
+
+    /**
+     * 최근 관심 게임의 플레이 시간을 늘린 라이브러리 사본.
+     * 추천기는 weight(i) 로 시드를 고르므로 최근에 많이 한 게임 주변이 더 자주 탐색된다.
+     * 원본의 libraryHash 는 달라지므로 저장용 해시는 원본에서 계산해야 한다.
+     */
+    public UserLibrary emphasize(UserLibrary library, float boost, long now) {
+        Profile profile = profiles.get(library.steamId());
+        if (profile == null) {
+            return library;
+        }
+        int[] playtimes = null;
+        synchronized (profile) {
+            double decay = profile.decay(now);
+            for (Map.Entry<Integer, Entry> e : profile.entries.entrySet()) {
+                int i = Arrays.binarySearch(library.appids(), e.getKey());
+                float recent = (float) (e.getValue().score * decay);
+                if (i < 0 || recent < PRUNE_MINUTES) {
+                    continue;
+                }
+                if (playtimes == null) {
+                    playtimes = library.playtimes().clone();
+                }
+                playtimes[i] = (int) Math.min(Integer.MAX_VALUE, playtimes[i] + (long) (recent * boost));
+            }
+        }
+        return playtimes == null ? library : new UserLibrary(library.steamId(), library.appids(), playtimes);
+    }
+
+    private final class Profile {
+        private final Map<Integer, Entry> entries = new HashMap<>();
+        private long landmark;
+
+        Profile(long landmark) {
+            this.landmark = landmark;
+        }
+
+        double decay(long now) {
+            return Math.exp(-lambda * (now - landmark));
+        }
+
+        // 기준 시각을 now 로 옮기고 거의 사라진 항목을 정리
+        void rescale(long now) {
+            double factor = decay(now);
+            Iterator<Entry> it = entries.values().iterator();
+            while (it.hasNext()) {
+                Entry entry = it.next();
+                entry.score *= factor;
+                if (entry.score < PRUNE_MINUTES) {
+                    it.remove();
+                }
+            }
+            landmark = now;
+        }
+    }
+
+    private static final class Entry {
+        private double score;
+        private int lastPlaytimeForever;
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.steam.recommend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * 게임별 이웃 게임 목록을 미리 계산해 둔 색인 (아이템 기반 협업 필터링).
+ * 두 게임을 함께 가진 사용자 수를 코사인으로 정규화한 값 co(a, b) / (sqrt(deg(a) * deg(b)) + SHRINK) 을 유사도로 쓰고,
+ * 게임마다 상위 N 개만 점수 내림차순 CSR 배열로 보관한다.
+ *
+ * 질의는 시드 게임들의 이웃 목록을 합산해 크기 제한 힙으로 상위 k 개를 고르므로
+ * 비용이 (시드 수 × N) 에 비례하고 그래프 크기와 무관하다 (콜드 스타트용).
+ */
+public final class ItemNeighborIndex {
+
+    // 소유자가 몇 명뿐인 게임끼리 우연히 겹쳐 코사인 1 이 되는 것을 눌러 주는 수축 항
+    private static final double SHRINK = 10.0;
+
+    private final int[] appids;      // 게임 인덱스 -> appid (오름차순)
+    private final int[] offsets;     // 게임 g 의 이웃: neighbors[offsets[g] .. offsets[g + 1])
+    private final int[] neighbors;   // 이웃 게임 인덱스
+    private final float[] scores;    // 이웃 유사도 (게임별 내림차순)
+    private final ThreadLocal<Scratch> scratches = new ThreadLocal<>();
+
+    private ItemNeighborIndex(int[] appids, int[] offsets, int[] neighbors, float[] scores) {
+        this.appids = appids;
+        this.offsets = offsets;
+        this.neighbors = neighbors;
+        this.scores = scores;
+    }
+
+    /**
+     * 그래프에서 게임별 상위 neighbors 개 이웃을 계산한다.
+     * 인기 게임은 소유자가 많아 비용이 커지므로 게임마다 소유자를 최대 maxOwners 명까지 고르게 건너뛰며 본다.
+     */
+    public static ItemNeighborIndex build(BipartiteCsrGraph graph, int neighbors, int maxOwners) {
+        int gameCount = graph.gameCount();
+        int[] appids = new int[gameCount];
+        for (int g = 0; g < gameCount; g++) {
+            appids[g] = graph.appid(g);
+        }
+        int[][] lists = new int[gameCount][];
+        float[][] listScores = new float[gameCount][];
+        ThreadLocal<Scratch> scratches = ThreadLocal.withInitial(() -> new Scratch(gameCount));
+        IntStream.range(0, gameCount).parallel().forEach(game -> {
+            Scratch scratch = scratches.get();
+            int degree = graph.gameDegree(game);
+            int stride = Math.max(1, degree / Math.max(1, maxOwners));
+            for (int i = 0; i < degree; i += stride) {
+                int user = graph.gameNeighbor(game, i);
+                for (int j = 0; j < graph.userDegree(user); j++) {
+                    int other = graph.userNeighbor(user, j);
+                    if (other != game) {
+                        scratch.add(other, stride, game);
+                    }
+                }
+            }
+            TopK top = new TopK(neighbors);
+            for (int i = 0; i < scratch.touchedCount; i++) {
+                int other = scratch.touched[i];
+                float cosine = (float) (scratch.values[other] / (Math.sqrt((double) degree * graph.gameDegree(other)) + SHRINK));
+                top.offer(other, cosine);
+            }
+            scratch.reset();
+            int[] ids = new int[top.size()];
+            float[] values = new float[top.size()];
+            top.drainDescending(ids, values);
+            lists[game] = ids;
+            listScores[game] = values;
+        });
+
+        int[] offsets = new int[gameCount + 1];
+        for (int g = 0; g < gameCount; g++) {
+            offsets[g + 1] = offsets[g] + lists[g].length;
+        }
+        int[] neighborIds = new int[offsets[gameCount]];
+        float[] neighborScores = new float[offsets[gameCount]];
+        for (int g = 0; g < gameCount; g++) {
+            System.arraycopy(lists[g], 0, neighborIds, offsets[g], lists[g].length);
+            System.arraycopy(listScores[g], 0, neighborScores, offsets[g], listScores[g].length);
+        }
+        return new ItemNeighborIndex(appids, offsets, neighborIds, neighborScores);
+    }
+
+    public int gameCount() {
+        return appids.length;
+    }
+
+    public long neighborCount() {
+        return neighbors.length;
+    }
+
+    public long estimatedBytes() {
+        return 4L * appids.length + 4L * offsets.length + 8L * neighbors.length;
+    }
+
+    // appid 의 이웃 appid 목록 (유사도 내림차순), 색인에 없으면 빈 목록
+    public List<ScoredGame> neighbors(int appid, int limit) {
+        int game = Arrays.binarySearch(appids, appid);
+        List<ScoredGame> result = new ArrayList<>();
+        if (game < 0) {
+            return result;
+        }
+        int end = Math.min(offsets[game + 1], offsets[game] + limit);
+        for (int e = offsets[game]; e < end; e++) {
+            result.add(new ScoredGame(appids[neighbors[e]], scores[e]));
+        }
+        return result;
+    }
+
+    /**
+     * 시드 게임들의 이웃 목록을 합산해 상위 limit 개를 고른다. 시드 자체는 결과에서 뺀다.
+     * 추천 이유는 그 게임에 가장 큰 유사도를 준 시드다.
+     */
+    public List<ScoredGame> recommend(int[] seedAppids, int limit) {
+        Scratch scratch = scratch();
+        int[] seeds = new int[seedAppids.length];
+        int seedCount = 0;
+        for (int appid : seedAppids) {
+            int game = Arrays.binarySearch(appids, appid);
+            if (game >= 0) {
+                seeds[seedCount++] = game;
+            }
+        }
+        try {
+            for (int s = 0; s < seedCount; s++) {
+                int seed = seeds[s];
+                for (int e = offsets[seed]; e < offsets[seed + 1]; e++) {
+                    scratch.add(neighbors[e], scores[e], seed);
+                }
+            }
+            for (int s = 0; s < seedCount; s++) {
+                scratch.values[seeds[s]] = Float.NEGATIVE_INFINITY;
+            }
+
+            TopK top = new TopK(limit);
+            for (int i = 0; i < scratch.touchedCount; i++) {
+                int game = scratch.touched[i];
+                top.offer(game, scratch.values[game]);
+            }
+            int[] games = new int[top.size()];
+            float[] values = new float[top.size()];
+            int n = top.drainDescending(games, values);
+            List<ScoredGame> result = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                if (values[i] == Float.NEGATIVE_INFINITY) {
+                    break;
+                }
+                int game = games[i];
+                result.add(new ScoredGame(appids[game], values[i],
+                        appids[scratch.bestSource[game]], scratch.bestValue[game] / values[i]));
+            }
+            return result;
+        } finally {
+            scratch.reset();
+            // 이웃으로 한 번도 안 나온 시드는 touched 에 없으므로 따로 지운다 (안 지우면 이 스레드에서 다시 추천되지 않는다)
+            for (int s = 0; s < seedCount; s++) {
+                scratch.values[seeds[s]] = 0f;
+            }
+        }
+    }
+
+    private Scratch scratch() {
+        Scratch scratch = scratches.get();
+        if (scratch == null || scratch.values.length < appids.length) {
+            scratch = new Scratch(appids.length);
+            scratches.set(scratch);
+        }
+        return scratch;
+    }
+
+    // 게임 인덱스 기준 밀집 누적 배열 + 건드린 인덱스 목록 (요청 스레드별 재사용)
+    private static final class Scratch {
+        final float[] values;
+        final int[] bestSource;
+        final float[] bestValue;
+        final int[] touched;
+        int touchedCount;
+
+        Scratch(int gameCount) {
+            this.values = new float[gameCount];
+            this.bestSource = new int[gameCount];
+            this.bestValue = new float[gameCount];
+            this.touched = new int[gameCount];
+        }
+
+        void add(int game, float value, int source) {
+            if (values[game] == 0f) {
+                touched[touchedCount++] = game;
+            }
+            values[game] += value;
+            if (value > bestValue[game]) {
+                bestValue[game] = value;
+                bestSource[game] = source;
+            }
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                int game = touched[i];
+                values[game] = 0f;
+                bestValue[game] = 0f;
+            }
+            touchedCount = 0;
+        }
+    }
+}
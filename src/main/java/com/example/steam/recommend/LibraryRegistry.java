@@ -0,0 +1,44 @@
+package com.example.steam.recommend;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * steamId 별 최신 라이브러리 보관소.
+ * 변경될 때마다 version 이 올라가므로 그래프 등 파생 색인은 version 비교만으로 재구축 여부를 판단한다.
+ */
+public class LibraryRegistry {
+
+    private final Map<String, UserLibrary> libraries = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+
+    public void put(UserLibrary library) {
+        libraries.put(library.steamId(), library);
+        version.incrementAndGet();
+    }
+
+    public void remove(String steamId) {
+        if (libraries.remove(steamId) != null) {
+            version.incrementAndGet();
+        }
+    }
+
+    public UserLibrary get(String steamId) {
+        return libraries.get(steamId);
+    }
+
+    public List<UserLibrary> snapshot() {
+        return new ArrayList<>(libraries.values());
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public int size() {
+        return libraries.size();
+    }
+}
@@ -0,0 +1,171 @@
+package com.example.steam.recommend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 소유 appid 집합의 MinHash 시그니처와 LSH 밴딩 테이블.
+ * 시그니처를 bands x rows 로 나누어 밴드 단위로 버킷팅하고,
+ * 같은 버킷에 걸린 후보만 시그니처 일치율(추정 Jaccard)로 비교한다.
+ */
+public class MinHashLshIndex {
+
+    private final int bands;
+    private final int rows;
+    private final long[] hashA;
+    private final long[] hashB;
+
+    // steamId -> 시그니처
+    private final Map<String, int[]> signatures = new ConcurrentHashMap<>();
+    // 밴드별 (밴드 키 -> steamId 집합)
+    private final List<Map<Long, Set<String>>> bandTables;
+
+    public MinHashLshIndex(int bands, int rows, long seed) {
+        this.bands = bands;
+        this.rows = rows;
+        int numHashes = bands * rows;
+        this.hashA = new long[numHashes];
+        this.hashB = new long[numHashes];
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = 0; i < numHashes; i++) {
+            hashA[i] = random.nextLong() | 1L; // 홀수 곱셈 상수
+            hashB[i] = random.nextLong();
+        }
+        this.bandTables = new ArrayList<>(bands);
+        for (int b = 0; b < bands; b++) {
+            bandTables.add(new ConcurrentHashMap<>());
+        }
+    }
+
+    public int numHashes() {
+        return hashA.length;
+    }
+
+    public int size() {
+        return signatures.size();
+    }
+
+    public boolean contains(String steamId) {
+        return signatures.containsKey(steamId);
+    }
+
+    // appid 집합의 MinHash 시그니처 계산 (O(집합 크기 x 해시 수))
+    public int[] signature(int[] appids) {
+        int[] sig = new int[hashA.length];
+        Arrays.fill(sig, Integer.MAX_VALUE);
+        for (int appid : appids) {
+            long x = mix(appid);
+            for (int i = 0; i < sig.length; i++) {
+                int h = (int) ((hashA[i] * x + hashB[i]) >>> 33);
+                if (h < sig[i]) {
+                    sig[i] = h;
+                }
+            }
+        }
+        return sig;
+    }
+
+    /**
+     * 사용자의 라이브러리를 색인에 반영한다.
+     * 시그니처가 바뀐 밴드의 버킷만 갱신하므로 변경이 없으면 비용이 거의 없다.
+     */
+    public synchronized void update(String steamId, int[] appids) {
+        if (appids.length == 0) {
+            remove(steamId);
+            return;
+        }
+        int[] newSig = signature(appids);
+        int[] oldSig = signatures.put(steamId, newSig);
+        for (int b = 0; b < bands; b++) {
+            long newKey = bandKey(newSig, b);
+            if (oldSig != null) {
+                long oldKey = bandKey(oldSig, b);
+                if (oldKey == newKey) {
+                    continue;
+                }
+                removeFromBucket(b, oldKey, steamId);
+            }
+            bandTables.get(b).computeIfAbsent(newKey, k -> ConcurrentHashMap.newKeySet()).add(steamId);
+        }
+    }
+
+    public synchronized void remove(String steamId) {
+        int[] oldSig = signatures.remove(steamId);
+        if (oldSig == null) {
+            return;
+        }
+        for (int b = 0; b < bands; b++) {
+            removeFromBucket(b, bandKey(oldSig, b), steamId);
+        }
+    }
+
+    /**
+     * LSH 후보 중 추정 Jaccard 유사도가 높은 사용자 순으로 반환한다.
+     * 전체 사용자를 훑지 않고 같은 버킷에 걸린 후보만 비교한다.
+     */
+    public List<Neighbor> query(String steamId, int limit) {
+        int[] sig = signatures.get(steamId);
+        if (sig == null) {
+            return Collections.emptyList();
+        }
+        Set<String> candidates = new HashSet<>();
+        for (int b = 0; b < bands; b++) {
+            Set<String> bucket = bandTables.get(b).get(bandKey(sig, b));
+            if (bucket != null) {
+                candidates.addAll(bucket);
+            }
+        }
+        candidates.remove(steamId);
+
+        List<Neighbor> neighbors = new ArrayList<>(candidates.size());
+        for (String candidate : candidates) {
+            int[] other = signatures.get(candidate);
+            if (other == null) {
+                continue;
+            }
+            int matches = 0;
+            for (int i = 0; i < sig.length; i++) {
+                if (sig[i] == other[i]) {
+                    matches++;
+                }
+            }
+            neighbors.add(new Neighbor(candidate, (double) matches / sig.length));
+        }
+        neighbors.sort((a, b) -> Double.compare(b.similarity(), a.similarity()));
+        return neighbors.size() > limit ? new ArrayList<>(neighbors.subList(0, limit)) : neighbors;
+    }
+
+    private void removeFromBucket(int band, long key, String steamId) {
+        bandTables.get(band).computeIfPresent(key, (k, bucket) -> {
+            bucket.remove(steamId);
+            return bucket.isEmpty() ? null : bucket;
+        });
+    }
+
+    private long bandKey(int[] sig, int band) {
+        long h = 0xcbf29ce484222325L;
+        int start = band * rows;
+        for (int i = start; i < start + rows; i++) {
+            h = (h ^ sig[i]) * 0x100000001b3L;
+        }
+        return h;
+    }
+
+    // appid 를 64비트로 고르게 퍼뜨린다 (SplitMix64 finalizer)
+    private static long mix(int value) {
+        long z = value * 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    public record Neighbor(String steamId, double similarity) {
+    }
+}
@@ -0,0 +1,92 @@
+package com.example.steam.recommend;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 최대 한계 관련성(MMR) 재정렬.
+ * 점수 상위 pool 개 후보만 대상으로, 매번 λ·관련성 - (1 - λ)·(이미 고른 게임과의 최대 유사도) 가 가장 큰 후보를 고른다.
+ * 유사도는 태그 벡터 코사인이고, 후보 벡터를 밀집 배열로 한 번 펼친 뒤
+ * 고른 게임과의 유사도만 VectorKernel 내적으로 갱신하므로 비용은 O(k · pool · 태그 수) 로 고정된다.
+ * 풀 밖의 후보는 원래 순서대로 뒤에 붙인다.
+ */
+public final class MmrReranker {
+
+    private static final VectorKernel KERNEL = VectorKernel.get();
+
+    private final float lambda;
+    private final int poolSize;
+
+    /**
+     * @param lambda   1 이면 원래 순서 그대로, 0 에 가까울수록 다양성 우선
+     * @param poolSize 재정렬 대상 상위 후보 수
+     */
+    public MmrReranker(float lambda, int poolSize) {
+        this.lambda = lambda;
+        this.poolSize = Math.max(1, poolSize);
+    }
+
+    public int poolSize() {
+        return poolSize;
+    }
+
+    /**
+     * candidates 는 점수 내림차순이어야 한다. 태그 색인에 없는 게임은 유사도 0 으로 본다.
+     * 점수는 원래 값을 유지하고 순서만 바꾼다.
+     */
+    public List<ScoredGame> rerank(List<ScoredGame> candidates, TagVectorIndex index, int limit) {
+        int pool = Math.min(poolSize, candidates.size());
+        if (index == null || pool < 2 || lambda >= 1f) {
+            return candidates.size() > limit ? new ArrayList<>(candidates.subList(0, limit)) : candidates;
+        }
+
+        // 관련성은 풀 안 최고 점수로 나눠 0~1 로 맞춘다 (추천기마다 점수 척도가 다르다)
+        float maxScore = candidates.get(0).score();
+        float[] relevance = new float[pool];
+        for (int i = 0; i < pool; i++) {
+            relevance[i] = maxScore > 0 ? candidates.get(i).score() / maxScore : 0f;
+        }
+        int dim = index.tagCount();
+        float[] vectors = new float[pool * dim];
+        for (int i = 0; i < pool; i++) {
+            int game = index.gameIndex(candidates.get(i).appid());
+            if (game >= 0) {
+                index.denseVector(game, vectors, i * dim);
+            }
+        }
+
+        float[] maxSimilarity = new float[pool];
+        boolean[] selected = new boolean[pool];
+        int picks = Math.min(limit, pool);
+        List<ScoredGame> result = new ArrayList<>(Math.min(limit, candidates.size()));
+        for (int step = 0; step < picks; step++) {
+            int best = -1;
+            float bestValue = Float.NEGATIVE_INFINITY;
+            for (int i = 0; i < pool; i++) {
+                if (selected[i]) {
+                    continue;
+                }
+                float value = lambda * relevance[i] - (1f - lambda) * maxSimilarity[i];
+                if (value > bestValue) {
+                    bestValue = value;
+                    best = i;
+                }
+            }
+            selected[best] = true;
+            result.add(candidates.get(best));
+            // 방금 고른 게임과의 유사도로 남은 후보의 최대 유사도만 갱신
+            for (int i = 0; i < pool; i++) {
+                if (!selected[i]) {
+                    float similarity = KERNEL.dot(vectors, i * dim, vectors, best * dim, dim);
+                    if (similarity > maxSimilarity[i]) {
+                        maxSimilarity[i] = similarity;
+                    }
+                }
+            }
+        }
+        for (int i = pool; i < candidates.size() && result.size() < limit; i++) {
+            result.add(candidates.get(i));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,157 @@
+package com.example.steam.recommend;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+
+/**
+ * 곱 양자화(Product Quantization) 임베딩 저장소.
+ * 벡터를 m 개의 부분 공간으로 나누고 부분 공간마다 256 개 중심(k-means)으로 1바이트 코드를 부여한다.
+ * 질의 시에는 부분 공간별 (질의 조각 · 중심) 내적 표를 한 번 만들고
+ * 저장 벡터마다 m 번의 표 조회 합으로 점수를 낸다 (비대칭 거리 계산, ADC).
+ */
+public class ProductQuantizer {
+
+    public static final int CENTROIDS = 256;
+
+    private static final VectorKernel KERNEL = VectorKernel.get();
+
+    private final int dim;
+    private final int m;
+    private final int subDim;
+    private final float[] centroids;  // [부분 공간][중심][subDim]
+
+    private int[] ids = new int[16];
+    private byte[] codes = new byte[0];
+    private int size;
+
+    private ProductQuantizer(int dim, int m, float[] centroids) {
+        this.dim = dim;
+        this.m = m;
+        this.subDim = dim / m;
+        this.centroids = centroids;
+        this.codes = new byte[ids.length * m];
+    }
+
+    /**
+     * 학습 표본으로 부분 공간별 코드북을 k-means 로 만든다.
+     * dim 은 m 으로 나누어 떨어져야 한다.
+     */
+    public static ProductQuantizer train(float[][] samples, int dim, int m, int iterations, long seed) {
+        if (dim % m != 0) {
+            throw new IllegalArgumentException("dim must be divisible by m: dim=" + dim + ", m=" + m);
+        }
+        int subDim = dim / m;
+        float[] centroids = new float[m * CENTROIDS * subDim];
+        SplittableRandom random = new SplittableRandom(seed);
+        int n = samples.length;
+        int[] assignment = new int[n];
+        for (int s = 0; s < m; s++) {
+            int offset = s * subDim;
+            int base = s * CENTROIDS * subDim;
+            // 초기 중심: 무작위 표본
+            for (int c = 0; c < CENTROIDS; c++) {
+                System.arraycopy(samples[random.nextInt(n)], offset, centroids, base + c * subDim, subDim);
+            }
+            for (int iter = 0; iter < iterations; iter++) {
+                for (int i = 0; i < n; i++) {
+                    assignment[i] = nearest(centroids, base, samples[i], offset, subDim);
+                }
+                float[] sums = new float[CENTROIDS * subDim];
+                int[] counts = new int[CENTROIDS];
+                for (int i = 0; i < n; i++) {
+                    int c = assignment[i];
+                    counts[c]++;
+                    for (int d = 0; d < subDim; d++) {
+                        sums[c * subDim + d] += samples[i][offset + d];
+                    }
+                }
+                for (int c = 0; c < CENTROIDS; c++) {
+                    if (counts[c] == 0) {
+                        // 빈 군집은 무작위 표본으로 다시 시작
+                        System.arraycopy(samples[random.nextInt(n)], offset, centroids, base + c * subDim, subDim);
+                        continue;
+                    }
+                    for (int d = 0; d < subDim; d++) {
+                        centroids[base + c * subDim + d] = sums[c * subDim + d] / counts[c];
+                    }
+                }
+            }
+        }
+        return new ProductQuantizer(dim, m, centroids);
+    }
+
+    public int dim() {
+        return dim;
+    }
+
+    public int subspaces() {
+        return m;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int id(int row) {
+        return ids[row];
+    }
+
+    public int add(int id, float[] vector) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, ids.length * 2);
+            codes = Arrays.copyOf(codes, ids.length * m);
+        }
+        for (int s = 0; s < m; s++) {
+            codes[size * m + s] = (byte) nearest(centroids, s * CENTROIDS * subDim, vector, s * subDim, subDim);
+        }
+        ids[size] = id;
+        return size++;
+    }
+
+    // 질의별 ADC 표: table[s * 256 + c] = 질의의 s 번째 조각 · 중심 c
+    public float[] innerProductTable(float[] query) {
+        float[] table = new float[m * CENTROIDS];
+        for (int s = 0; s < m; s++) {
+            int base = s * CENTROIDS * subDim;
+            int offset = s * subDim;
+            for (int c = 0; c < CENTROIDS; c++) {
+                table[s * CENTROIDS + c] = KERNEL.dot(query, offset, centroids, base + c * subDim, subDim);
+            }
+        }
+        return table;
+    }
+
+    public float score(float[] table, int row) {
+        float sum = 0f;
+        int base = row * m;
+        for (int s = 0; s < m; s++) {
+            sum += table[s * CENTROIDS + (codes[base + s] & 0xFF)];
+        }
+        return sum;
+    }
+
+    public void search(float[] query, TopK top) {
+        float[] table = innerProductTable(query);
+        for (int row = 0; row < size; row++) {
+            top.offer(ids[row], score(table, row));
+        }
+    }
+
+    // 코드 + id + 코드북 바이트 수
+    public long bytes() {
+        return (long) size * m + 4L * size + 4L * centroids.length;
+    }
+
+    private static int nearest(float[] centroids, int base, float[] vector, int offset, int subDim) {
+        int best = 0;
+        float bestDistance = Float.MAX_VALUE;
+        for (int c = 0; c < CENTROIDS; c++) {
+            float distance = KERNEL.squaredDistance(vector, offset, centroids, base + c * subDim, subDim);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = c;
+            }
+        }
+        return best;
+    }
+}
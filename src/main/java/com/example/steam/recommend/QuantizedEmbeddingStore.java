@@ -0,0 +1,89 @@
+package com.example.steam.recommend;
+
+import java.util.Arrays;
+
+/**
+ * 벡터마다 스케일 하나를 두는 int8 양자화 임베딩 저장소.
+ * 차원당 1바이트 + 벡터당 float 스케일만 쓰므로 float32 대비 약 1/4 크기다.
+ * 검색은 비대칭 거리 계산(질의는 float 그대로, 저장 벡터만 int8)으로 한다.
+ */
+public class QuantizedEmbeddingStore {
+
+    private static final VectorKernel KERNEL = VectorKernel.get();
+
+    private final int dim;
+    private int[] ids;
+    private byte[] codes;
+    private float[] scales;
+    private int size;
+
+    public QuantizedEmbeddingStore(int dim, int initialCapacity) {
+        this.dim = dim;
+        int capacity = Math.max(initialCapacity, 16);
+        this.ids = new int[capacity];
+        this.codes = new byte[capacity * dim];
+        this.scales = new float[capacity];
+    }
+
+    public int dim() {
+        return dim;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int id(int row) {
+        return ids[row];
+    }
+
+    // 벡터 하나를 양자화해 추가하고 행 번호를 반환
+    public int add(int id, float[] vector) {
+        if (size == ids.length) {
+            int capacity = ids.length * 2;
+            ids = Arrays.copyOf(ids, capacity);
+            codes = Arrays.copyOf(codes, capacity * dim);
+            scales = Arrays.copyOf(scales, capacity);
+        }
+        float maxAbs = 0f;
+        for (int i = 0; i < dim; i++) {
+            maxAbs = Math.max(maxAbs, Math.abs(vector[i]));
+        }
+        float scale = maxAbs > 0 ? maxAbs / 127f : 1f;
+        float inv = 1f / scale;
+        int base = size * dim;
+        for (int i = 0; i < dim; i++) {
+            codes[base + i] = (byte) Math.round(vector[i] * inv);
+        }
+        ids[size] = id;
+        scales[size] = scale;
+        return size++;
+    }
+
+    // 질의(float)와 저장 벡터(int8)의 내적
+    public float dot(float[] query, int row) {
+        return KERNEL.dot(query, codes, row * dim, dim) * scales[row];
+    }
+
+    // 복원한 float 벡터 (디버깅, 재학습용)
+    public float[] decode(int row) {
+        float[] vector = new float[dim];
+        int base = row * dim;
+        for (int i = 0; i < dim; i++) {
+            vector[i] = codes[base + i] * scales[row];
+        }
+        return vector;
+    }
+
+    // 전수 비교로 내적 상위 k 개의 id 를 찾는다
+    public void search(float[] query, TopK top) {
+        for (int row = 0; row < size; row++) {
+            top.offer(ids[row], dot(query, row));
+        }
+    }
+
+    // 코드, 스케일, id 가 차지하는 바이트 수
+    public long bytes() {
+        return (long) size * dim + 4L * size + 4L * size;
+    }
+}
@@ -0,0 +1,328 @@
+package com.example.steam.recommend;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Pixie 방식의 랜덤 워크 추천기.
+ * 사용자의 게임에서 출발해 게임 -> 그 게임을 가진 사용자 -> 그 사용자의 게임 으로 이동하며
+ * 게임 노드 방문 횟수를 센다. 전체 스텝 예산을 워커 수로 나눠 코어별로 병렬 실행하고,
+ * 요청당 시간 제한을 넘기면 그때까지 모인 방문 횟수로 결과를 만든다.
+ *
+ * 방문할 때마다 현재 워크의 출발 게임을 게임별 Misra-Gries 요약(슬롯 몇 개짜리 다수결)에 세어 두므로
+ * 추천 이유(가장 많이 도달시킨 보유 게임)를 별도 계산 없이 함께 돌려준다.
+ */
+public class RandomWalkRecommender implements Recommender, AutoCloseable {
+
+    private static final int DEADLINE_CHECK_MASK = 1023;
+    // 마감 시각에 멈춘 워커가 부분 결과를 돌려줄 수 있도록 기다려 주는 여유 시간
+    private static final long COLLECT_GRACE_NANOS = TimeUnit.MILLISECONDS.toNanos(2);
+    // 게임별로 추적하는 출발 게임 후보 수 (Misra-Gries 슬롯)
+    private static final int SOURCE_SLOTS = 4;
+
+    private final int stepBudget;
+    private final float restartProbability;
+    private final int parallelism;
+    private final long timeoutNanos;
+    private final ExecutorService executor;
+    private final ThreadLocal<VisitCounter> counters = new ThreadLocal<>();
+    private final AtomicInteger requestSeq = new AtomicInteger();
+
+    private volatile BipartiteCsrGraph graph;
+
+    public RandomWalkRecommender(int stepBudget, float restartProbability, int parallelism, long timeoutMillis) {
+        this.stepBudget = stepBudget;
+        this.restartProbability = restartProbability;
+        this.parallelism = Math.max(1, parallelism);
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.parallelism, r -> {
+            Thread thread = new Thread(r, "random-walk-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public String name() {
+        return "randomWalk";
+    }
+
+    public void setGraph(BipartiteCsrGraph graph) {
+        this.graph = graph;
+    }
+
+    public BipartiteCsrGraph getGraph() {
+        return graph;
+    }
+
+    @Override
+    public List<ScoredGame> recommend(UserLibrary library, int limit) {
+        BipartiteCsrGraph g = this.graph;
+        if (g == null || library.size() == 0) {
+            return new ArrayList<>();
+        }
+
+        // 그래프에 존재하는 보유 게임만 출발점으로, 플레이 시간 가중치의 누적합으로 샘플링
+        int[] seeds = new int[library.size()];
+        float[] cumulative = new float[library.size()];
+        int seedCount = 0;
+        float total = 0f;
+        for (int i = 0; i < library.size(); i++) {
+            int game = g.gameIndex(library.appids()[i]);
+            if (game >= 0 && g.gameDegree(game) > 0) {
+                total += library.weight(i);
+                seeds[seedCount] = game;
+                cumulative[seedCount++] = total;
+            }
+        }
+        if (seedCount == 0) {
+            return new ArrayList<>();
+        }
+
+        long deadline = System.nanoTime() + timeoutNanos;
+        int stepsPerWalker = Math.max(1, stepBudget / parallelism);
+        long baseSeed = ((long) library.steamId().hashCode() << 32) ^ requestSeq.incrementAndGet();
+        List<Future<WalkResult>> futures = new ArrayList<>(parallelism);
+        for (int w = 0; w < parallelism; w++) {
+            Walk walk = new Walk(g, seeds, cumulative, seedCount, stepsPerWalker, deadline, baseSeed + w);
+            futures.add(executor.submit(walk::run));
+        }
+
+        // 워커별 방문 횟수 합산 (게임 인덱스 기준 밀집 배열, 요청 스레드별로 재사용)
+        VisitCounter merged = counter(g.gameCount());
+        try {
+            for (Future<WalkResult> future : futures) {
+                long remaining = deadline + COLLECT_GRACE_NANOS - System.nanoTime();
+                try {
+                    WalkResult result = future.get(Math.max(remaining, 0L), TimeUnit.NANOSECONDS);
+                    for (int i = 0; i < result.games.length; i++) {
+                        merged.add(result.games[i], result.counts[i]);
+                        for (int j = 0; j < SOURCE_SLOTS; j++) {
+                            int slot = i * SOURCE_SLOTS + j;
+                            merged.vote(result.games[i], result.sources[slot], result.votes[slot]);
+                        }
+                    }
+                } catch (Exception e) {
+                    // 시간 초과 또는 실패한 워커는 버리고 나머지 결과만 사용
+                    future.cancel(true);
+                }
+            }
+
+            // 게임 인덱스로 상위 후보를 고른 뒤, 살아남은 후보만 가장 표가 많은 출발 게임을 이유로 붙인다
+            TopK top = new TopK(limit);
+            for (int i = 0; i < merged.touchedCount; i++) {
+                int game = merged.touched[i];
+                int visits = merged.counts[game];
+                if (visits < 2 || library.owns(g.appid(game))) {
+                    continue;
+                }
+                top.offer(game, (float) visits / stepBudget);
+            }
+            int[] games = new int[top.size()];
+            float[] scores = new float[top.size()];
+            int n = top.drainDescending(games, scores);
+            List<ScoredGame> result = new ArrayList<>(n);
+            for (int i = 0; i < n; i++) {
+                int game = games[i];
+                int best = merged.bestSlot(game);
+                // 남은 표 수 / 방문 수: 출발 게임이 차지한 비율의 하한 근사
+                float share = merged.votes[best] / (float) merged.counts[game];
+                result.add(new ScoredGame(g.appid(game), scores[i],
+                        merged.votes[best] > 0 ? g.appid(merged.sources[best]) : 0, share));
+            }
+            return result;
+        } finally {
+            merged.reset();
+        }
+    }
+
+    private VisitCounter counter(int gameCount) {
+        VisitCounter counter = counters.get();
+        if (counter == null || counter.counts.length < gameCount) {
+            counter = new VisitCounter(gameCount);
+            counters.set(counter);
+        }
+        return counter;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private final class Walk {
+        private final BipartiteCsrGraph g;
+        private final int[] seeds;
+        private final float[] cumulative;
+        private final int seedCount;
+        private final int steps;
+        private final long deadline;
+        private final SplittableRandom random;
+
+        Walk(BipartiteCsrGraph g, int[] seeds, float[] cumulative, int seedCount, int steps, long deadline, long seed) {
+            this.g = g;
+            this.seeds = seeds;
+            this.cumulative = cumulative;
+            this.seedCount = seedCount;
+            this.steps = steps;
+            this.deadline = deadline;
+            this.random = new SplittableRandom(seed);
+        }
+
+        WalkResult run() {
+            VisitCounter visits = counter(g.gameCount());
+            try {
+                int source = pickSeed();
+                int game = source;
+                for (int step = 0; step < steps; step++) {
+                    if ((step & DEADLINE_CHECK_MASK) == 0
+                            && (System.nanoTime() > deadline || Thread.currentThread().isInterrupted())) {
+                        break;
+                    }
+                    if (random.nextFloat() < restartProbability) {
+                        source = pickSeed();
+                        game = source;
+                    }
+                    int user = g.gameNeighbor(game, random.nextInt(g.gameDegree(game)));
+                    int userDegree = g.userDegree(user);
+                    if (userDegree == 0) {
+                        source = pickSeed();
+                        game = source;
+                        continue;
+                    }
+                    game = g.userNeighbor(user, random.nextInt(userDegree));
+                    visits.add(game, 1);
+                    visits.vote(game, source, 1);
+                }
+                return visits.toResult();
+            } finally {
+                visits.reset();
+            }
+        }
+
+        private int pickSeed() {
+            float r = random.nextFloat() * cumulative[seedCount - 1];
+            int lo = 0;
+            int hi = seedCount - 1;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (cumulative[mid] < r) {
+                    lo = mid + 1;
+                } else {
+                    hi = mid;
+                }
+            }
+            return seeds[lo];
+        }
+    }
+
+    /**
+     * 게임 인덱스별 방문 횟수와 출발 게임 Misra-Gries 요약(SOURCE_SLOTS 개의 후보와 남은 표).
+     * 방문한 인덱스만 기록해 두었다가 그것만 0 으로 되돌린다.
+     * 요약은 워커끼리 합쳐도 같은 규칙(있으면 더하고, 자리가 없으면 모든 슬롯에서 상쇄)으로 합산된다.
+     */
+    private static final class VisitCounter {
+        final int[] counts;
+        final int[] sources;  // [game * SOURCE_SLOTS + slot]
+        final int[] votes;
+        int[] touched;
+        int touchedCount;
+
+        VisitCounter(int size) {
+            this.counts = new int[size];
+            this.sources = new int[size * SOURCE_SLOTS];
+            this.votes = new int[size * SOURCE_SLOTS];
+            this.touched = new int[Math.min(size, 1024)];
+        }
+
+        void add(int game, int count) {
+            if (counts[game] == 0) {
+                if (touchedCount == touched.length) {
+                    touched = Arrays.copyOf(touched, Math.min(counts.length, touched.length * 2));
+                }
+                touched[touchedCount++] = game;
+            }
+            counts[game] += count;
+        }
+
+        void vote(int game, int source, int weight) {
+            if (weight <= 0) {
+                return;
+            }
+            int base = game * SOURCE_SLOTS;
+            int empty = -1;
+            int min = Integer.MAX_VALUE;
+            for (int j = base; j < base + SOURCE_SLOTS; j++) {
+                if (votes[j] > 0 && sources[j] == source) {
+                    votes[j] += weight;
+                    return;
+                }
+                if (votes[j] == 0) {
+                    empty = j;
+                }
+                min = Math.min(min, votes[j]);
+            }
+            if (empty < 0) {
+                // 빈 슬롯이 없으면 모든 후보와 새 표를 같은 만큼 상쇄
+                int d = Math.min(min, weight);
+                for (int j = base; j < base + SOURCE_SLOTS; j++) {
+                    votes[j] -= d;
+                    if (votes[j] == 0 && empty < 0) {
+                        empty = j;
+                    }
+                }
+                weight -= d;
+            }
+            if (weight > 0) {
+                sources[empty] = source;
+                votes[empty] = weight;
+            }
+        }
+
+        // 표가 가장 많은 슬롯 위치
+        int bestSlot(int game) {
+            int base = game * SOURCE_SLOTS;
+            int best = base;
+            for (int j = base + 1; j < base + SOURCE_SLOTS; j++) {
+                if (votes[j] > votes[best]) {
+                    best = j;
+                }
+            }
+            return best;
+        }
+
+        WalkResult toResult() {
+            int[] games = new int[touchedCount];
+            int[] values = new int[touchedCount];
+            int[] gameSources = new int[touchedCount * SOURCE_SLOTS];
+            int[] gameVotes = new int[touchedCount * SOURCE_SLOTS];
+            for (int i = 0; i < touchedCount; i++) {
+                int game = touched[i];
+                games[i] = game;
+                values[i] = counts[game];
+                System.arraycopy(sources, game * SOURCE_SLOTS, gameSources, i * SOURCE_SLOTS, SOURCE_SLOTS);
+                System.arraycopy(votes, game * SOURCE_SLOTS, gameVotes, i * SOURCE_SLOTS, SOURCE_SLOTS);
+            }
+            return new WalkResult(games, values, gameSources, gameVotes);
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                counts[touched[i]] = 0;
+                Arrays.fill(votes, touched[i] * SOURCE_SLOTS, (touched[i] + 1) * SOURCE_SLOTS, 0);
+            }
+            touchedCount = 0;
+        }
+    }
+
+    private record WalkResult(int[] games, int[] counts, int[] sources, int[] votes) {
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.steam.recommend;
+
+import java.util.List;
+
+/**
+ * 추천 후보 생성기 공통 인터페이스.
+ * 구현체는 Spring 에 의존하지 않아 오프라인 평가에서도 그대로 사용할 수 있다.
+ */
+public interface Recommender {
+
+    String name();
+
+    // 사용자가 이미 소유한 게임은 제외하고 점수 내림차순으로 최대 limit 개 반환
+    List<ScoredGame> recommend(UserLibrary library, int limit);
+}
@@ -0,0 +1,38 @@
+package com.example.steam.recommend;
+
+// 스칼라 커널 (Vector API 가 없는 JVM 용, SIMD 구현의 꼬리 처리 기준)
+public final class ScalarVectorKernel implements VectorKernel {
+
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(float[] query, byte[] codes, int codesOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            sum += query[i] * codes[codesOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float squaredDistance(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        float sum = 0f;
+        for (int i = 0; i < length; i++) {
+            float diff = a[aOffset + i] - b[bOffset + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.steam.recommend;
+
+/**
+ * 추천 후보 게임과 점수.
+ * becauseAppid 는 점수에 가장 많이 기여한 보유 게임 (없으면 0), becauseWeight 는 그 기여 비율(0~1)이다.
+ */
+public record ScoredGame(int appid, float score, int becauseAppid, float becauseWeight) {
+
+    public ScoredGame(int appid, float score) {
+        this(appid, score, 0, 0f);
+    }
+}
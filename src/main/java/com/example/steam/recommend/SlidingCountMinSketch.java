@@ -0,0 +1,98 @@
+package com.example.steam.recommend;
+
+import java.util.Arrays;
+
+/**
+ * 시간 창을 버킷 링으로 나눈 count-min sketch.
+ * 버킷마다 depth x width 카운터를 두고, 창 전체 합계 표를 따로 유지해 추정은 O(depth) 로 끝난다.
+ * 버킷이 창 밖으로 밀려나면 합계 표에서 그 버킷만 빼고 비운다. 메모리는 key 종류 수와 무관하게 고정이다.
+ */
+public class SlidingCountMinSketch {
+
+    private static final long[] ROW_SEEDS = {
+            0x9E3779B97F4A7C15L, 0xC2B2AE3D27D4EB4FL, 0x165667B19E3779F9L, 0xD6E8FEB86659FD93L,
+            0xFF51AFD7ED558CCDL, 0xC4CEB9FE1A85EC53L, 0x27D4EB2F165667C5L, 0x94D049BB133111EBL};
+
+    private final int depth;
+    private final int width;
+    private final int buckets;
+    private final long bucketMillis;
+    private final long[][] counts;  // [버킷][row * width + column]
+    private final long[] window;    // 창 안 버킷 합계
+    private long currentEpoch = Long.MIN_VALUE;
+
+    public SlidingCountMinSketch(int depth, int width, int buckets, long bucketMillis) {
+        if (depth < 1 || depth > ROW_SEEDS.length) {
+            throw new IllegalArgumentException("depth must be between 1 and " + ROW_SEEDS.length);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.buckets = buckets;
+        this.bucketMillis = bucketMillis;
+        this.counts = new long[buckets][depth * width];
+        this.window = new long[depth * width];
+    }
+
+    public synchronized void add(int key, long weight, long nowMillis) {
+        advance(nowMillis);
+        long[] bucket = counts[slot(currentEpoch)];
+        for (int row = 0; row < depth; row++) {
+            int cell = row * width + column(key, row);
+            bucket[cell] += weight;
+            window[cell] += weight;
+        }
+    }
+
+    // 창 안 누적값 추정 (과대 추정만 가능)
+    public synchronized long estimate(int key, long nowMillis) {
+        advance(nowMillis);
+        long min = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            min = Math.min(min, window[row * width + column(key, row)]);
+        }
+        return min;
+    }
+
+    /**
+     * 현재 시각까지 버킷을 밀어낸다. 새 버킷으로 넘어갔으면 true.
+     */
+    public synchronized boolean advance(long nowMillis) {
+        long epoch = nowMillis / bucketMillis;
+        if (epoch <= currentEpoch) {
+            return false;
+        }
+        if (currentEpoch == Long.MIN_VALUE || epoch - currentEpoch >= buckets) {
+            // 창 전체가 지나갔으면 한 번에 비운다
+            for (long[] bucket : counts) {
+                Arrays.fill(bucket, 0L);
+            }
+            Arrays.fill(window, 0L);
+        } else {
+            for (long e = currentEpoch + 1; e <= epoch; e++) {
+                long[] expired = counts[slot(e)];
+                for (int i = 0; i < expired.length; i++) {
+                    window[i] -= expired[i];
+                    expired[i] = 0;
+                }
+            }
+        }
+        currentEpoch = epoch;
+        return true;
+    }
+
+    public long windowMillis() {
+        return buckets * bucketMillis;
+    }
+
+    private int slot(long epoch) {
+        return (int) Math.floorMod(epoch, (long) buckets);
+    }
+
+    private int column(int key, int row) {
+        long h = (key + 1L) * ROW_SEEDS[row];
+        h ^= h >>> 31;
+        h *= 0xBF58476D1CE4E5B9L;
+        h ^= h >>> 29;
+        return (int) Math.floorMod(h, (long) width);
+    }
+}
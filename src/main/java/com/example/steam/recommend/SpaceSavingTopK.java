@@ -0,0 +1,140 @@
+package com.example.steam.recommend;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntToLongFunction;
+
+/**
+ * Space-Saving 빈발 항목 추적기.
+ * 최대 capacity 개의 후보만 감시하고, 감시 중이 아닌 항목이 들어오면 가장 작은 후보를 밀어내고
+ * 그 카운트를 이어받는다 (오차 상한 = 밀려난 카운트). 후보 수가 고정이므로 메모리도 고정이다.
+ */
+public class SpaceSavingTopK {
+
+    private final int capacity;
+    private final int[] ids;
+    private final long[] counts;
+    private final long[] errors;
+    private final Map<Integer, Integer> positions;  // id -> 힙 위치
+    private int size;
+
+    public SpaceSavingTopK(int capacity) {
+        this.capacity = capacity;
+        this.ids = new int[capacity];
+        this.counts = new long[capacity];
+        this.errors = new long[capacity];
+        this.positions = new HashMap<>(capacity * 2);
+    }
+
+    public void offer(int id, long weight) {
+        Integer pos = positions.get(id);
+        if (pos != null) {
+            counts[pos] += weight;
+            siftDown(pos);
+            return;
+        }
+        if (size < capacity) {
+            ids[size] = id;
+            counts[size] = weight;
+            errors[size] = 0;
+            positions.put(id, size);
+            siftUp(size++);
+            return;
+        }
+        // 가장 작은 후보를 교체
+        positions.remove(ids[0]);
+        errors[0] = counts[0];
+        counts[0] += weight;
+        ids[0] = id;
+        positions.put(id, 0);
+        siftDown(0);
+    }
+
+    /**
+     * 후보 카운트를 외부 추정값(예: 시간 창 sketch)으로 다시 매긴다.
+     * 추정값이 0 이 된 후보는 버린다.
+     */
+    public void rescore(IntToLongFunction estimate) {
+        int n = 0;
+        positions.clear();
+        for (int i = 0; i < size; i++) {
+            long count = estimate.applyAsLong(ids[i]);
+            if (count > 0) {
+                ids[n] = ids[i];
+                counts[n] = count;
+                errors[n] = 0;
+                n++;
+            }
+        }
+        size = n;
+        for (int i = 0; i < size; i++) {
+            positions.put(ids[i], i);
+        }
+        for (int i = size / 2 - 1; i >= 0; i--) {
+            siftDown(i);
+        }
+    }
+
+    // 카운트 상위 k 개 (카운트 내림차순)
+    public List<ScoredGame> top(int k) {
+        TopK top = new TopK(k);
+        for (int i = 0; i < size; i++) {
+            top.offer(ids[i], counts[i]);
+        }
+        return top.toScoredGames();
+    }
+
+    public int[] candidates() {
+        return Arrays.copyOf(ids, size);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (counts[parent] <= counts[i]) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && counts[right] < counts[left]) {
+                smallest = right;
+            }
+            if (counts[i] <= counts[smallest]) {
+                break;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        long count = counts[a];
+        counts[a] = counts[b];
+        counts[b] = count;
+        long error = errors[a];
+        errors[a] = errors[b];
+        errors[b] = error;
+        positions.put(ids[a], a);
+        positions.put(ids[b], b);
+    }
+}
@@ -0,0 +1,15 @@
+package com.example.steam.recommend;
+
+/**
+ * 샤드 사이에 주고받는 사용자 프로필의 태그 한 개.
+ * weight 는 보유 게임 기여의 합(정규화 전), source 는 그 태그에 가장 크게 기여한 보유 게임이다.
+ */
+public record TagProfileEntry(float weight, int sourceAppid, float sourceValue) {
+
+    // 두 샤드의 부분 프로필 합치기: 가중치는 더하고 대표 게임은 기여가 큰 쪽
+    public TagProfileEntry merge(TagProfileEntry other) {
+        return sourceValue >= other.sourceValue
+                ? new TagProfileEntry(weight + other.weight, sourceAppid, sourceValue)
+                : new TagProfileEntry(weight + other.weight, other.sourceAppid, other.sourceValue);
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.steam.recommend;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+/**
+ * 게임별 태그(장르/카테고리) 희소 벡터와 태그별 포스팅 리스트.
+ * 태그 가중치는 IDF 로 계산하고 게임 벡터는 L2 정규화한다.
+ * 포스팅 리스트는 (게임 인덱스, 가중치) 쌍을 태그 단위로 연속 배열에 담아 둔다.
+ */
+public final class TagVectorIndex {
+
+    private final String[] tagNames;
+    private final Map<String, Integer> tagIds;
+    private final int[] appids;          // 게임 인덱스 -> appid (오름차순)
+
+    // 게임 g 의 희소 벡터: gameTags/gameWeights[gameOffsets[g] .. gameOffsets[g + 1])
+    private final int[] gameOffsets;
+    private final int[] gameTags;
+    private final float[] gameWeights;
+
+    // 태그 t 의 포스팅: postingGames/postingWeights[postingOffsets[t] .. postingOffsets[t + 1])
+    private final int[] postingOffsets;
+    private final int[] postingGames;
+    private final float[] postingWeights;
+
+    private TagVectorIndex(String[] tagNames, Map<String, Integer> tagIds, int[] appids,
+                           int[] gameOffsets, int[] gameTags, float[] gameWeights,
+                           int[] postingOffsets, int[] postingGames, float[] postingWeights) {
+        this.tagNames = tagNames;
+        this.tagIds = tagIds;
+        this.appids = appids;
+        this.gameOffsets = gameOffsets;
+        this.gameTags = gameTags;
+        this.gameWeights = gameWeights;
+        this.postingOffsets = postingOffsets;
+        this.postingGames = postingGames;
+        this.postingWeights = postingWeights;
+    }
+
+    /**
+     * @param tagsByAppid appid -> 태그 목록 (예: "genre:Action", "category:Multi-player")
+     */
+    public static TagVectorIndex build(Map<Integer, List<String>> tagsByAppid) {
+        return build(tagsByAppid, appid -> true);
+    }
+
+    /**
+     * 샤드용 부분 색인. IDF 는 전체 카탈로그 기준으로 계산해 샤드끼리 점수 척도가 같고,
+     * 게임 벡터와 포스팅 리스트는 keep 을 만족하는 appid 만 담는다.
+     */
+    public static TagVectorIndex build(Map<Integer, List<String>> tagsByAppid, IntPredicate keep) {
+        int[] allAppids = tagsByAppid.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+        int[] appids = Arrays.stream(allAppids).filter(keep).toArray();
+
+        // 태그 사전과 문서 빈도 (전체 카탈로그)
+        Map<String, Integer> tagIds = new HashMap<>();
+        int[] documentFrequency = new int[16];
+        int entryCount = 0;
+        for (int appid : allAppids) {
+            boolean kept = keep.test(appid);
+            for (String tag : distinct(tagsByAppid.get(appid))) {
+                Integer id = tagIds.get(tag);
+                if (id == null) {
+                    id = tagIds.size();
+                    tagIds.put(tag, id);
+                    if (id == documentFrequency.length) {
+                        documentFrequency = Arrays.copyOf(documentFrequency, id * 2);
+                    }
+                }
+                documentFrequency[id]++;
+                if (kept) {
+                    entryCount++;
+                }
+            }
+        }
+        String[] tagNames = new String[tagIds.size()];
+        tagIds.forEach((name, id) -> tagNames[id] = name);
+
+        float[] idf = new float[tagNames.length];
+        for (int t = 0; t < idf.length; t++) {
+            idf[t] = (float) Math.log(1.0 + (double) allAppids.length / documentFrequency[t]);
+        }
+
+        // 게임 벡터 (IDF 가중치, L2 정규화)
+        int[] gameOffsets = new int[appids.length + 1];
+        int[] gameTags = new int[entryCount];
+        float[] gameWeights = new float[entryCount];
+        int[] postingCounts = new int[tagNames.length + 1];
+        int pos = 0;
+        for (int g = 0; g < appids.length; g++) {
+            gameOffsets[g] = pos;
+            int start = pos;
+            double norm = 0;
+            for (String tag : distinct(tagsByAppid.get(appids[g]))) {
+                int t = tagIds.get(tag);
+                gameTags[pos] = t;
+                gameWeights[pos] = idf[t];
+                norm += (double) idf[t] * idf[t];
+                postingCounts[t + 1]++;
+                pos++;
+            }
+            float inv = norm > 0 ? (float) (1.0 / Math.sqrt(norm)) : 0f;
+            for (int i = start; i < pos; i++) {
+                gameWeights[i] *= inv;
+            }
+        }
+        gameOffsets[appids.length] = pos;
+
+        // 태그별 포스팅 리스트
+        int[] postingOffsets = new int[tagNames.length + 1];
+        for (int t = 0; t < tagNames.length; t++) {
+            postingOffsets[t + 1] = postingOffsets[t] + postingCounts[t + 1];
+        }
+        int[] cursor = Arrays.copyOf(postingOffsets, tagNames.length);
+        int[] postingGames = new int[entryCount];
+        float[] postingWeights = new float[entryCount];
+        for (int g = 0; g < appids.length; g++) {
+            for (int i = gameOffsets[g]; i < gameOffsets[g + 1]; i++) {
+                int slot = cursor[gameTags[i]]++;
+                postingGames[slot] = g;
+                postingWeights[slot] = gameWeights[i];
+            }
+        }
+        return new TagVectorIndex(tagNames, tagIds, appids, gameOffsets, gameTags, gameWeights,
+                postingOffsets, postingGames, postingWeights);
+    }
+
+    private static List<String> distinct(List<String> tags) {
+        return tags == null ? List.of() : tags.stream().distinct().toList();
+    }
+
+    public int gameCount() {
+        return appids.length;
+    }
+
+    public int tagCount() {
+        return tagNames.length;
+    }
+
+    public int appid(int game) {
+        return appids[game];
+    }
+
+    public int gameIndex(int appid) {
+        int g = Arrays.binarySearch(appids, appid);
+        return g >= 0 ? g : -1;
+    }
+
+    public String tagName(int tag) {
+        return tagNames[tag];
+    }
+
+    public int tagId(String name) {
+        Integer id = tagIds.get(name);
+        return id == null ? -1 : id;
+    }
+
+    public int vectorStart(int game) {
+        return gameOffsets[game];
+    }
+
+    public int vectorEnd(int game) {
+        return gameOffsets[game + 1];
+    }
+
+    public int vectorTag(int entry) {
+        return gameTags[entry];
+    }
+
+    public float vectorWeight(int entry) {
+        return gameWeights[entry];
+    }
+
+    // 게임 벡터를 밀집 배열 out[offset .. offset + tagCount()) 에 펼친다 (out 은 0 으로 비어 있어야 한다)
+    public void denseVector(int game, float[] out, int offset) {
+        for (int i = gameOffsets[game]; i < gameOffsets[game + 1]; i++) {
+            out[offset + gameTags[i]] = gameWeights[i];
+        }
+    }
+
+    public int postingStart(int tag) {
+        return postingOffsets[tag];
+    }
+
+    public int postingEnd(int tag) {
+        return postingOffsets[tag + 1];
+    }
+
+    public int postingGame(int entry) {
+        return postingGames[entry];
+    }
+
+    public float postingWeight(int entry) {
+        return postingWeights[entry];
+    }
+}
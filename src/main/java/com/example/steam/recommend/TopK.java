@@ -0,0 +1,119 @@
+package com.example.steam.recommend;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 크기가 k 로 제한된 최소 힙. 후보를 하나씩 넣으면 점수 상위 k 개만 남는다.
+ * 박싱 없이 int/float 배열만 사용하므로 후보 수와 무관하게 O(k) 메모리로 동작한다.
+ */
+public final class TopK {
+
+    private final int[] ids;
+    private final float[] scores;
+    private int size;
+
+    public TopK(int k) {
+        this.ids = new int[Math.max(k, 1)];
+        this.scores = new float[Math.max(k, 1)];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // 현재 힙에 들어가기 위한 최소 점수 (가득 차지 않았으면 -무한대)
+    public float threshold() {
+        return size < ids.length ? Float.NEGATIVE_INFINITY : scores[0];
+    }
+
+    public boolean offer(int id, float score) {
+        if (size < ids.length) {
+            ids[size] = id;
+            scores[size] = score;
+            siftUp(size++);
+            return true;
+        }
+        if (score <= scores[0]) {
+            return false;
+        }
+        ids[0] = id;
+        scores[0] = score;
+        siftDown(0);
+        return true;
+    }
+
+    /**
+     * 점수 내림차순으로 꺼낸다. 힙은 비워진다.
+     * outIds/outScores 는 size() 이상의 길이여야 한다.
+     */
+    public int drainDescending(int[] outIds, float[] outScores) {
+        int n = size;
+        for (int i = n - 1; i >= 0; i--) {
+            outIds[i] = ids[0];
+            outScores[i] = scores[0];
+            size--;
+            if (size > 0) {
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+        }
+        return n;
+    }
+
+    // id 를 appid 로 보고 ScoredGame 목록으로 꺼낸다
+    public List<ScoredGame> toScoredGames() {
+        int[] outIds = new int[size];
+        float[] outScores = new float[size];
+        int n = drainDescending(outIds, outScores);
+        List<ScoredGame> result = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            result.add(new ScoredGame(outIds[i], outScores[i]));
+        }
+        return result;
+    }
+
+    private void siftUp(int i) {
+        while (i > 0) {
+            int parent = (i - 1) >>> 1;
+            if (scores[parent] <= scores[i]) {
+                break;
+            }
+            swap(i, parent);
+            i = parent;
+        }
+    }
+
+    private void siftDown(int i) {
+        while (true) {
+            int left = 2 * i + 1;
+            if (left >= size) {
+                break;
+            }
+            int smallest = left;
+            int right = left + 1;
+            if (right < size && scores[right] < scores[left]) {
+                smallest = right;
+            }
+            if (scores[i] <= scores[smallest]) {
+                break;
+            }
+            swap(i, smallest);
+            i = smallest;
+        }
+    }
+
+    private void swap(int a, int b) {
+        int id = ids[a];
+        ids[a] = ids[b];
+        ids[b] = id;
+        float score = scores[a];
+        scores[a] = scores[b];
+        scores[b] = score;
+    }
+}
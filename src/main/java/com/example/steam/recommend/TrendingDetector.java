@@ -0,0 +1,45 @@
+package com.example.steam.recommend;
+
+import java.util.List;
+
+/**
+ * 시간 창 count-min sketch + Space-Saving 후보로 만든 "지금 뜨는 게임" 탐지기.
+ * sketch 는 창 안 누적값을, Space-Saving 은 상위 후보 appid 를 고정 메모리로 유지한다.
+ * 버킷이 넘어갈 때마다 후보 카운트를 창 기준 추정값으로 다시 매겨 창 밖으로 밀려난 게임이 빠지게 한다.
+ */
+public class TrendingDetector {
+
+    private final SlidingCountMinSketch sketch;
+    private final SpaceSavingTopK candidates;
+
+    public TrendingDetector(int depth, int width, int buckets, long bucketMillis, int candidateCapacity) {
+        this.sketch = new SlidingCountMinSketch(depth, width, buckets, bucketMillis);
+        this.candidates = new SpaceSavingTopK(candidateCapacity);
+    }
+
+    public synchronized void add(int appid, long weight, long nowMillis) {
+        if (weight <= 0) {
+            return;
+        }
+        if (sketch.advance(nowMillis)) {
+            candidates.rescore(key -> sketch.estimate(key, nowMillis));
+        }
+        sketch.add(appid, weight, nowMillis);
+        candidates.offer(appid, weight);
+    }
+
+    // 창 안 추정값 상위 k 개
+    public synchronized List<ScoredGame> top(int k, long nowMillis) {
+        sketch.advance(nowMillis);
+        candidates.rescore(key -> sketch.estimate(key, nowMillis));
+        return candidates.top(k);
+    }
+
+    public synchronized int[] candidates() {
+        return candidates.candidates();
+    }
+
+    public synchronized long estimate(int appid, long nowMillis) {
+        return sketch.estimate(appid, nowMillis);
+    }
+}
@@ -0,0 +1,36 @@
+package com.example.steam.recommend;
+
+import java.util.Arrays;
+
+/**
+ * 추천 계산용으로 압축한 사용자 라이브러리.
+ * appids 는 오름차순 정렬되어 있고 playtimes 는 같은 위치의 누적 플레이 시간(분)이다.
+ */
+public record UserLibrary(String steamId, int[] appids, int[] playtimes) {
+
+    public int size() {
+        return appids.length;
+    }
+
+    public boolean owns(int appid) {
+        return Arrays.binarySearch(appids, appid) >= 0;
+    }
+
+    // 플레이 시간이 0 인 게임도 최소 가중치 1 을 갖도록 로그 스케일 적용
+    public float weight(int i) {
+        return 1f + (float) Math.log1p(playtimes[i] / 60.0);
+    }
+
+    /**
+     * appid 와 플레이 시간으로 만든 라이브러리 해시.
+     * 해시가 같으면 라이브러리 스냅샷이 바뀌지 않은 것으로 본다.
+     */
+    public long libraryHash() {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < appids.length; i++) {
+            h = (h ^ appids[i]) * 0x100000001b3L;
+            h = (h ^ playtimes[i]) * 0x100000001b3L;
+        }
+        return h;
+    }
+}
@@ -0,0 +1,45 @@
+package com.example.steam.recommend;
+
+/**
+ * 임베딩 점수 계산용 내적 커널.
+ * 구현은 시작 시 한 번 고른다: jdk.incubator.vector 모듈이 로드되어 있으면 SIMD, 아니면 스칼라.
+ * (-Drecommend.vector.kernel=scalar 로 강제로 스칼라를 쓸 수 있다)
+ */
+public interface VectorKernel {
+
+    String name();
+
+    // a[aOffset..aOffset+length) · b[bOffset..bOffset+length)
+    float dot(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    // float 질의 · int8 코드 (스케일은 호출하는 쪽에서 곱한다)
+    float dot(float[] query, byte[] codes, int codesOffset, int length);
+
+    // 제곱 유클리드 거리
+    float squaredDistance(float[] a, int aOffset, float[] b, int bOffset, int length);
+
+    static VectorKernel get() {
+        return Holder.INSTANCE;
+    }
+
+    final class Holder {
+        static final VectorKernel INSTANCE = select();
+
+        private Holder() {
+        }
+
+        private static VectorKernel select() {
+            String requested = System.getProperty("recommend.vector.kernel", "auto");
+            if (!"scalar".equals(requested) && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+                try {
+                    // 모듈이 없는 JVM 에서 SIMD 클래스가 로드되지 않도록 이름으로만 참조한다
+                    return (VectorKernel) Class.forName("com.example.steam.recommend.SimdVectorKernel")
+                            .getDeclaredConstructor().newInstance();
+                } catch (ReflectiveOperationException | LinkageError e) {
+                    // 스칼라로 대체
+                }
+            }
+            return new ScalarVectorKernel();
+        }
+    }
+}
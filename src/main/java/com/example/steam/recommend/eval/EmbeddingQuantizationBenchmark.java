@@ -0,0 +1,216 @@
+package com.example.steam.recommend.eval;
+
+import com.example.steam.recommend.BipartiteCsrGraph;
+import com.example.steam.recommend.ProductQuantizer;
+import com.example.steam.recommend.QuantizedEmbeddingStore;
+import com.example.steam.recommend.TopK;
+import com.example.steam.recommend.VectorKernel;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * 임베딩 양자화 벤치마크.
+ * float32 전수 검색 결과를 정답으로 두고 int8, PQ, PQ 후보 + int8 재정렬의 메모리 크기, recall@K, 질의 지연을 비교한다.
+ *
+ * 벡터는 seed 로 만든 군집형 가우시안이 기본이고,
+ * dataset=라이브러리 CSV 를 주면 사용자-게임 그래프에서 랜덤 인덱싱으로 만든 게임 벡터를 쓴다.
+ *
+ * 실행: ./gradlew benchmarkEmbeddingQuantization [-Pvectors=200000] [-Pdim=64] [-Psubspaces=16]
+ */
+public class EmbeddingQuantizationBenchmark {
+
+    private static final VectorKernel KERNEL = VectorKernel.get();
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0 && eq < arg.length() - 1) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        int dim = Integer.parseInt(options.getOrDefault("dim", "64"));
+        int subspaces = Integer.parseInt(options.getOrDefault("subspaces", "16"));
+        int k = Integer.parseInt(options.getOrDefault("k", "10"));
+        int queryCount = Integer.parseInt(options.getOrDefault("queries", "200"));
+        int trainSize = Integer.parseInt(options.getOrDefault("train", "20000"));
+        int iterations = Integer.parseInt(options.getOrDefault("iterations", "10"));
+        int rerank = Integer.parseInt(options.getOrDefault("rerank", "10"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+
+        float[][] vectors;
+        if (options.containsKey("dataset")) {
+            LibraryDataset dataset = LibraryDataset.load(Path.of(options.get("dataset")));
+            vectors = randomIndexing(BipartiteCsrGraph.build(dataset.libraries()), dim, seed);
+            System.out.printf("vectors: %d game vectors from %s (random indexing, dim=%d)%n",
+                    vectors.length, options.get("dataset"), dim);
+        } else {
+            int count = Integer.parseInt(options.getOrDefault("vectors", "200000"));
+            vectors = clusteredGaussians(count, dim, Integer.parseInt(options.getOrDefault("clusters", "100")), seed);
+            System.out.printf("vectors: %d clustered gaussian vectors (dim=%d, seed=%d)%n", count, dim, seed);
+        }
+        int n = vectors.length;
+        System.out.printf("kernel: %s%n", KERNEL.name());
+        SplittableRandom random = new SplittableRandom(seed + 1);
+        float[][] queries = new float[queryCount][];
+        for (int q = 0; q < queryCount; q++) {
+            queries[q] = vectors[random.nextInt(n)].clone();
+        }
+
+        QuantizedEmbeddingStore int8 = new QuantizedEmbeddingStore(dim, n);
+        for (int i = 0; i < n; i++) {
+            int8.add(i, vectors[i]);
+        }
+        long trainStart = System.nanoTime();
+        float[][] samples = new float[Math.min(trainSize, n)][];
+        for (int i = 0; i < samples.length; i++) {
+            samples[i] = vectors[random.nextInt(n)];
+        }
+        ProductQuantizer pq = ProductQuantizer.train(samples, dim, subspaces, iterations, seed);
+        for (int i = 0; i < n; i++) {
+            pq.add(i, vectors[i]);
+        }
+        System.out.printf("pq: m=%d, codebook trained on %d samples in %d ms%n",
+                subspaces, samples.length, (System.nanoTime() - trainStart) / 1_000_000);
+
+        // float32 정답
+        int[][] truth = new int[queryCount][k];
+        long floatNanos = 0;
+        TopK top = new TopK(k);
+        int[] ids = new int[k];
+        float[] scores = new float[k];
+        for (int q = 0; q < queryCount; q++) {
+            long start = System.nanoTime();
+            top.clear();
+            for (int i = 0; i < n; i++) {
+                top.offer(i, dot(queries[q], vectors[i]));
+            }
+            top.drainDescending(truth[q], scores);
+            floatNanos += System.nanoTime() - start;
+        }
+
+        double int8Recall = 0;
+        long int8Nanos = 0;
+        double pqRecall = 0;
+        long pqNanos = 0;
+        double rerankRecall = 0;
+        long rerankNanos = 0;
+        TopK shortlist = new TopK(k * rerank);
+        int[] shortIds = new int[k * rerank];
+        float[] shortScores = new float[k * rerank];
+        for (int q = 0; q < queryCount; q++) {
+            long start = System.nanoTime();
+            top.clear();
+            int8.search(queries[q], top);
+            int found = top.drainDescending(ids, scores);
+            int8Nanos += System.nanoTime() - start;
+            int8Recall += recall(truth[q], ids, found);
+
+            start = System.nanoTime();
+            top.clear();
+            pq.search(queries[q], top);
+            found = top.drainDescending(ids, scores);
+            pqNanos += System.nanoTime() - start;
+            pqRecall += recall(truth[q], ids, found);
+
+            // PQ 로 k * rerank 개 후보를 고른 뒤 int8 내적으로 다시 정렬
+            start = System.nanoTime();
+            shortlist.clear();
+            pq.search(queries[q], shortlist);
+            int candidates = shortlist.drainDescending(shortIds, shortScores);
+            top.clear();
+            for (int c = 0; c < candidates; c++) {
+                top.offer(shortIds[c], int8.dot(queries[q], shortIds[c]));
+            }
+            found = top.drainDescending(ids, scores);
+            rerankNanos += System.nanoTime() - start;
+            rerankRecall += recall(truth[q], ids, found);
+        }
+
+        long floatBytes = (long) n * dim * 4 + 4L * n;
+        System.out.printf("%n%-8s %12s %10s %10s %12s%n", "store", "bytes", "ratio", "R@" + k, "query(ms)");
+        print("float32", floatBytes, floatBytes, 1.0, floatNanos, queryCount);
+        print("int8", int8.bytes(), floatBytes, int8Recall / queryCount, int8Nanos, queryCount);
+        print("pq", pq.bytes(), floatBytes, pqRecall / queryCount, pqNanos, queryCount);
+        print("pq+int8", pq.bytes() + int8.bytes(), floatBytes, rerankRecall / queryCount, rerankNanos, queryCount);
+    }
+
+    private static void print(String name, long bytes, long floatBytes, double recall, long nanos, int queries) {
+        System.out.printf("%-8s %12d %9.1fx %10.4f %12.3f%n",
+                name, bytes, (double) floatBytes / bytes, recall, nanos / 1e6 / queries);
+    }
+
+    private static double recall(int[] truth, int[] ids, int found) {
+        int hits = 0;
+        for (int t : truth) {
+            for (int i = 0; i < found; i++) {
+                if (ids[i] == t) {
+                    hits++;
+                    break;
+                }
+            }
+        }
+        return (double) hits / truth.length;
+    }
+
+    private static float dot(float[] a, float[] b) {
+        return KERNEL.dot(a, 0, b, 0, a.length);
+    }
+
+    // 군집 중심 주위에 흩어진 단위 벡터
+    static float[][] clusteredGaussians(int count, int dim, int clusters, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        float[][] centers = new float[clusters][dim];
+        for (float[] center : centers) {
+            for (int d = 0; d < dim; d++) {
+                center[d] = (float) gaussian(random);
+            }
+        }
+        float[][] vectors = new float[count][dim];
+        for (float[] vector : vectors) {
+            float[] center = centers[random.nextInt(clusters)];
+            for (int d = 0; d < dim; d++) {
+                vector[d] = center[d] + 0.5f * (float) gaussian(random);
+            }
+            normalize(vector);
+        }
+        return vectors;
+    }
+
+    /**
+     * 랜덤 인덱싱: 사용자마다 고정된 무작위 ±1 벡터를 두고
+     * 게임 벡터는 보유 사용자 벡터의 합을 정규화한 것. 같이 보유되는 게임일수록 내적이 크다.
+     */
+    static float[][] randomIndexing(BipartiteCsrGraph graph, int dim, long seed) {
+        float[][] vectors = new float[graph.gameCount()][dim];
+        for (int game = 0; game < graph.gameCount(); game++) {
+            float[] vector = vectors[game];
+            for (int i = 0; i < graph.gameDegree(game); i++) {
+                long bits = new SplittableRandom(seed ^ (0x9E3779B97F4A7C15L * (graph.gameNeighbor(game, i) + 1))).nextLong();
+                for (int d = 0; d < dim; d++) {
+                    vector[d] += ((bits >>> (d & 63)) & 1) == 0 ? -1f : 1f;
+                }
+            }
+            normalize(vector);
+        }
+        return vectors;
+    }
+
+    private static void normalize(float[] vector) {
+        float norm = (float) Math.sqrt(dot(vector, vector));
+        if (norm > 0) {
+            for (int d = 0; d < vector.length; d++) {
+                vector[d] /= norm;
+            }
+        }
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+}
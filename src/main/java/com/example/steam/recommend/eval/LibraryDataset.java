@@ -0,0 +1,201 @@
+package com.example.steam.recommend.eval;
+
+import com.example.steam.archive.ArchiveManifest;
+import com.example.steam.archive.OwnedGameArchive;
+import com.example.steam.recommend.UserLibrary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 오프라인 평가용 라이브러리 데이터셋.
+ * 한 줄에 "steamId,appid,playtime_forever" 형식의 CSV (.gz 가능) 나
+ * 스냅샷 아카이브 파일(.sgar.gz) 또는 그 파티션 디렉터리 (예: archive/library/date=2024-01-31) 를 읽는다.
+ */
+public final class LibraryDataset {
+
+    private static final String ARCHIVE_SUFFIX = ".sgar.gz";
+
+    private final List<UserLibrary> libraries;
+
+    private LibraryDataset(List<UserLibrary> libraries) {
+        this.libraries = libraries;
+    }
+
+    public List<UserLibrary> libraries() {
+        return libraries;
+    }
+
+    public static LibraryDataset load(Path path) throws IOException {
+        if (Files.isDirectory(path) || path.toString().endsWith(ARCHIVE_SUFFIX)) {
+            return loadArchive(path);
+        }
+        Map<String, List<int[]>> rows = new LinkedHashMap<>();
+        try (BufferedReader reader = open(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isEmpty() || line.startsWith("#") || line.startsWith("steamId")) {
+                    continue;
+                }
+                String[] cols = line.split(",");
+                int appid = Integer.parseInt(cols[1].trim());
+                int playtime = cols.length > 2 ? Integer.parseInt(cols[2].trim()) : 0;
+                rows.computeIfAbsent(cols[0].trim(), k -> new ArrayList<>()).add(new int[]{appid, playtime});
+            }
+        }
+        List<UserLibrary> libraries = new ArrayList<>(rows.size());
+        rows.forEach((steamId, games) -> libraries.add(toLibrary(steamId, games)));
+        return new LibraryDataset(libraries);
+    }
+
+    // 아카이브 파트 파일들을 키 순서대로 읽는다 (DB 없이 학습/평가)
+    private static LibraryDataset loadArchive(Path path) throws IOException {
+        List<Path> files;
+        if (Files.isDirectory(path)) {
+            // 파티션 디렉터리마다 매니페스트에 적힌 파트만 (실패한 내보내기가 남긴 파트는 건너뛴다)
+            List<Path> directories;
+            try (Stream<Path> stream = Files.walk(path)) {
+                directories = stream.filter(Files::isDirectory).sorted().collect(Collectors.toList());
+            }
+            files = new ArrayList<>();
+            for (Path directory : directories) {
+                files.addAll(ArchiveManifest.parts(directory));
+            }
+        } else {
+            files = List.of(path);
+        }
+        List<UserLibrary> libraries = new ArrayList<>();
+        for (Path file : files) {
+            try (InputStream in = Files.newInputStream(file)) {
+                OwnedGameArchive.forEachLibrary(in, libraries::add);
+            }
+        }
+        return new LibraryDataset(libraries);
+    }
+
+    /**
+     * "appid,tag1|tag2|..." 형식의 태그 파일을 읽는다 (콘텐츠 추천기 평가용).
+     */
+    public static Map<Integer, List<String>> loadTags(Path path) throws IOException {
+        Map<Integer, List<String>> tags = new HashMap<>();
+        try (BufferedReader reader = open(path)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int comma = line.indexOf(',');
+                if (comma <= 0 || line.startsWith("#")) {
+                    continue;
+                }
+                tags.put(Integer.parseInt(line.substring(0, comma).trim()),
+                        Arrays.asList(line.substring(comma + 1).split("\\|")));
+            }
+        }
+        return tags;
+    }
+
+    /**
+     * 사용자마다 플레이한 게임의 일부를 정답(held-out)으로 떼어낸다.
+     * 플레이한 게임이 minGames 개 미만인 사용자는 학습 데이터로만 사용한다.
+     */
+    public Split holdOut(double fraction, int minGames, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<UserLibrary> train = new ArrayList<>(libraries.size());
+        List<UserLibrary> queries = new ArrayList<>();
+        List<int[]> answers = new ArrayList<>();
+        for (UserLibrary library : libraries) {
+            int played = 0;
+            for (int playtime : library.playtimes()) {
+                if (playtime > 0) {
+                    played++;
+                }
+            }
+            int holdCount = (int) Math.floor(played * fraction);
+            if (played < minGames || holdCount == 0) {
+                train.add(library);
+                continue;
+            }
+            // 플레이한 게임 인덱스를 섞어 앞쪽 holdCount 개를 정답으로
+            int[] playedIdx = new int[played];
+            int n = 0;
+            for (int i = 0; i < library.size(); i++) {
+                if (library.playtimes()[i] > 0) {
+                    playedIdx[n++] = i;
+                }
+            }
+            for (int i = played - 1; i > 0; i--) {
+                int j = random.nextInt(i + 1);
+                int tmp = playedIdx[i];
+                playedIdx[i] = playedIdx[j];
+                playedIdx[j] = tmp;
+            }
+            boolean[] held = new boolean[library.size()];
+            int[] answer = new int[holdCount];
+            for (int i = 0; i < holdCount; i++) {
+                held[playedIdx[i]] = true;
+                answer[i] = library.appids()[playedIdx[i]];
+            }
+            Arrays.sort(answer);
+
+            int keep = library.size() - holdCount;
+            int[] appids = new int[keep];
+            int[] playtimes = new int[keep];
+            int k = 0;
+            for (int i = 0; i < library.size(); i++) {
+                if (!held[i]) {
+                    appids[k] = library.appids()[i];
+                    playtimes[k++] = library.playtimes()[i];
+                }
+            }
+            UserLibrary trainLibrary = new UserLibrary(library.steamId(), appids, playtimes);
+            train.add(trainLibrary);
+            queries.add(trainLibrary);
+            answers.add(answer);
+        }
+        return new Split(train, queries, answers);
+    }
+
+    private static UserLibrary toLibrary(String steamId, List<int[]> games) {
+        games.sort((a, b) -> Integer.compare(a[0], b[0]));
+        int[] appids = new int[games.size()];
+        int[] playtimes = new int[games.size()];
+        int n = 0;
+        for (int[] game : games) {
+            if (n > 0 && appids[n - 1] == game[0]) {
+                continue;
+            }
+            appids[n] = game[0];
+            playtimes[n++] = game[1];
+        }
+        return new UserLibrary(steamId, Arrays.copyOf(appids, n), Arrays.copyOf(playtimes, n));
+    }
+
+    private static BufferedReader open(Path path) throws IOException {
+        InputStream in = Files.newInputStream(path);
+        if (path.toString().endsWith(".gz")) {
+            in = new GZIPInputStream(in, 1 << 16);
+        }
+        return new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8), 1 << 16);
+    }
+
+    /**
+     * @param train   정답을 뺀 전체 학습 라이브러리
+     * @param queries 평가 대상 사용자 (train 과 같은 객체)
+     * @param answers queries 와 같은 순서의 정답 appid (오름차순)
+     */
+    public record Split(List<UserLibrary> train, List<UserLibrary> queries, List<int[]> answers) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.example.steam.recommend.eval;
+
+import com.example.steam.recommend.Recommender;
+import com.example.steam.recommend.ScoredGame;
+import com.example.steam.recommend.TopK;
+import com.example.steam.recommend.UserLibrary;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 보유자 수 기준 인기 게임 추천. 다른 추천기와 비교하기 위한 기준선.
+ */
+public class PopularityRecommender implements Recommender {
+
+    private final int[] appids;
+    private final float[] scores;
+
+    public PopularityRecommender(List<UserLibrary> train) {
+        Map<Integer, Integer> owners = new HashMap<>();
+        for (UserLibrary library : train) {
+            for (int appid : library.appids()) {
+                owners.merge(appid, 1, Integer::sum);
+            }
+        }
+        // 추천에서 보유 게임이 빠지더라도 충분하도록 상위 1000 개만 유지
+        TopK top = new TopK(1000);
+        owners.forEach((appid, count) -> top.offer(appid, count));
+        this.appids = new int[top.size()];
+        this.scores = new float[top.size()];
+        top.drainDescending(appids, scores);
+    }
+
+    @Override
+    public String name() {
+        return "popularity";
+    }
+
+    @Override
+    public List<ScoredGame> recommend(UserLibrary library, int limit) {
+        List<ScoredGame> result = new ArrayList<>(limit);
+        for (int i = 0; i < appids.length && result.size() < limit; i++) {
+            if (!library.owns(appids[i])) {
+                result.add(new ScoredGame(appids[i], scores[i]));
+            }
+        }
+        return result;
+    }
+}
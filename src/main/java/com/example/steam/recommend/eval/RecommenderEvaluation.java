@@ -0,0 +1,197 @@
+package com.example.steam.recommend.eval;
+
+import com.example.steam.recommend.BipartiteCsrGraph;
+import com.example.steam.recommend.ContentRecommender;
+import com.example.steam.recommend.RandomWalkRecommender;
+import com.example.steam.recommend.Recommender;
+import com.example.steam.recommend.ScoredGame;
+import com.example.steam.recommend.TagVectorIndex;
+import com.example.steam.recommend.UserLibrary;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 추천기 오프라인 평가.
+ * 저장된 라이브러리 데이터셋에서 사용자별로 플레이한 게임 일부를 떼어 두고
+ * precision@K, recall@K, NDCG@K, 카탈로그 커버리지와 요청당 지연 시간 분포, 처리량을 출력한다.
+ *
+ * 실행: ./gradlew evaluateRecommenders -Pdataset=data/libraries.csv.gz [-Ptags=data/tags.csv] [-Pk=10]
+ */
+public class RecommenderEvaluation {
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseArgs(args);
+        Path datasetPath = Path.of(options.getOrDefault("dataset", "data/libraries.csv"));
+        int k = Integer.parseInt(options.getOrDefault("k", "10"));
+        double holdout = Double.parseDouble(options.getOrDefault("holdout", "0.2"));
+        int minGames = Integer.parseInt(options.getOrDefault("minGames", "5"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int maxQueries = Integer.parseInt(options.getOrDefault("queries", "10000"));
+        int threads = Integer.parseInt(options.getOrDefault("threads",
+                String.valueOf(Runtime.getRuntime().availableProcessors())));
+
+        long loadStart = System.nanoTime();
+        LibraryDataset dataset = LibraryDataset.load(datasetPath);
+        LibraryDataset.Split split = dataset.holdOut(holdout, minGames, seed);
+        System.out.printf("dataset: %s, users=%d, eval users=%d, loaded in %d ms%n",
+                datasetPath, dataset.libraries().size(), split.queries().size(),
+                (System.nanoTime() - loadStart) / 1_000_000);
+
+        List<UserLibrary> queries = split.queries();
+        List<int[]> answers = split.answers();
+        if (queries.size() > maxQueries) {
+            queries = queries.subList(0, maxQueries);
+            answers = answers.subList(0, maxQueries);
+        }
+
+        Set<Integer> catalogue = new HashSet<>();
+        for (UserLibrary library : split.train()) {
+            for (int appid : library.appids()) {
+                catalogue.add(appid);
+            }
+        }
+
+        List<Recommender> recommenders = new ArrayList<>();
+        recommenders.add(new PopularityRecommender(split.train()));
+
+        long buildStart = System.nanoTime();
+        BipartiteCsrGraph graph = BipartiteCsrGraph.build(split.train());
+        RandomWalkRecommender randomWalk = new RandomWalkRecommender(
+                Integer.parseInt(options.getOrDefault("steps", "200000")), 0.3f,
+                Runtime.getRuntime().availableProcessors(), 50);
+        randomWalk.setGraph(graph);
+        recommenders.add(randomWalk);
+        System.out.printf("graph: %d users, %d games, %d edges, ~%d KB, built in %d ms%n",
+                graph.userCount(), graph.gameCount(), graph.edgeCount(), graph.estimatedBytes() / 1024,
+                (System.nanoTime() - buildStart) / 1_000_000);
+
+        if (options.containsKey("tags")) {
+            ContentRecommender content = new ContentRecommender(32);
+            content.setIndex(TagVectorIndex.build(LibraryDataset.loadTags(Path.of(options.get("tags")))));
+            recommenders.add(content);
+        }
+
+        System.out.printf("%n%-12s %8s %8s %8s %8s %9s %9s %9s %9s %10s%n",
+                "model", "P@" + k, "R@" + k, "NDCG@" + k, "coverage",
+                "p50(ms)", "p95(ms)", "p99(ms)", "max(ms)", "req/s");
+        try {
+            for (Recommender recommender : recommenders) {
+                Result result = evaluate(recommender, queries, answers, k, catalogue.size());
+                double throughput = measureThroughput(recommender, queries, k, threads);
+                System.out.printf("%-12s %8.4f %8.4f %8.4f %8.4f %9.3f %9.3f %9.3f %9.3f %10.1f%n",
+                        recommender.name(), result.precision, result.recall, result.ndcg, result.coverage,
+                        percentile(result.latencies, 0.50), percentile(result.latencies, 0.95),
+                        percentile(result.latencies, 0.99), percentile(result.latencies, 1.0), throughput);
+            }
+        } finally {
+            randomWalk.close();
+        }
+    }
+
+    // 순차 실행으로 정확도 지표와 요청당 지연 시간을 잰다
+    static Result evaluate(Recommender recommender, List<UserLibrary> queries, List<int[]> answers,
+                           int k, int catalogueSize) {
+        // JIT 워밍업
+        for (int i = 0; i < Math.min(200, queries.size()); i++) {
+            recommender.recommend(queries.get(i), k);
+        }
+        double precision = 0;
+        double recall = 0;
+        double ndcg = 0;
+        long[] latencies = new long[queries.size()];
+        Set<Integer> recommended = new HashSet<>();
+        for (int q = 0; q < queries.size(); q++) {
+            long start = System.nanoTime();
+            List<ScoredGame> result = recommender.recommend(queries.get(q), k);
+            latencies[q] = System.nanoTime() - start;
+
+            int[] answer = answers.get(q);
+            int hits = 0;
+            double dcg = 0;
+            for (int rank = 0; rank < result.size(); rank++) {
+                int appid = result.get(rank).appid();
+                recommended.add(appid);
+                if (Arrays.binarySearch(answer, appid) >= 0) {
+                    hits++;
+                    dcg += 1.0 / log2(rank + 2);
+                }
+            }
+            double idcg = 0;
+            for (int rank = 0; rank < Math.min(k, answer.length); rank++) {
+                idcg += 1.0 / log2(rank + 2);
+            }
+            precision += (double) hits / k;
+            recall += (double) hits / answer.length;
+            ndcg += idcg > 0 ? dcg / idcg : 0;
+        }
+        int n = Math.max(queries.size(), 1);
+        Arrays.sort(latencies);
+        return new Result(precision / n, recall / n, ndcg / n,
+                catalogueSize == 0 ? 0 : (double) recommended.size() / catalogueSize, latencies);
+    }
+
+    // 여러 스레드에서 동시에 요청을 보내 초당 처리량을 잰다
+    static double measureThroughput(Recommender recommender, List<UserLibrary> queries, int k, int threads)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            AtomicInteger next = new AtomicInteger();
+            long start = System.nanoTime();
+            List<Future<?>> futures = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                futures.add(executor.submit(() -> {
+                    int q;
+                    while ((q = next.getAndIncrement()) < queries.size()) {
+                        recommender.recommend(queries.get(q), k);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            return queries.size() / Math.max(seconds, 1e-9);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    // 정렬된 나노초 배열의 백분위수 (밀리초)
+    static double percentile(long[] sortedNanos, double p) {
+        if (sortedNanos.length == 0) {
+            return 0;
+        }
+        int idx = (int) Math.ceil(p * sortedNanos.length) - 1;
+        return sortedNanos[Math.max(0, Math.min(idx, sortedNanos.length - 1))] / 1e6;
+    }
+
+    private static double log2(double x) {
+        return Math.log(x) / Math.log(2);
+    }
+
+    // key=value 형식 인자
+    private static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0 && eq < arg.length() - 1) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        return options;
+    }
+
+    record Result(double precision, double recall, double ndcg, double coverage, long[] latencies) {
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.steam.repository;
+
+import com.example.steam.entity.AppDetails;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+public interface AppDetailsRepository extends JpaRepository<AppDetails, Integer> {
+
+    @Query("SELECT a.appid FROM AppDetails a")
+    List<Integer> findAllAppids();  // 이미 수집한 appid 목록
+}
@@ -0,0 +1,7 @@
+package com.example.steam.repository;
+
+import com.example.steam.entity.LibrarySnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface LibrarySnapshotRepository extends JpaRepository<LibrarySnapshot, String> {
+}
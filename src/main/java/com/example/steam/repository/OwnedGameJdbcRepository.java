@@ -0,0 +1,173 @@
+package com.example.steam.repository;
+
+import com.example.steam.entity.OwnedGame;
+import com.example.steam.model.LibraryGame;
+import com.example.steam.recommend.UserLibrary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * owned_game JDBC 저장소 (쓰기와 대량 읽기).
+ * 엔티티별 save() 는 행마다 SELECT + INSERT/UPDATE 가 나가므로,
+ * CHUNK_SIZE 행씩 묶은 다중 행 INSERT ... ON DUPLICATE KEY UPDATE 한 문장으로 보낸다.
+ * (5,000 개 라이브러리를 처음 저장해도 upsert 10 번)
+ */
+@Repository
+public class OwnedGameJdbcRepository {
+
+    public static final int CHUNK_SIZE = 500;
+
+    private static final String UPSERT_PREFIX = "INSERT INTO owned_game"
+            + " (steam_id, appid, playtime_forever, playtime2weeks, rtime_last_played, content_hash, synced_at) VALUES ";
+    private static final String UPSERT_ROW = "(?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPSERT_SUFFIX = " ON DUPLICATE KEY UPDATE"
+            + " playtime_forever = VALUES(playtime_forever), playtime2weeks = VALUES(playtime2weeks),"
+            + " rtime_last_played = VALUES(rtime_last_played), content_hash = VALUES(content_hash),"
+            + " synced_at = VALUES(synced_at)";
+    private static final int COLUMNS = 7;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public OwnedGameJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    // 사용자의 저장된 게임 행 (동기화 비교용, appid 순)
+    public List<OwnedGame> findGames(String steamId) {
+        return jdbcTemplate.query(
+                "SELECT appid, playtime_forever, playtime2weeks, rtime_last_played, content_hash"
+                        + " FROM owned_game WHERE steam_id = ? ORDER BY appid",
+                (rs, rowNum) -> {
+                    OwnedGame game = new OwnedGame();
+                    game.setSteamId(steamId);
+                    game.setAppid(rs.getInt(1));
+                    game.setPlaytimeForever(rs.getInt(2));
+                    game.setPlaytime2weeks(rs.getInt(3));
+                    game.setRtimeLastPlayed(rs.getLong(4));
+                    long hash = rs.getLong(5);
+                    game.setContentHash(rs.wasNull() ? null : hash);
+                    return game;
+                },
+                steamId);
+    }
+
+    /**
+     * 주어진 게임 행만 upsert 한다 (추가되었거나 내용 해시가 바뀐 게임).
+     * 호출하는 쪽 트랜잭션 안에서 실행해야 중간 상태가 보이지 않는다.
+     */
+    public void upsertGames(String steamId, List<LibraryGame> games, LocalDateTime syncedAt) {
+        Timestamp timestamp = Timestamp.valueOf(syncedAt);
+        String fullChunkSql = upsertSql(CHUNK_SIZE);
+        for (int start = 0; start < games.size(); start += CHUNK_SIZE) {
+            int rows = Math.min(CHUNK_SIZE, games.size() - start);
+            Object[] args = new Object[rows * COLUMNS];
+            for (int i = 0; i < rows; i++) {
+                LibraryGame game = games.get(start + i);
+                int base = i * COLUMNS;
+                args[base] = steamId;
+                args[base + 1] = game.getAppid();
+                args[base + 2] = game.getPlaytime_forever();
+                args[base + 3] = game.getPlaytime_2weeks();
+                args[base + 4] = game.getRtime_last_played();
+                args[base + 5] = game.contentHash();
+                args[base + 6] = timestamp;
+            }
+            jdbcTemplate.update(rows == CHUNK_SIZE ? fullChunkSql : upsertSql(rows), args);
+        }
+    }
+
+    // 라이브러리에서 빠진 게임 행 삭제 (환불, 제거)
+    public void deleteGames(String steamId, List<Integer> appids) {
+        for (int start = 0; start < appids.size(); start += CHUNK_SIZE) {
+            List<Integer> chunk = appids.subList(start, Math.min(appids.size(), start + CHUNK_SIZE));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+            Object[] args = new Object[chunk.size() + 1];
+            args[0] = steamId;
+            for (int i = 0; i < chunk.size(); i++) {
+                args[i + 1] = chunk.get(i);
+            }
+            jdbcTemplate.update("DELETE FROM owned_game WHERE steam_id = ? AND appid IN (" + placeholders + ")", args);
+        }
+    }
+
+    /**
+     * 저장된 모든 라이브러리를 steamId 순으로 읽어 사용자 단위로 넘긴다 (시작 시 색인 복원용).
+     * 결과를 한 번에 메모리에 올리지 않도록 스트리밍 fetchSize 로 행 단위로 읽는다.
+     * 읽는 동안 커넥션을 점유하므로 consumer 안에서 DB 를 다시 호출하지 않는다.
+     */
+    public void forEachLibrary(Consumer<UserLibrary> consumer) {
+        LibraryCollector collector = new LibraryCollector(consumer);
+        stream("SELECT steam_id, appid, playtime_forever FROM owned_game ORDER BY steam_id, appid", collector);
+        collector.flush();
+    }
+
+    /**
+     * 모든 게임 행을 (steam_id, appid) 순으로 흘려 보낸다 (아카이브 내보내기용).
+     * 컬럼: steam_id, appid, playtime_forever, playtime2weeks, rtime_last_played
+     */
+    public void forEachGame(RowCallbackHandler handler) {
+        stream("SELECT steam_id, appid, playtime_forever, playtime2weeks, rtime_last_played"
+                + " FROM owned_game ORDER BY steam_id, appid", handler);
+    }
+
+    private void stream(String sql, RowCallbackHandler handler) {
+        jdbcTemplate.query(StreamingStatements.forwardOnly(sql), handler);
+    }
+
+    private static String upsertSql(int rows) {
+        StringBuilder sql = new StringBuilder(UPSERT_PREFIX.length() + rows * (UPSERT_ROW.length() + 2) + UPSERT_SUFFIX.length());
+        sql.append(UPSERT_PREFIX);
+        for (int i = 0; i < rows; i++) {
+            if (i > 0) {
+                sql.append(", ");
+            }
+            sql.append(UPSERT_ROW);
+        }
+        return sql.append(UPSERT_SUFFIX).toString();
+    }
+
+    // steamId 가 바뀔 때마다 모은 행을 UserLibrary 하나로 넘긴다
+    private static final class LibraryCollector implements RowCallbackHandler {
+        private final Consumer<UserLibrary> consumer;
+        private String steamId;
+        private int[] appids = new int[256];
+        private int[] playtimes = new int[256];
+        private int size;
+
+        LibraryCollector(Consumer<UserLibrary> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            String id = rs.getString(1);
+            if (!id.equals(steamId)) {
+                flush();
+                steamId = id;
+            }
+            if (size == appids.length) {
+                appids = Arrays.copyOf(appids, size * 2);
+                playtimes = Arrays.copyOf(playtimes, size * 2);
+            }
+            appids[size] = rs.getInt(2);
+            playtimes[size++] = rs.getInt(3);
+        }
+
+        void flush() {
+            if (steamId != null && size > 0) {
+                consumer.accept(new UserLibrary(steamId, Arrays.copyOf(appids, size), Arrays.copyOf(playtimes, size)));
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.steam.repository;
+
+import com.example.steam.entity.OwnedGame;
+import com.example.steam.entity.OwnedGameId;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.List;
+
+// 조회 전용 (쓰기는 OwnedGameJdbcRepository)
+public interface OwnedGameRepository extends JpaRepository<OwnedGame, OwnedGameId> {
+    List<OwnedGame> findBySteamIdOrderByAppid(String steamId);
+
+    @Query("SELECT DISTINCT o.appid FROM OwnedGame o")
+    List<Integer> findDistinctAppids();  // 저장된 라이브러리에 한 번이라도 나온 appid
+}
@@ -0,0 +1,25 @@
+package com.example.steam.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+// playtime_history 대량 읽기 (블록이 커서 JPA 로 전체를 올리지 않는다)
+@Repository
+public class PlaytimeHistoryJdbcRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public PlaytimeHistoryJdbcRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * 모든 기록 블록을 (steam_id, month) 순으로 흘려 보낸다 (아카이브 내보내기용).
+     * 컬럼: steam_id, month, observation_count, data
+     */
+    public void forEachBlock(RowCallbackHandler handler) {
+        jdbcTemplate.query(StreamingStatements.forwardOnly(
+                "SELECT steam_id, month, observation_count, data FROM playtime_history ORDER BY steam_id, month"), handler);
+    }
+}
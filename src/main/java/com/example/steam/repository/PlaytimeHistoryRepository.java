@@ -0,0 +1,11 @@
+package com.example.steam.repository;
+
+import com.example.steam.entity.PlaytimeHistory;
+import com.example.steam.entity.PlaytimeHistoryId;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface PlaytimeHistoryRepository extends JpaRepository<PlaytimeHistory, PlaytimeHistoryId> {
+    List<PlaytimeHistory> findBySteamIdAndMonthBetweenOrderByMonth(String steamId, Integer fromMonth, Integer toMonth);
+}
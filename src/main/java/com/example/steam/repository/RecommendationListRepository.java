@@ -0,0 +1,7 @@
+package com.example.steam.repository;
+
+import com.example.steam.entity.RecommendationList;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface RecommendationListRepository extends JpaRepository<RecommendationList, String> {
+}
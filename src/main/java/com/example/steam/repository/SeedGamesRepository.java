@@ -0,0 +1,7 @@
+package com.example.steam.repository;
+
+import com.example.steam.entity.SeedGames;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+public interface SeedGamesRepository extends JpaRepository<SeedGames, String> {
+}
@@ -0,0 +1,27 @@
+package com.example.steam.repository;
+
+import org.springframework.jdbc.core.PreparedStatementCreator;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+
+// 큰 테이블을 행 단위로 흘려 읽는 전방 전용 문장 (드라이버별 fetchSize)
+final class StreamingStatements {
+
+    // MySQL Connector/J 는 fetchSize 가 Integer.MIN_VALUE 인 전방 전용 결과만 행 단위로 흘려 보낸다
+    static final int STREAMING_FETCH_SIZE = Integer.MIN_VALUE;
+    // 음수 fetchSize 를 거부하는 다른 드라이버(H2 등)는 이만큼씩 나눠 받는다
+    static final int PORTABLE_FETCH_SIZE = 1000;
+
+    private StreamingStatements() {
+    }
+
+    static PreparedStatementCreator forwardOnly(String sql) {
+        return con -> {
+            PreparedStatement statement = con.prepareStatement(sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+            boolean mysql = con.getMetaData().getDatabaseProductName().toLowerCase().contains("mysql");
+            statement.setFetchSize(mysql ? STREAMING_FETCH_SIZE : PORTABLE_FETCH_SIZE);
+            return statement;
+        };
+    }
+}
@@ -7,6 +7,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
 import java.util.Optional;
 
 @Repository
@@ -26,6 +27,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
 
     Optional<User> findByUserIdOrSteamId(String userId, String steamId);
 
+    // 스팀 계정을 연동한 사용자의 steamId 목록 (라이브러리 백그라운드 동기화 대상)
+    @Query("SELECT u.steamId FROM User u WHERE u.steamId IS NOT NULL")
+    List<String> findAllLinkedSteamIds();
+
     @Modifying
     @Query("UPDATE User u SET u.steamId = :steamId, u.steamNickname = :steamNickname WHERE u.userId = :userId")
     int linkSteamAccount(@Param("userId") String userId, @Param("steamId") String steamId, @Param("steamNickname") String steamNickname);
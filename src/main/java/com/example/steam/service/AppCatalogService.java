@@ -0,0 +1,20 @@
+package com.example.steam.service;
+
+import com.example.steam.catalog.AppMatch;
+
+import java.util.List;
+
+public interface AppCatalogService {
+
+    List<AppMatch> search(String prefix, int limit); // 이름 단어 접두어 자동 완성
+
+    String getName(int appid); // 카탈로그의 앱 이름 (없으면 null)
+
+    boolean isKnown(int appid); // 카탈로그에 있는 appid 인지
+
+    boolean mightExist(int appid); // 블룸 필터 사전 검사 (false 면 확실히 없는 appid, 카탈로그가 없으면 true)
+
+    int getSize(); // 카탈로그 앱 수
+
+    void sync(); // 마지막 반영 이후 바뀐 앱만 받아 반영 (색인이 없으면 전체 목록으로 생성)
+}
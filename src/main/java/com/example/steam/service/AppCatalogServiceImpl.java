@@ -0,0 +1,310 @@
+package com.example.steam.service;
+
+import com.example.steam.catalog.AppCatalog;
+import com.example.steam.catalog.AppCatalogDeltaLog;
+import com.example.steam.catalog.AppCatalogIndex;
+import com.example.steam.catalog.AppChange;
+import com.example.steam.catalog.AppListPage;
+import com.example.steam.catalog.AppMatch;
+import com.example.steam.event.AppReleasedEvent;
+import com.example.steam.util.BloomFilter;
+import com.example.steam.util.TokenBucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.http.HttpMethod;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * IStoreService/GetAppList 로 받은 앱 목록을 메모리 매핑 색인(AppCatalogIndex) + 변경 오버레이(AppCatalog)로 두고 조회한다.
+ *
+ * 처음에는 전체 목록을 last_appid 로 넘겨 가며 받아 기본 파일(apps-<ts>.idx)을 만든다.
+ * 이후 동기화는 if_modified_since 로 마지막 반영 시각 이후 바뀐 앱만 받아 delta-<ts>.log 에 덧붙이고
+ * 오버레이에만 반영하므로 기본 파일을 다시 만들지 않는다. 오버레이가 compact-threshold 를 넘으면 둘을 합친 새 기본 파일로 바꾼다.
+ * 재시작하면 마지막 기본 파일을 열고 그 로그를 다시 적용한다. 처음 보는 appid 는 AppReleasedEvent 로 알린다.
+ *
+ * 카탈로그를 바꿀 때마다 전체 appid 블룸 필터를 다시 만들어, 외부 호출 전 appid 검사를 매핑 파일 접근 없이 끝낸다.
+ */
+@Service
+public class AppCatalogServiceImpl implements AppCatalogService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppCatalogServiceImpl.class);
+
+    private static final String APP_LIST_URL = "https://api.steampowered.com/IStoreService/GetAppList/v1/"
+            + "?key=%s&max_results=%d&last_appid=%d&if_modified_since=%d"
+            + "&include_games=true&include_dlc=true&include_software=true&include_videos=true&include_hardware=true";
+    private static final String INDEX_PREFIX = "apps-";
+    private static final String INDEX_SUFFIX = ".idx";
+    private static final String LOG_PREFIX = "delta-";
+    private static final String LOG_SUFFIX = ".log";
+    // IStoreService/GetAppList 페이지 최대 크기
+    private static final int PAGE_SIZE = 50000;
+
+    @Value("${steam.api.key}")
+    private String steamApiKey;
+
+    private final RestTemplate restTemplate;
+    private final TokenBucket steamQuota;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TaskScheduler taskScheduler;
+    private final Path directory;
+    private final int compactThreshold;
+    private final double bloomFpp;
+
+    private volatile AppCatalog catalog;
+    private volatile BloomFilter knownAppids;
+    private volatile Path deltaLog;
+
+    public AppCatalogServiceImpl(RestTemplate restTemplate,
+                                 @Qualifier("steamQuota") TokenBucket steamQuota,
+                                 ApplicationEventPublisher eventPublisher,
+                                 TaskScheduler taskScheduler,
+                                 @Value("${catalog.dir:catalog}") String directory,
+                                 @Value("${catalog.compact-threshold:5000}") int compactThreshold,
+                                 @Value("${catalog.bloom.fpp:0.001}") double bloomFpp) {
+        this.restTemplate = restTemplate;
+        this.steamQuota = steamQuota;
+        this.eventPublisher = eventPublisher;
+        this.taskScheduler = taskScheduler;
+        this.directory = Path.of(directory);
+        this.compactThreshold = compactThreshold;
+        this.bloomFpp = bloomFpp;
+    }
+
+    @Override
+    public List<AppMatch> search(String prefix, int limit) {
+        AppCatalog current = catalog;
+        if (current == null || prefix == null) {
+            return Collections.emptyList();
+        }
+        return current.search(prefix, limit);
+    }
+
+    @Override
+    public String getName(int appid) {
+        AppCatalog current = catalog;
+        return current == null ? null : current.name(appid);
+    }
+
+    @Override
+    public boolean isKnown(int appid) {
+        AppCatalog current = catalog;
+        return current != null && current.contains(appid);
+    }
+
+    @Override
+    public boolean mightExist(int appid) {
+        BloomFilter filter = knownAppids;
+        // 카탈로그를 아직 못 받았으면 막지 않는다 (fail open)
+        return filter == null || filter.mightContain(appid);
+    }
+
+    @Override
+    public int getSize() {
+        AppCatalog current = catalog;
+        return current == null ? 0 : current.size();
+    }
+
+    // 저장된 색인만 여기서 열고, GetAppList 페이징(처음엔 전체 목록)은 스케줄러 스레드에서 돌려 시작을 막지 않는다
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadCatalog() {
+        try {
+            Path latest = latestIndexFile();
+            if (latest != null) {
+                AppCatalogIndex index = AppCatalogIndex.open(latest);
+                Path log = logFileFor(latest);
+                List<AppChange> changes = AppCatalogDeltaLog.read(log);
+                deltaLog = log;
+                publish(AppCatalog.of(index).apply(changes));
+                logger.info("Opened app catalogue {} ({} apps, {} bytes, {} logged changes)",
+                        latest, catalog.size(), index.fileBytes(), changes.size());
+            }
+        } catch (IOException e) {
+            logger.error("Error opening app catalogue in " + directory, e);
+        }
+        taskScheduler.schedule(this::sync, Instant.now());
+    }
+
+    @Scheduled(fixedDelayString = "${catalog.sync-interval-ms:3600000}", initialDelayString = "${catalog.sync-interval-ms:3600000}")
+    public void scheduledSync() {
+        sync();
+    }
+
+    @Override
+    public synchronized void sync() {
+        long start = System.currentTimeMillis();
+        try {
+            AppCatalog current = catalog;
+            if (current == null) {
+                rebuild();
+                logger.info("App catalogue built: {} apps in {} ms", catalog.size(), System.currentTimeMillis() - start);
+                return;
+            }
+            List<AppChange> changes = fetchChanges(current.lastModified());
+            if (changes == null || changes.isEmpty()) {
+                return;
+            }
+            List<AppChange> released = new ArrayList<>();
+            for (AppChange change : changes) {
+                if (!current.contains(change.appid())) {
+                    released.add(change);
+                }
+            }
+            // 로그에 먼저 남겨야 재시작 후에도 같은 상태가 된다
+            AppCatalogDeltaLog.append(deltaLog, changes);
+            AppCatalog updated = current.apply(changes);
+            publish(updated);
+            if (updated.overlaySize() >= compactThreshold) {
+                compact(updated);
+            }
+            for (AppChange change : released) {
+                eventPublisher.publishEvent(new AppReleasedEvent(change.appid(), change.name(), change.lastModified()));
+            }
+            logger.info("App catalogue synced: {} changed, {} new apps in {} ms",
+                    changes.size(), released.size(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error syncing app catalogue", e);
+        }
+    }
+
+    // 전체 목록으로 첫 기본 파일을 만든다
+    private void rebuild() throws IOException {
+        List<AppChange> apps = fetchChanges(0);
+        if (apps == null || apps.isEmpty()) {
+            throw new IOException("Empty app list from Steam");
+        }
+        int[] appids = new int[apps.size()];
+        String[] names = new String[apps.size()];
+        long lastModified = 0;
+        for (int i = 0; i < apps.size(); i++) {
+            appids[i] = apps.get(i).appid();
+            names[i] = apps.get(i).name();
+            lastModified = Math.max(lastModified, apps.get(i).lastModified());
+        }
+        Files.createDirectories(directory);
+        Path file = directory.resolve(INDEX_PREFIX + System.currentTimeMillis() + INDEX_SUFFIX);
+        AppCatalogIndex.write(file, appids, names, lastModified);
+        install(file);
+    }
+
+    // 오버레이를 합친 새 기본 파일로 바꾸고 로그를 새로 시작한다
+    private void compact(AppCatalog current) throws IOException {
+        long start = System.currentTimeMillis();
+        Path file = directory.resolve(INDEX_PREFIX + System.currentTimeMillis() + INDEX_SUFFIX);
+        current.compactTo(file);
+        install(file);
+        logger.info("App catalogue compacted: {} overlay entries merged in {} ms",
+                current.overlaySize(), System.currentTimeMillis() - start);
+    }
+
+    private void install(Path file) throws IOException {
+        AppCatalogIndex index = AppCatalogIndex.open(file);
+        deltaLog = logFileFor(file);
+        publish(AppCatalog.of(index));
+        deleteOlderThan(file);
+    }
+
+    // 새 카탈로그와 그 appid 블룸 필터를 함께 교체한다
+    private void publish(AppCatalog updated) {
+        BloomFilter filter = BloomFilter.create(updated.size(), bloomFpp);
+        updated.forEachAppid(filter::put);
+        knownAppids = filter;
+        catalog = updated;
+    }
+
+    /**
+     * since 이후 바뀐 앱을 last_appid 로 넘겨 가며 모두 받는다 (since 가 0 이면 전체 목록).
+     * 할당량 토큰을 받지 못하면 null (다음 주기에 다시 시도).
+     */
+    private List<AppChange> fetchChanges(long since) {
+        List<AppChange> changes = new ArrayList<>();
+        int lastAppid = 0;
+        while (true) {
+            try {
+                if (!steamQuota.acquire(1, TimeUnit.MINUTES)) {
+                    logger.warn("No Steam quota for app catalogue sync, retrying next cycle");
+                    return null;
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return null;
+            }
+            String url = String.format(APP_LIST_URL, steamApiKey, PAGE_SIZE, lastAppid, since);
+            AppListPage page = restTemplate.execute(url, HttpMethod.GET, null,
+                    response -> AppListPage.parse(response.getBody()));
+            if (page == null) {
+                break;
+            }
+            for (int i = 0; i < page.size(); i++) {
+                changes.add(new AppChange(page.appid(i), page.name(i), page.lastModified(i)));
+            }
+            if (!page.haveMoreResults() || page.lastAppid() <= lastAppid) {
+                break;
+            }
+            lastAppid = page.lastAppid();
+        }
+        return changes;
+    }
+
+    private Path latestIndexFile() throws IOException {
+        List<Path> files = indexFiles();
+        return files.isEmpty() ? null : files.get(files.size() - 1);
+    }
+
+    // apps-<epoch 밀리초>.idx 파일 (생성 순)
+    private List<Path> indexFiles() throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, INDEX_PREFIX + "*" + INDEX_SUFFIX)) {
+            stream.forEach(files::add);
+        }
+        files.sort((a, b) -> Long.compare(fileTime(a), fileTime(b)));
+        return files;
+    }
+
+    private Path logFileFor(Path indexFile) {
+        return directory.resolve(LOG_PREFIX + fileTime(indexFile) + LOG_SUFFIX);
+    }
+
+    // 매핑이 살아 있는 동안에도 지울 수 있다 (리눅스 기준, 실패하면 다음 교체 때 다시 시도)
+    private void deleteOlderThan(Path current) throws IOException {
+        for (Path file : indexFiles()) {
+            if (fileTime(file) < fileTime(current)) {
+                try {
+                    Files.deleteIfExists(logFileFor(file));
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    logger.debug("Could not delete old app catalogue {}: {}", file, e.getMessage());
+                }
+            }
+        }
+    }
+
+    private static long fileTime(Path file) {
+        String name = file.getFileName().toString();
+        try {
+            return Long.parseLong(name.substring(INDEX_PREFIX.length(), name.length() - INDEX_SUFFIX.length()));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.steam.service;
+
+import com.example.steam.model.AppInfo;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface AppDetailsService {
+
+    void enqueue(Collection<Integer> appids); // 아직 수집하지 않은 appid 를 수집 대기열에 추가
+
+    Map<Integer, List<String>> getTagsByAppid(); // 로컬 카탈로그의 appid -> 태그 목록
+
+    long getVersion(); // 카탈로그가 바뀔 때마다 증가
+
+    Map<Integer, AppInfo> getAppInfo(Collection<Integer> appids); // 로컬 캐시에서만 조회 (없는 appid 는 카탈로그에 있을 때만 수집 대기열에 추가)
+}
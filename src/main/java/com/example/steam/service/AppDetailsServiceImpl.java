@@ -0,0 +1,341 @@
+package com.example.steam.service;
+
+import com.example.steam.entity.AppDetails;
+import com.example.steam.event.AppReleasedEvent;
+import com.example.steam.event.LibraryUpdatedEvent;
+import com.example.steam.model.AppInfo;
+import com.example.steam.model.LibraryGame;
+import com.example.steam.repository.AppDetailsRepository;
+import com.example.steam.repository.OwnedGameRepository;
+import com.example.steam.util.TokenBucket;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * 스토어 appdetails 로 앱 메타데이터를 모아 DB 와 메모리 캐시에 두고, 조회는 캐시에서만 한다.
+ *
+ * appdetails 는 여러 appid 를 한 번에 물으면 filters=price_overview 만 허용하므로
+ * 장르/헤더 이미지 같은 본문은 앱마다 한 번 (basic,genres,categories 로 응답을 줄여) 받고,
+ * 자주 바뀌는 가격은 PRICE_BATCH_SIZE 개씩 묶어 주기적으로 다시 받는다.
+ * 모든 스토어 호출은 storeQuota 토큰을 받은 뒤에만 나간다.
+ * 라이브러리에 나온 appid (시작 시 저장된 라이브러리 전체 포함) 와 새로 출시된 앱을 백그라운드에서 채운다.
+ */
+@Service
+public class AppDetailsServiceImpl implements AppDetailsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(AppDetailsServiceImpl.class);
+
+    private static final String DETAILS_URL = "https://store.steampowered.com/api/appdetails?appids=%d&l=english&filters=basic,genres,categories";
+    private static final String PRICE_URL = "https://store.steampowered.com/api/appdetails?appids=%s&cc=%s&filters=price_overview";
+    // 한 URL 에 넣는 appid 수 (URL 길이 제한 안쪽)
+    private static final int PRICE_BATCH_SIZE = 100;
+    private static final String UNAVAILABLE = "unavailable";
+    // 조회 한 번에 수집 대기열로 넣는 최대 appid 수 (익명 요청이 대기열과 할당량을 채우지 않도록)
+    private static final int MAX_ENQUEUE_PER_LOOKUP = 100;
+
+    private final AppDetailsRepository appDetailsRepository;
+    private final OwnedGameRepository ownedGameRepository;
+    private final AppCatalogService appCatalogService;
+    private final RestTemplate restTemplate;
+    private final TokenBucket storeQuota;
+    private final String countryCode;
+
+    // 수집 대기열 (중복 없이 한 appid 는 한 번만 대기)
+    private final Queue<Integer> queue = new ConcurrentLinkedQueue<>();
+    private final Set<Integer> known = ConcurrentHashMap.newKeySet();
+    // 가격 갱신 대기열
+    private final Queue<Integer> priceQueue = new ConcurrentLinkedQueue<>();
+    private final Set<Integer> priceQueued = ConcurrentHashMap.newKeySet();
+    // 조회용 캐시 (수집 완료한 앱)
+    private final Map<Integer, AppInfo> infos = new ConcurrentHashMap<>();
+    private final AtomicLong version = new AtomicLong();
+    private volatile boolean loaded = false;
+
+    public AppDetailsServiceImpl(AppDetailsRepository appDetailsRepository,
+                                 OwnedGameRepository ownedGameRepository,
+                                 AppCatalogService appCatalogService,
+                                 RestTemplate restTemplate,
+                                 @Qualifier("storeQuota") TokenBucket storeQuota,
+                                 @Value("${steam.store.country:us}") String countryCode) {
+        this.appDetailsRepository = appDetailsRepository;
+        this.ownedGameRepository = ownedGameRepository;
+        this.appCatalogService = appCatalogService;
+        this.restTemplate = restTemplate;
+        this.storeQuota = storeQuota;
+        this.countryCode = countryCode;
+    }
+
+    @Override
+    public void enqueue(Collection<Integer> appids) {
+        load();
+        for (Integer appid : appids) {
+            // known 에는 수집 완료 + 대기 중인 appid 가 모두 들어 있다
+            if (known.add(appid)) {
+                queue.add(appid);
+            }
+        }
+    }
+
+    @Override
+    public Map<Integer, List<String>> getTagsByAppid() {
+        Map<Integer, List<String>> tags = new HashMap<>();
+        for (AppDetails details : appDetailsRepository.findAll()) {
+            List<String> appTags = details.toTags();
+            if (!appTags.isEmpty()) {
+                tags.put(details.getAppid(), appTags);
+            }
+        }
+        return tags;
+    }
+
+    @Override
+    public long getVersion() {
+        return version.get();
+    }
+
+    @Override
+    public Map<Integer, AppInfo> getAppInfo(Collection<Integer> appids) {
+        load();
+        Map<Integer, AppInfo> result = new LinkedHashMap<>();
+        List<Integer> missing = new ArrayList<>();
+        for (Integer appid : appids) {
+            AppInfo info = infos.get(appid);
+            if (info != null) {
+                result.put(appid, info);
+            } else if (missing.size() < MAX_ENQUEUE_PER_LOOKUP && appCatalogService.mightExist(appid)) {
+                // 카탈로그에 없는 appid 는 스토어에 묻지 않는다 (블룸 필터)
+                missing.add(appid);
+            }
+        }
+        enqueue(missing);
+        return result;
+    }
+
+    // 저장된 라이브러리에 나온 appid 를 모두 수집 대기열에 넣는다
+    @EventListener(ApplicationReadyEvent.class)
+    public void warmUp() {
+        try {
+            enqueue(ownedGameRepository.findDistinctAppids());
+            logger.info("App details warm-up: {} cached, {} queued for details, {} queued for prices",
+                    infos.size(), queue.size(), priceQueue.size());
+        } catch (Exception e) {
+            logger.error("Error warming app details cache", e);
+        }
+    }
+
+    // 라이브러리에 새로 보이는 appid 를 수집 대기열에 넣는다
+    @EventListener
+    public void onLibraryUpdated(LibraryUpdatedEvent event) {
+        enqueue(event.getGames().stream().map(LibraryGame::getAppid).collect(Collectors.toList()));
+    }
+
+    @EventListener
+    public void onAppReleased(AppReleasedEvent event) {
+        enqueue(List.of(event.getAppid()));
+    }
+
+    // 모든 앱의 가격을 다시 받도록 가격 대기열에 넣는다
+    @Scheduled(fixedDelayString = "${steam.store.price-refresh-interval-ms:21600000}",
+            initialDelayString = "${steam.store.price-refresh-interval-ms:21600000}")
+    public void refreshAllPrices() {
+        for (AppDetails details : appDetailsRepository.findAll()) {
+            queuePrice(details);
+        }
+    }
+
+    /**
+     * 할당량이 허락하는 만큼 가격 묶음과 본문을 받는다.
+     * 가격은 요청 하나로 PRICE_BATCH_SIZE 개라 먼저 처리한다.
+     */
+    @Scheduled(fixedDelayString = "${steam.store.ingest-interval-ms:1000}")
+    public void ingestPending() {
+        while (!priceQueue.isEmpty() && storeQuota.tryAcquire()) {
+            List<Integer> batch = new ArrayList<>(PRICE_BATCH_SIZE);
+            Integer appid;
+            while (batch.size() < PRICE_BATCH_SIZE && (appid = priceQueue.poll()) != null) {
+                priceQueued.remove(appid);
+                batch.add(appid);
+            }
+            try {
+                refreshPrices(batch);
+            } catch (RuntimeException e) {
+                // 묶음 하나가 실패해도 나머지 묶음과 본문 수집은 계속한다 (다음 가격 갱신 주기에 다시 시도)
+                logger.error("Error refreshing price batch of " + batch.size() + " apps", e);
+            }
+        }
+        while (!queue.isEmpty() && storeQuota.tryAcquire()) {
+            Integer appid = queue.poll();
+            if (appid == null) {
+                break;
+            }
+            try {
+                AppDetails details = appDetailsRepository.save(fetchAppDetails(appid));
+                infos.put(appid, toAppInfo(details));
+                queuePrice(details);
+                version.incrementAndGet();
+            } catch (RestClientException e) {
+                // 일시적인 오류는 다음 라이브러리 갱신 때 다시 시도
+                known.remove(appid);
+                logger.warn("Error fetching appdetails for appid: {}, {}", appid, e.getMessage());
+            } catch (RuntimeException e) {
+                // 예상과 다른 응답 모양이나 저장 실패도 known 에서 빼 두어야 다시 시도된다
+                known.remove(appid);
+                logger.error("Error storing appdetails for appid: " + appid, e);
+            }
+        }
+    }
+
+    private AppDetails fetchAppDetails(int appid) {
+        String url = String.format(DETAILS_URL, appid);
+        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+
+        AppDetails details = new AppDetails();
+        details.setAppid(appid);
+        details.setFetchedAt(LocalDateTime.now());
+
+        Map<String, Object> entry = response == null ? null : (Map<String, Object>) response.get(String.valueOf(appid));
+        if (entry == null || !Boolean.TRUE.equals(entry.get("success"))) {
+            // 스토어에서 내려간 게임도 다시 조회하지 않도록 빈 행으로 남긴다
+            details.setType(UNAVAILABLE);
+            return details;
+        }
+        Object body = entry.get("data");
+        if (!(body instanceof Map)) {
+            details.setType(UNAVAILABLE);
+            return details;
+        }
+        Map<String, Object> data = (Map<String, Object>) body;
+        details.setName((String) data.get("name"));
+        details.setType((String) data.get("type"));
+        details.setGenres(joinDescriptions(data.get("genres")));
+        details.setCategories(joinDescriptions(data.get("categories")));
+        details.setHeaderImage((String) data.get("header_image"));
+        details.setFree(Boolean.TRUE.equals(data.get("is_free")));
+        return details;
+    }
+
+    // price_overview 묶음 조회 결과를 저장된 행에 반영한다 (무료이거나 판매하지 않는 앱은 가격 없음)
+    private void refreshPrices(List<Integer> appids) {
+        if (appids.isEmpty()) {
+            return;
+        }
+        String joined = appids.stream().map(String::valueOf).collect(Collectors.joining(","));
+        Map<String, Object> response;
+        try {
+            response = restTemplate.getForObject(String.format(PRICE_URL, joined, countryCode), Map.class);
+        } catch (RestClientException e) {
+            // 다음 가격 갱신 주기에 다시 시도
+            logger.warn("Error fetching price batch of {} apps: {}", appids.size(), e.getMessage());
+            return;
+        }
+        if (response == null) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        List<AppDetails> updated = new ArrayList<>(appids.size());
+        for (AppDetails details : appDetailsRepository.findAllById(appids)) {
+            Object entry = response.get(String.valueOf(details.getAppid()));
+            if (!(entry instanceof Map) || !Boolean.TRUE.equals(((Map<String, Object>) entry).get("success"))) {
+                continue;
+            }
+            // 가격이 없으면 data 가 빈 배열로 온다
+            Object data = ((Map<String, Object>) entry).get("data");
+            Object price = data instanceof Map ? ((Map<String, Object>) data).get("price_overview") : null;
+            if (price instanceof Map) {
+                Map<String, Object> overview = (Map<String, Object>) price;
+                Object currency = overview.get("currency");
+                details.setPriceCurrency(currency instanceof String ? (String) currency : null);
+                details.setPriceInitial(toInteger(overview.get("initial")));
+                details.setPriceFinal(toInteger(overview.get("final")));
+                details.setDiscountPercent(toInteger(overview.get("discount_percent")));
+            } else {
+                details.setPriceCurrency(null);
+                details.setPriceInitial(null);
+                details.setPriceFinal(null);
+                details.setDiscountPercent(null);
+            }
+            details.setPriceFetchedAt(now);
+            updated.add(details);
+        }
+        for (AppDetails details : appDetailsRepository.saveAll(updated)) {
+            infos.put(details.getAppid(), toAppInfo(details));
+        }
+    }
+
+    private void queuePrice(AppDetails details) {
+        if (!UNAVAILABLE.equals(details.getType()) && priceQueued.add(details.getAppid())) {
+            priceQueue.add(details.getAppid());
+        }
+    }
+
+    private static AppInfo toAppInfo(AppDetails details) {
+        return AppInfo.builder()
+                .appid(details.getAppid())
+                .name(details.getName())
+                .type(details.getType())
+                .genres(details.getGenres() == null || details.getGenres().isEmpty()
+                        ? List.of() : Arrays.asList(details.getGenres().split(",")))
+                .headerImage(details.headerImageUrl())
+                .free(details.isFree())
+                .currency(details.getPriceCurrency())
+                .priceInitial(details.getPriceInitial())
+                .priceFinal(details.getPriceFinal())
+                .discountPercent(details.getDiscountPercent())
+                .build();
+    }
+
+    private static Integer toInteger(Object value) {
+        return value instanceof Number ? ((Number) value).intValue() : null;
+    }
+
+    // [{"id": "1", "description": "Action"}, ...] -> "Action,..."
+    private static String joinDescriptions(Object values) {
+        if (!(values instanceof List)) {
+            return null;
+        }
+        return ((List<Map<String, Object>>) values).stream()
+                .map(value -> String.valueOf(value.get("description")).replace(",", " "))
+                .collect(Collectors.joining(","));
+    }
+
+    // 수집한 appid 와 캐시를 DB 에서 한 번 채운다 (가격을 받은 적 없는 앱은 가격 대기열에)
+    private void load() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    for (AppDetails details : appDetailsRepository.findAll()) {
+                        known.add(details.getAppid());
+                        infos.put(details.getAppid(), toAppInfo(details));
+                        if (details.getPriceFetchedAt() == null) {
+                            queuePrice(details);
+                        }
+                    }
+                    loaded = true;
+                }
+            }
+        }
+    }
+}
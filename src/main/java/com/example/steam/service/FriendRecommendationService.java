@@ -0,0 +1,10 @@
+package com.example.steam.service;
+
+import com.example.steam.model.FriendPopularGame;
+
+import java.util.List;
+
+public interface FriendRecommendationService {
+
+    List<FriendPopularGame> getPopularAmongFriends(String steamId, int limit); // 친구들이 많이 가진 게임 (내가 가진 게임 제외)
+}
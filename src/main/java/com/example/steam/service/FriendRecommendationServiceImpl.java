@@ -0,0 +1,230 @@
+package com.example.steam.service;
+
+import com.example.steam.entity.AppDetails;
+import com.example.steam.event.LibraryUpdatedEvent;
+import com.example.steam.model.FriendPopularGame;
+import com.example.steam.model.SteamUser;
+import com.example.steam.recommend.BitSlicedCounter;
+import com.example.steam.recommend.LibraryRegistry;
+import com.example.steam.recommend.ScoredGame;
+import com.example.steam.recommend.TopK;
+import com.example.steam.recommend.UserLibrary;
+import com.example.steam.repository.AppDetailsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+@Service
+public class FriendRecommendationServiceImpl implements FriendRecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(FriendRecommendationServiceImpl.class);
+
+    // 공개 프로필 (communityvisibilitystate)
+    private static final int PUBLIC_PROFILE = 3;
+
+    private final SteamService steamService;
+    private final LibrarySyncService librarySyncService;
+    private final LibraryRegistry libraryRegistry;
+    private final AppDetailsRepository appDetailsRepository;
+    private final int maxLibraryFetches;
+    private final int cachedSize;
+    private final long cacheTtlMillis;
+    private final int maxCachedUsers;
+
+    // steamId -> 계산해 둔 결과, friendId -> 그 친구를 친구 목록에 둔 (캐시된) 사용자들
+    // 결과는 TTL 이 지나거나 사용자 수 상한을 넘으면 버리고, 버릴 때 dependents 에서도 뺀다
+    private final Map<String, CachedFriends> cache = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> dependents = new ConcurrentHashMap<>();
+
+    public FriendRecommendationServiceImpl(SteamService steamService,
+                                           LibrarySyncService librarySyncService,
+                                           LibraryRegistry libraryRegistry,
+                                           AppDetailsRepository appDetailsRepository,
+                                           @Value("${recommend.friends.max-library-fetches:50}") int maxLibraryFetches,
+                                           @Value("${recommend.friends.cached-size:100}") int cachedSize,
+                                           @Value("${recommend.friends.cache-ttl-minutes:360}") long cacheTtlMinutes,
+                                           @Value("${recommend.friends.max-cached-users:10000}") int maxCachedUsers) {
+        this.steamService = steamService;
+        this.librarySyncService = librarySyncService;
+        this.libraryRegistry = libraryRegistry;
+        this.appDetailsRepository = appDetailsRepository;
+        this.maxLibraryFetches = maxLibraryFetches;
+        this.cachedSize = cachedSize;
+        this.cacheTtlMillis = TimeUnit.MINUTES.toMillis(cacheTtlMinutes);
+        this.maxCachedUsers = Math.max(1, maxCachedUsers);
+    }
+
+    @Override
+    public List<FriendPopularGame> getPopularAmongFriends(String steamId, int limit) {
+        if (steamId == null) {
+            return new ArrayList<>();  // 스팀 계정을 연동하지 않은 사용자
+        }
+        long now = System.currentTimeMillis();
+        CachedFriends cached = cache.get(steamId);
+        if (cached == null || now - cached.computedAt() > cacheTtlMillis) {
+            if (cached != null) {
+                evict(steamId);
+            }
+            cached = compute(steamId, now);
+            cache.put(steamId, cached);
+            if (cache.size() > maxCachedUsers) {
+                trim(now);
+            }
+        }
+        List<FriendPopularGame> games = cached.games();
+        return games.size() > limit ? new ArrayList<>(games.subList(0, limit)) : games;
+    }
+
+    /**
+     * 친구나 본인의 라이브러리 스냅샷이 계산 당시와 달라졌을 때만 캐시를 버린다.
+     * (같은 라이브러리를 다시 가져온 경우는 해시가 같아 유지)
+     */
+    @EventListener
+    public void onLibraryUpdated(LibraryUpdatedEvent event) {
+        String changed = event.getSteamId();
+        long hash = event.toUserLibrary().libraryHash();
+        CachedFriends own = cache.get(changed);
+        if (own != null && !Objects.equals(own.ownHash(), hash)) {
+            evict(changed);
+        }
+        Set<String> users = dependents.get(changed);
+        if (users == null) {
+            return;
+        }
+        for (String user : users) {
+            CachedFriends cached = cache.get(user);
+            // 계산 때 가져오지 못한 친구는 friendHashes 에 없으므로 라이브러리가 들어오면 다시 계산된다
+            if (cached != null && !Objects.equals(cached.friendHashes().get(changed), hash)) {
+                evict(user);
+                logger.debug("Friend cache invalidated for steamId: {} (friend {} changed)", user, changed);
+            }
+        }
+    }
+
+    // 결과를 버리고 그 사용자를 친구들의 dependents 에서도 뺀다
+    private void evict(String steamId) {
+        CachedFriends removed = cache.remove(steamId);
+        if (removed == null) {
+            return;
+        }
+        for (String friendId : removed.friendIds()) {
+            dependents.computeIfPresent(friendId, (id, users) -> {
+                users.remove(steamId);
+                return users.isEmpty() ? null : users;
+            });
+        }
+    }
+
+    // 만료된 결과를 버리고, 그래도 상한을 넘으면 오래된 순으로 상한의 90% 까지 버린다
+    private synchronized void trim(long now) {
+        for (Map.Entry<String, CachedFriends> entry : cache.entrySet()) {
+            if (now - entry.getValue().computedAt() > cacheTtlMillis) {
+                evict(entry.getKey());
+            }
+        }
+        int excess = cache.size() - maxCachedUsers * 9 / 10;
+        if (excess <= 0) {
+            return;
+        }
+        List<Map.Entry<String, CachedFriends>> entries = new ArrayList<>(cache.entrySet());
+        entries.sort(Comparator.comparingLong(entry -> entry.getValue().computedAt()));
+        for (int i = 0; i < excess && i < entries.size(); i++) {
+            evict(entries.get(i).getKey());
+        }
+    }
+
+    private CachedFriends compute(String steamId, long now) {
+        List<String> friendIds = steamService.getFriendIds(steamId);
+        List<String> publicIds = new ArrayList<>();
+        for (SteamUser friend : steamService.getPlayerSummaries(friendIds)) {
+            if (friend.getCommunityvisibilitystate() == PUBLIC_PROFILE && friend.getSteamId() != null) {
+                publicIds.add(friend.getSteamId());
+            }
+        }
+
+        // 요청 안에서는 registry 에 있는 라이브러리만 쓴다. 없는 친구(와 본인)는 요청당 상한까지
+        // 백그라운드 할당량 대기열에 넘기고, 들어오면 LibraryUpdatedEvent 로 이 결과가 버려져 다시 계산된다
+        List<UserLibrary> libraries = new ArrayList<>();
+        int queued = 0;
+        for (String friendId : publicIds) {
+            UserLibrary library = libraryRegistry.get(friendId);
+            if (library != null) {
+                libraries.add(library);
+            } else if (queued < maxLibraryFetches) {
+                queued++;
+                librarySyncService.fetchOnce(friendId);
+            }
+        }
+        UserLibrary own = libraryRegistry.get(steamId);
+        if (own == null) {
+            librarySyncService.fetchOnce(steamId);
+        }
+
+        // 친구들이 가진 appid 를 밀집 번호로 바꾸고, 친구별 비트셋을 비트 슬라이스 카운터로 합산
+        int[] dictionary = libraries.stream()
+                .flatMapToInt(library -> Arrays.stream(library.appids()))
+                .distinct().sorted().toArray();
+        BitSlicedCounter counter = new BitSlicedCounter(dictionary.length);
+        long[] playtimeSums = new long[dictionary.length];
+        long[] bits = new long[(dictionary.length + 63) >>> 6];
+        Map<String, Long> friendHashes = new HashMap<>();
+        for (UserLibrary library : libraries) {
+            Arrays.fill(bits, 0L);
+            for (int i = 0; i < library.size(); i++) {
+                int index = Arrays.binarySearch(dictionary, library.appids()[i]);
+                BitSlicedCounter.set(bits, index);
+                playtimeSums[index] += library.playtimes()[i];
+            }
+            counter.add(bits);
+            friendHashes.put(library.steamId(), library.libraryHash());
+        }
+
+        // 친구 수 순, 같으면 누적 플레이 시간 순 (소수부에 0~1 로 눌러 담음)
+        TopK top = new TopK(cachedSize);
+        for (int index = counter.nextSetBit(0); index >= 0; index = counter.nextSetBit(index + 1)) {
+            int appid = dictionary[index];
+            if (own != null && own.owns(appid)) {
+                continue;
+            }
+            double tieBreak = playtimeSums[index] / (playtimeSums[index] + 60_000.0);
+            top.offer(appid, (float) (counter.count(index) + tieBreak));
+        }
+        List<ScoredGame> scored = top.toScoredGames();
+
+        Map<Integer, String> names = new HashMap<>();
+        for (AppDetails details : appDetailsRepository.findAllById(scored.stream().map(ScoredGame::appid).toList())) {
+            names.put(details.getAppid(), details.getName());
+        }
+        List<FriendPopularGame> games = new ArrayList<>(scored.size());
+        for (ScoredGame game : scored) {
+            int index = Arrays.binarySearch(dictionary, game.appid());
+            games.add(new FriendPopularGame(game.appid(), names.get(game.appid()), counter.count(index),
+                    (int) Math.min(Integer.MAX_VALUE, playtimeSums[index])));
+        }
+
+        // 아직 라이브러리가 없는 친구도 등록해 두어야 나중에 라이브러리가 들어왔을 때 캐시를 버린다
+        for (String friendId : publicIds) {
+            dependents.computeIfAbsent(friendId, id -> ConcurrentHashMap.newKeySet()).add(steamId);
+        }
+        logger.info("Friend aggregation for steamId: {} ({} friends, {} public, {} libraries, {} queued, {} games)",
+                steamId, friendIds.size(), publicIds.size(), libraries.size(), queued, dictionary.length);
+        return new CachedFriends(games, friendHashes, own == null ? null : own.libraryHash(), publicIds, now);
+    }
+
+    private record CachedFriends(List<FriendPopularGame> games, Map<String, Long> friendHashes, Long ownHash,
+                                 List<String> friendIds, long computedAt) {
+    }
+}
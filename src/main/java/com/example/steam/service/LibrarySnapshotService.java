@@ -0,0 +1,17 @@
+package com.example.steam.service;
+
+import com.example.steam.entity.LibrarySnapshot;
+import com.example.steam.entity.OwnedGame;
+import com.example.steam.model.LibraryGame;
+
+import java.util.List;
+import java.util.Optional;
+
+public interface LibrarySnapshotService {
+
+    int saveLibrary(String steamId, List<LibraryGame> games); // GetOwnedGames 결과를 저장된 스냅샷과 비교해 바뀐 행만 저장, 바뀐 게임 수 반환
+
+    Optional<LibrarySnapshot> getSnapshot(String steamId); // 마지막 동기화 요약
+
+    List<OwnedGame> getOwnedGames(String steamId); // 저장된 보유 게임 (appid 순)
+}
@@ -0,0 +1,184 @@
+package com.example.steam.service;
+
+import com.example.steam.entity.LibrarySnapshot;
+import com.example.steam.entity.OwnedGame;
+import com.example.steam.event.LibraryChangedEvent;
+import com.example.steam.event.LibraryRestoredEvent;
+import com.example.steam.event.LibraryUpdatedEvent;
+import com.example.steam.model.LibraryGame;
+import com.example.steam.recommend.LibraryRegistry;
+import com.example.steam.recommend.UserLibrary;
+import com.example.steam.repository.LibrarySnapshotRepository;
+import com.example.steam.repository.OwnedGameJdbcRepository;
+import com.example.steam.repository.OwnedGameRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class LibrarySnapshotServiceImpl implements LibrarySnapshotService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LibrarySnapshotServiceImpl.class);
+
+    private final OwnedGameJdbcRepository ownedGameJdbcRepository;
+    private final OwnedGameRepository ownedGameRepository;
+    private final LibrarySnapshotRepository librarySnapshotRepository;
+    private final LibraryRegistry libraryRegistry;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public LibrarySnapshotServiceImpl(OwnedGameJdbcRepository ownedGameJdbcRepository,
+                                      OwnedGameRepository ownedGameRepository,
+                                      LibrarySnapshotRepository librarySnapshotRepository,
+                                      LibraryRegistry libraryRegistry,
+                                      TransactionTemplate transactionTemplate,
+                                      ApplicationEventPublisher eventPublisher) {
+        this.ownedGameJdbcRepository = ownedGameJdbcRepository;
+        this.ownedGameRepository = ownedGameRepository;
+        this.librarySnapshotRepository = librarySnapshotRepository;
+        this.libraryRegistry = libraryRegistry;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+    }
+
+    /**
+     * 저장된 스냅샷과 비교해 추가되거나 내용 해시가 바뀐 게임 행만 쓰고, 빠진 게임 행은 지운다.
+     * 라이브러리 내용 해시가 저장된 값과 같으면 해시 비교 한 번으로 끝나고 아무것도 쓰지 않는다.
+     * 바뀐 게임이 있으면 커밋 후 변경분만 담은 LibraryChangedEvent 를 발행한다.
+     * (이벤트 리스너에서 호출해도 트랜잭션이 적용되도록 TransactionTemplate 사용)
+     */
+    @Override
+    public int saveLibrary(String steamId, List<LibraryGame> games) {
+        // appid 순 정렬 + 중복 제거 (같은 appid 가 두 번 오면 첫 항목만)
+        List<LibraryGame> sorted = games.stream().sorted(Comparator.comparingInt(LibraryGame::getAppid)).toList();
+        List<LibraryGame> distinct = new ArrayList<>(sorted.size());
+        for (LibraryGame game : sorted) {
+            if (distinct.isEmpty() || distinct.get(distinct.size() - 1).getAppid() != game.getAppid()) {
+                distinct.add(game);
+            }
+        }
+        int[] appids = new int[distinct.size()];
+        int[] playtimes = new int[distinct.size()];
+        long totalPlaytime = 0;
+        long contentHash = 0;
+        for (int i = 0; i < distinct.size(); i++) {
+            appids[i] = distinct.get(i).getAppid();
+            playtimes[i] = distinct.get(i).getPlaytime_forever();
+            totalPlaytime += playtimes[i];
+            contentHash += distinct.get(i).contentHash();
+        }
+        Optional<LibrarySnapshot> stored = librarySnapshotRepository.findById(steamId);
+        if (stored.isPresent() && Objects.equals(stored.get().getContentHash(), contentHash)) {
+            return 0;
+        }
+
+        long libraryHash = new UserLibrary(steamId, appids, playtimes).libraryHash();
+        long total = totalPlaytime;
+        long hash = contentHash;
+        // DATETIME 정밀도와 무관하게 비교되도록 초 단위로 자른다
+        LocalDateTime syncedAt = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+
+        List<LibraryChangedEvent.GameChange> changes = transactionTemplate.execute(status -> {
+            List<LibraryChangedEvent.GameChange> diff = new ArrayList<>();
+            List<LibraryGame> upserts = new ArrayList<>();
+            List<Integer> removed = new ArrayList<>();
+            // 둘 다 appid 오름차순이므로 한 번에 병합하며 비교
+            List<OwnedGame> previous = ownedGameJdbcRepository.findGames(steamId);
+            int i = 0;
+            int j = 0;
+            while (i < distinct.size() || j < previous.size()) {
+                LibraryGame current = i < distinct.size() ? distinct.get(i) : null;
+                OwnedGame before = j < previous.size() ? previous.get(j) : null;
+                int order = current == null ? 1 : before == null ? -1 : Integer.compare(current.getAppid(), before.getAppid());
+                if (order < 0) {
+                    diff.add(new LibraryChangedEvent.GameChange(current.getAppid(), null, current));
+                    upserts.add(current);
+                    i++;
+                } else if (order > 0) {
+                    diff.add(new LibraryChangedEvent.GameChange(before.getAppid(), before.toLibraryGame(), null));
+                    removed.add(before.getAppid());
+                    j++;
+                } else {
+                    if (!Objects.equals(before.getContentHash(), current.contentHash())) {
+                        diff.add(new LibraryChangedEvent.GameChange(current.getAppid(), before.toLibraryGame(), current));
+                        upserts.add(current);
+                    }
+                    i++;
+                    j++;
+                }
+            }
+            ownedGameJdbcRepository.upsertGames(steamId, upserts, syncedAt);
+            ownedGameJdbcRepository.deleteGames(steamId, removed);
+
+            LibrarySnapshot snapshot = stored.orElseGet(LibrarySnapshot::new);
+            snapshot.setSteamId(steamId);
+            snapshot.setGameCount(distinct.size());
+            snapshot.setTotalPlaytime(total);
+            snapshot.setLibraryHash(libraryHash);
+            snapshot.setContentHash(hash);
+            snapshot.setSyncedAt(syncedAt);
+            librarySnapshotRepository.save(snapshot);
+            return diff;
+        });
+        if (changes != null && !changes.isEmpty()) {
+            eventPublisher.publishEvent(new LibraryChangedEvent(steamId, changes, stored.isEmpty(), hash));
+        }
+        return changes == null ? 0 : changes.size();
+    }
+
+    @Override
+    public Optional<LibrarySnapshot> getSnapshot(String steamId) {
+        return librarySnapshotRepository.findById(steamId);
+    }
+
+    @Override
+    public List<OwnedGame> getOwnedGames(String steamId) {
+        return ownedGameRepository.findBySteamIdOrderByAppid(steamId);
+    }
+
+    // 라이브러리를 새로 가져올 때마다 저장 (저장 실패가 조회 응답을 막지 않도록 로그만 남긴다)
+    @EventListener
+    public void onLibraryUpdated(LibraryUpdatedEvent event) {
+        try {
+            long start = System.currentTimeMillis();
+            int changed = saveLibrary(event.getSteamId(), event.getGames());
+            logger.debug("Library sync for steamId: {} ({} games, {} changed) in {} ms",
+                    event.getSteamId(), event.getGames().size(), changed, System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error storing library snapshot for steamId: " + event.getSteamId(), e);
+        }
+    }
+
+    // 재시작 후에도 추천 색인이 비지 않도록 저장된 라이브러리로 registry 를 채운다
+    @EventListener(ApplicationReadyEvent.class)
+    public void restoreLibraries() {
+        long start = System.currentTimeMillis();
+        AtomicInteger users = new AtomicInteger();
+        try {
+            ownedGameJdbcRepository.forEachLibrary(library -> {
+                if (libraryRegistry.get(library.steamId()) == null) {
+                    libraryRegistry.put(library);
+                    eventPublisher.publishEvent(new LibraryRestoredEvent(library));
+                    users.incrementAndGet();
+                }
+            });
+            logger.info("Restored {} stored libraries into the registry in {} ms",
+                    users.get(), System.currentTimeMillis() - start);
+        } catch (Exception e) {
+            logger.error("Error restoring stored libraries", e);
+        }
+    }
+}
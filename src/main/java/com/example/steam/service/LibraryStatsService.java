@@ -0,0 +1,8 @@
+package com.example.steam.service;
+
+import com.example.steam.model.LibraryStatsSummary;
+
+public interface LibraryStatsService {
+
+    LibraryStatsSummary getSummary(String steamId); // 라이브러리 통계 요약 (변경분으로 갱신해 둔 집계에서 바로 만든다)
+}
@@ -0,0 +1,168 @@
+package com.example.steam.service;
+
+import com.example.steam.entity.OwnedGame;
+import com.example.steam.event.LibraryChangedEvent;
+import com.example.steam.model.LibraryGame;
+import com.example.steam.model.LibraryStatsSummary;
+import com.example.steam.stats.LibraryStats;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 사용자별 라이브러리 통계를 메모리에 들고 LibraryChangedEvent 의 게임 변경분만 더하고 빼서 갱신한다.
+ * 요약 요청은 저장된 보유 게임 전체를 읽지 않고 집계에서 바로 만든다.
+ *
+ * 집계가 없거나 믿을 수 없을 때만 (처음 요청, 상위 목록 stale, 내용 해시 불일치) 저장된 보유 게임으로 다시 만든다.
+ * 저장된 보유 게임이 없으면 Steam 에서 라이브러리를 가져온다.
+ * 이벤트의 내용 해시와 집계의 해시가 같으면 이미 반영된 상태이므로 건너뛴다 (다시 만드는 중에 도착한 이벤트).
+ */
+@Service
+public class LibraryStatsServiceImpl implements LibraryStatsService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LibraryStatsServiceImpl.class);
+
+    private static final int LOCK_STRIPES = 64;
+    private static final int MOST_PLAYED = 5;
+    private static final String[] BUCKET_LABELS = {"never", "under1h", "1to10h", "10to50h", "50to100h", "over100h"};
+
+    private final LibrarySnapshotService librarySnapshotService;
+    private final SteamService steamService;
+    private final AppCatalogService appCatalogService;
+    private final Map<String, LibraryStats> stats = new ConcurrentHashMap<>();
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public LibraryStatsServiceImpl(LibrarySnapshotService librarySnapshotService,
+                                   SteamService steamService,
+                                   AppCatalogService appCatalogService) {
+        this.librarySnapshotService = librarySnapshotService;
+        this.steamService = steamService;
+        this.appCatalogService = appCatalogService;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @EventListener
+    public void onLibraryChanged(LibraryChangedEvent event) {
+        String steamId = event.getSteamId();
+        synchronized (lock(steamId)) {
+            LibraryStats current = stats.get(steamId);
+            if (current == null) {
+                if (event.isFirstSnapshot()) {
+                    // 첫 저장이면 변경분이 곧 라이브러리 전체
+                    current = new LibraryStats();
+                    apply(current, event.getChanges());
+                    stats.put(steamId, current);
+                }
+                return;  // 아직 요청한 적 없는 사용자는 요청 때 만든다
+            }
+            if (current.contentHash() == event.getContentHash()) {
+                return;
+            }
+            apply(current, event.getChanges());
+            if (current.contentHash() != event.getContentHash() || current.isStale()) {
+                // 놓친 이벤트가 있었거나 상위 목록 밖 게임이 올라와야 할 수 있다: 다음 요청 때 다시 만든다
+                stats.remove(steamId);
+            }
+        }
+    }
+
+    @Override
+    public LibraryStatsSummary getSummary(String steamId) {
+        synchronized (lock(steamId)) {
+            LibraryStats current = stats.get(steamId);
+            if (current == null) {
+                List<OwnedGame> owned = librarySnapshotService.getOwnedGames(steamId);
+                if (!owned.isEmpty()) {
+                    current = new LibraryStats();
+                    for (OwnedGame game : owned) {
+                        add(current, game.toLibraryGame());
+                    }
+                    stats.put(steamId, current);
+                }
+            }
+            if (current != null) {
+                return toSummary(current);
+            }
+        }
+        // 저장된 적 없는 라이브러리: Steam 호출은 잠금 밖에서 (저장되면서 첫 스냅샷 이벤트로 집계가 만들어진다)
+        List<LibraryGame> games;
+        try {
+            games = steamService.getLibrary(steamId);
+        } catch (Exception e) {
+            logger.error("Error fetching library for stats for steamId: " + steamId, e);
+            games = List.of();
+        }
+        synchronized (lock(steamId)) {
+            LibraryStats current = stats.get(steamId);
+            if (current == null) {
+                current = new LibraryStats();
+                for (LibraryGame game : games) {
+                    add(current, game);
+                }
+                if (!games.isEmpty()) {
+                    stats.put(steamId, current);
+                }
+            }
+            return toSummary(current);
+        }
+    }
+
+    private static void add(LibraryStats target, LibraryGame game) {
+        target.apply(game.getAppid(), false, 0, 0, 0L,
+                true, game.getPlaytime_forever(), game.getPlaytime_2weeks(), game.contentHash());
+    }
+
+    private static void apply(LibraryStats target, List<LibraryChangedEvent.GameChange> changes) {
+        for (LibraryChangedEvent.GameChange change : changes) {
+            LibraryGame before = change.before();
+            LibraryGame after = change.after();
+            target.apply(change.appid(),
+                    before != null,
+                    before == null ? 0 : before.getPlaytime_forever(),
+                    before == null ? 0 : before.getPlaytime_2weeks(),
+                    before == null ? 0L : before.contentHash(),
+                    after != null,
+                    after == null ? 0 : after.getPlaytime_forever(),
+                    after == null ? 0 : after.getPlaytime_2weeks(),
+                    after == null ? 0L : after.contentHash());
+        }
+    }
+
+    private LibraryStatsSummary toSummary(LibraryStats current) {
+        Map<String, Integer> distribution = new LinkedHashMap<>();
+        for (int b = 0; b < BUCKET_LABELS.length; b++) {
+            distribution.put(BUCKET_LABELS[b], current.bucketCount(b));
+        }
+        int limit = Math.min(MOST_PLAYED, current.topSize());
+        List<LibraryStatsSummary.MostPlayed> mostPlayed = new ArrayList<>(limit);
+        for (int i = 0; i < limit; i++) {
+            int appid = current.topAppid(i);
+            mostPlayed.add(new LibraryStatsSummary.MostPlayed(appid, appCatalogService.getName(appid), current.topPlaytime(i)));
+        }
+        int games = current.gameCount();
+        int played = current.playedCount();
+        return LibraryStatsSummary.builder()
+                .gameCount(games)
+                .playedCount(played)
+                .neverPlayedRatio(games == 0 ? 0 : (double) (games - played) / games)
+                .totalPlaytimeMinutes(current.totalPlaytime())
+                .recentPlaytimeMinutes(current.recentPlaytime())
+                .averagePlaytimeMinutes(played == 0 ? 0 : current.totalPlaytime() / played)
+                .playtimeDistribution(distribution)
+                .mostPlayed(mostPlayed)
+                .build();
+    }
+
+    private Object lock(String steamId) {
+        return locks[Math.floorMod(steamId.hashCode(), LOCK_STRIPES)];
+    }
+}
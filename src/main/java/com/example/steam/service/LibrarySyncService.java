@@ -0,0 +1,12 @@
+package com.example.steam.service;
+
+import com.example.steam.model.LibrarySyncStatus;
+
+public interface LibrarySyncService {
+
+    void track(String steamId); // 백그라운드 동기화 대상에 추가 (이미 있으면 무시)
+
+    void fetchOnce(String steamId); // 할당량 안에서 라이브러리를 한 번만 가져온다 (친구 등 주기 동기화 대상이 아닌 사용자)
+
+    LibrarySyncStatus getStatus(); // 대기열 깊이, 지연 등 동기화 지표
+}
@@ -0,0 +1,321 @@
+package com.example.steam.service;
+
+import com.example.steam.entity.LibrarySnapshot;
+import com.example.steam.event.LibraryUpdatedEvent;
+import com.example.steam.model.LibraryGame;
+import com.example.steam.model.LibrarySyncStatus;
+import com.example.steam.repository.LibrarySnapshotRepository;
+import com.example.steam.repository.UserRepository;
+import com.example.steam.util.TokenBucket;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 연동 사용자 라이브러리를 요청과 무관하게 백그라운드에서 갱신한다.
+ *
+ * 다음 동기화 예정 시각을 키로 하는 DelayQueue 에서 디스패처 스레드가 하나씩 꺼내
+ * Steam 할당량(TokenBucket) 토큰을 받은 뒤 고정 크기 워커 풀에 넘긴다.
+ * 동기화 주기는 최근 활동에 따라 정한다: 최근 2주 플레이가 있으면 짧게, 한 달 넘게 쉬면 길게.
+ * 모든 주기에 ±jitter 를 곱해 같은 시각에 몰리지 않게 한다.
+ *
+ * 재예약은 대기열에서 기존 항목을 지우지 않고 steamId -> 예정 시각 맵만 바꾼다.
+ * 꺼낸 항목의 예정 시각이 맵과 다르면 무효 항목으로 보고 건너뛴다 (O(log n) 재예약).
+ *
+ * 친구 라이브러리처럼 한 번만 필요한 사용자는 fetchOnce 로 같은 대기열과 할당량을 거쳐 가져오고 재예약하지 않는다.
+ */
+@Service
+public class LibrarySyncServiceImpl implements LibrarySyncService {
+
+    private static final Logger logger = LoggerFactory.getLogger(LibrarySyncServiceImpl.class);
+
+    private static final long RECENT_PLAY_SECONDS = 30L * 86400;
+    // 지연 지수 이동 평균 가중치
+    private static final double LAG_EWMA_ALPHA = 0.1;
+
+    private final SteamService steamService;
+    private final UserRepository userRepository;
+    private final LibrarySnapshotRepository librarySnapshotRepository;
+    private final TokenBucket steamQuota;
+    private final boolean enabled;
+    private final long activeIntervalMillis;
+    private final long recentIntervalMillis;
+    private final long dormantIntervalMillis;
+    private final double jitter;
+    private final int workers;
+    private final int maxPendingFetches;
+
+    private final DelayQueue<SyncTask> queue = new DelayQueue<>();
+    private final Map<String, Long> scheduled = new ConcurrentHashMap<>();
+    private final Set<String> pendingFetches = ConcurrentHashMap.newKeySet();
+    private final ExecutorService executor;
+    private final Semaphore workerPermits;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private volatile long lastLagMillis;
+    private volatile double averageLagMillis;
+    private volatile Thread dispatcher;
+
+    public LibrarySyncServiceImpl(SteamService steamService,
+                                  UserRepository userRepository,
+                                  LibrarySnapshotRepository librarySnapshotRepository,
+                                  @Qualifier("steamQuota") TokenBucket steamQuota,
+                                  @Value("${library.sync.enabled:true}") boolean enabled,
+                                  @Value("${library.sync.active-interval-minutes:30}") long activeIntervalMinutes,
+                                  @Value("${library.sync.recent-interval-hours:6}") long recentIntervalHours,
+                                  @Value("${library.sync.dormant-interval-hours:72}") long dormantIntervalHours,
+                                  @Value("${library.sync.jitter:0.2}") double jitter,
+                                  @Value("${library.sync.workers:4}") int workers,
+                                  @Value("${library.sync.max-pending-fetches:10000}") int maxPendingFetches) {
+        this.steamService = steamService;
+        this.userRepository = userRepository;
+        this.librarySnapshotRepository = librarySnapshotRepository;
+        this.steamQuota = steamQuota;
+        this.enabled = enabled;
+        this.activeIntervalMillis = TimeUnit.MINUTES.toMillis(activeIntervalMinutes);
+        this.recentIntervalMillis = TimeUnit.HOURS.toMillis(recentIntervalHours);
+        this.dormantIntervalMillis = TimeUnit.HOURS.toMillis(dormantIntervalHours);
+        this.jitter = jitter;
+        this.workers = Math.max(1, workers);
+        this.maxPendingFetches = Math.max(0, maxPendingFetches);
+        this.workerPermits = new Semaphore(this.workers);
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(this.workers, r -> {
+            Thread thread = new Thread(r, "library-sync-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // 연동 사용자를 모두 등록하고 디스패처를 시작한다
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            logger.info("Background library sync disabled");
+            return;
+        }
+        List<String> steamIds = userRepository.findAllLinkedSteamIds();
+        Map<String, LibrarySnapshot> snapshots = new HashMap<>();
+        for (LibrarySnapshot snapshot : librarySnapshotRepository.findAllById(steamIds)) {
+            snapshots.put(snapshot.getSteamId(), snapshot);
+        }
+        long now = System.currentTimeMillis();
+        for (String steamId : steamIds) {
+            LibrarySnapshot snapshot = snapshots.get(steamId);
+            long due;
+            if (snapshot == null || snapshot.getSyncedAt() == null) {
+                // 저장된 적 없는 사용자는 첫 주기 안에 고르게 흩어 시작
+                due = now + (long) (ThreadLocalRandom.current().nextDouble() * recentIntervalMillis);
+            } else {
+                long syncedAt = snapshot.getSyncedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+                due = Math.max(now, syncedAt + jittered(recentIntervalMillis));
+            }
+            schedule(steamId, due);
+        }
+
+        Thread thread = new Thread(this::dispatch, "library-sync-dispatcher");
+        thread.setDaemon(true);
+        dispatcher = thread;
+        thread.start();
+        logger.info("Background library sync started for {} users with {} workers", steamIds.size(), workers);
+    }
+
+    // 새로 연동한 사용자 반영
+    @Scheduled(fixedDelayString = "${library.sync.refresh-users-interval-ms:600000}", initialDelay = 600000)
+    public void refreshTrackedUsers() {
+        if (dispatcher == null) {
+            return;
+        }
+        for (String steamId : userRepository.findAllLinkedSteamIds()) {
+            track(steamId);
+        }
+    }
+
+    @Override
+    public void track(String steamId) {
+        if (steamId != null && !scheduled.containsKey(steamId)) {
+            schedule(steamId, System.currentTimeMillis() + jittered(activeIntervalMillis) / 2);
+        }
+    }
+
+    // 이미 대기 중이거나 대기 수 상한에 닿았으면 무시 (다음 요청 때 다시 넣는다)
+    @Override
+    public void fetchOnce(String steamId) {
+        if (!enabled || steamId == null || pendingFetches.size() >= maxPendingFetches) {
+            return;
+        }
+        if (pendingFetches.add(steamId)) {
+            queue.add(new SyncTask(steamId, System.currentTimeMillis(), true));
+        }
+    }
+
+    /**
+     * 라이브러리를 가져오면 (백그라운드든 사용자 요청이든) 활동 정도에 맞춰 다음 동기화를 다시 잡는다.
+     * 대상이 아닌 사용자(친구 라이브러리 등)는 무시한다.
+     */
+    @EventListener
+    public void onLibraryUpdated(LibraryUpdatedEvent event) {
+        if (scheduled.containsKey(event.getSteamId())) {
+            schedule(event.getSteamId(), System.currentTimeMillis() + jittered(intervalFor(event.getGames())));
+        }
+    }
+
+    @Override
+    public LibrarySyncStatus getStatus() {
+        long now = System.currentTimeMillis();
+        int overdue = 0;
+        long oldestDue = Long.MAX_VALUE;
+        for (Long due : scheduled.values()) {
+            if (due <= now) {
+                overdue++;
+                oldestDue = Math.min(oldestDue, due);
+            }
+        }
+        return LibrarySyncStatus.builder()
+                .trackedUsers(scheduled.size())
+                .pendingFetches(pendingFetches.size())
+                .queueDepth(queue.size())
+                .overdueUsers(overdue)
+                .oldestOverdueSeconds(overdue == 0 ? 0 : (now - oldestDue) / 1000)
+                .lastDispatchLagMillis(lastLagMillis)
+                .averageDispatchLagMillis((long) averageLagMillis)
+                .inFlight(inFlight.get())
+                .completed(completed.get())
+                .failed(failed.get())
+                .availableQuotaTokens(steamQuota.availableTokens())
+                .build();
+    }
+
+    @PreDestroy
+    public void close() {
+        Thread thread = dispatcher;
+        dispatcher = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+        executor.shutdownNow();
+    }
+
+    private void dispatch() {
+        while (dispatcher == Thread.currentThread()) {
+            try {
+                SyncTask task = queue.take();
+                Long due = scheduled.get(task.steamId);
+                if (!task.once && (due == null || due != task.due)) {
+                    continue;  // 재예약되어 무효가 된 항목
+                }
+                // 워커 자리와 할당량 토큰을 모두 받은 뒤에 실행 (워커가 밀리면 디스패처도 기다린다)
+                workerPermits.acquire();
+                if (!steamQuota.acquire(1, TimeUnit.MINUTES)) {
+                    workerPermits.release();
+                    queue.add(task);
+                    continue;
+                }
+                long lag = System.currentTimeMillis() - task.due;
+                lastLagMillis = lag;
+                averageLagMillis += LAG_EWMA_ALPHA * (lag - averageLagMillis);
+                inFlight.incrementAndGet();
+                executor.execute(() -> sync(task));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                logger.error("Library sync dispatcher error", e);
+            }
+        }
+    }
+
+    private void sync(SyncTask task) {
+        try {
+            if (task.once) {
+                // LibraryUpdatedEvent 로 registry 에 등록된다
+                steamService.getLibrary(task.steamId);
+            } else {
+                // 성공하면 LibraryUpdatedEvent 로 다음 예정 시각이 다시 잡힌다
+                steamService.getAllGameStats(task.steamId);
+            }
+            completed.incrementAndGet();
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            logger.warn("Background library sync failed for steamId: {} ({})", task.steamId, e.toString());
+        } finally {
+            // 이벤트가 없었으면 (비공개 프로필, 실패) 한동안 쉬었다가 다시 시도
+            if (task.once) {
+                pendingFetches.remove(task.steamId);
+            } else if (Long.valueOf(task.due).equals(scheduled.get(task.steamId))) {
+                schedule(task.steamId, System.currentTimeMillis() + jittered(recentIntervalMillis));
+            }
+            inFlight.decrementAndGet();
+            workerPermits.release();
+        }
+    }
+
+    private long intervalFor(List<LibraryGame> games) {
+        long recentCutoff = System.currentTimeMillis() / 1000 - RECENT_PLAY_SECONDS;
+        boolean playedRecently = false;
+        for (LibraryGame game : games) {
+            if (game.getPlaytime_2weeks() > 0) {
+                return activeIntervalMillis;
+            }
+            if (game.getRtime_last_played() >= recentCutoff) {
+                playedRecently = true;
+            }
+        }
+        return playedRecently ? recentIntervalMillis : dormantIntervalMillis;
+    }
+
+    private long jittered(long interval) {
+        double factor = 1.0 + (ThreadLocalRandom.current().nextDouble() * 2 - 1) * jitter;
+        return (long) (interval * factor);
+    }
+
+    private void schedule(String steamId, long due) {
+        scheduled.put(steamId, due);
+        queue.add(new SyncTask(steamId, due, false));
+    }
+
+    private static final class SyncTask implements Delayed {
+        private final String steamId;
+        private final long due;  // epoch 밀리초
+        private final boolean once;  // fetchOnce 항목 (재예약하지 않음)
+
+        SyncTask(String steamId, long due, boolean once) {
+            this.steamId = steamId;
+            this.due = due;
+            this.once = once;
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(due - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(due, ((SyncTask) other).due);
+        }
+    }
+}
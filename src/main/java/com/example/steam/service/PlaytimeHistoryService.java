@@ -0,0 +1,13 @@
+package com.example.steam.service;
+
+import com.example.steam.model.LibraryGame;
+import com.example.steam.model.PlaytimePoint;
+
+import java.util.List;
+
+public interface PlaytimeHistoryService {
+
+    void record(String steamId, List<LibraryGame> games, long observedAt); // 라이브러리 관측을 해당 월 블록에 덧붙임
+
+    List<PlaytimePoint> getHistory(String steamId, Integer appid, long from, long to); // 기간 내 누적 플레이 시간 (appid 가 없으면 전체 합)
+}
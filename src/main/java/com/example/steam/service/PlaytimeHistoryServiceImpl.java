@@ -0,0 +1,115 @@
+package com.example.steam.service;
+
+import com.example.steam.entity.PlaytimeHistory;
+import com.example.steam.entity.PlaytimeHistoryId;
+import com.example.steam.event.LibraryUpdatedEvent;
+import com.example.steam.history.PlaytimeHistoryBlock;
+import com.example.steam.model.LibraryGame;
+import com.example.steam.model.PlaytimePoint;
+import com.example.steam.recommend.UserLibrary;
+import com.example.steam.repository.PlaytimeHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class PlaytimeHistoryServiceImpl implements PlaytimeHistoryService {
+
+    private static final Logger logger = LoggerFactory.getLogger(PlaytimeHistoryServiceImpl.class);
+
+    // 같은 사용자의 블록을 동시에 읽고-덧붙이고-쓰지 않도록 steamId 해시로 나눈 잠금
+    private static final int LOCK_STRIPES = 64;
+
+    private final PlaytimeHistoryRepository playtimeHistoryRepository;
+    private final Object[] locks = new Object[LOCK_STRIPES];
+
+    public PlaytimeHistoryServiceImpl(PlaytimeHistoryRepository playtimeHistoryRepository) {
+        this.playtimeHistoryRepository = playtimeHistoryRepository;
+        for (int i = 0; i < LOCK_STRIPES; i++) {
+            locks[i] = new Object();
+        }
+    }
+
+    @Override
+    public void record(String steamId, List<LibraryGame> games, long observedAt) {
+        UserLibrary library = new LibraryUpdatedEvent(steamId, games).toUserLibrary();
+        YearMonth month = YearMonth.from(Instant.ofEpochSecond(observedAt).atOffset(ZoneOffset.UTC));
+        PlaytimeHistoryId id = new PlaytimeHistoryId(steamId, monthKey(month));
+        synchronized (locks[Math.floorMod(steamId.hashCode(), LOCK_STRIPES)]) {
+            PlaytimeHistory row = playtimeHistoryRepository.findById(id).orElse(null);
+            PlaytimeHistoryBlock block = row == null
+                    ? new PlaytimeHistoryBlock(monthStart(month))
+                    : PlaytimeHistoryBlock.decode(monthStart(month), row.getData());
+            if (observedAt < block.lastTimestamp()
+                    || !block.append(observedAt, library.appids(), library.playtimes())) {
+                return;  // 늦게 도착한 관측이거나 바뀐 게임이 없음
+            }
+            if (row == null) {
+                row = new PlaytimeHistory();
+                row.setSteamId(steamId);
+                row.setMonth(id.getMonth());
+            }
+            row.setData(block.toBytes());
+            row.setObservationCount(block.observations());
+            row.setUpdatedAt(LocalDateTime.now());
+            playtimeHistoryRepository.save(row);
+        }
+    }
+
+    /**
+     * 기간에 걸친 월 블록만 읽어 디코딩한다.
+     * 월마다 첫 관측이 키프레임이므로 앞선 블록을 읽지 않아도 그 달의 절대값을 알 수 있다.
+     */
+    @Override
+    public List<PlaytimePoint> getHistory(String steamId, Integer appid, long from, long to) {
+        int fromMonth = monthKey(YearMonth.from(Instant.ofEpochSecond(from).atOffset(ZoneOffset.UTC)));
+        int toMonth = monthKey(YearMonth.from(Instant.ofEpochSecond(to).atOffset(ZoneOffset.UTC)));
+        List<PlaytimePoint> points = new ArrayList<>();
+        for (PlaytimeHistory row : playtimeHistoryRepository.findBySteamIdAndMonthBetweenOrderByMonth(steamId, fromMonth, toMonth)) {
+            YearMonth month = YearMonth.of(row.getMonth() / 100, row.getMonth() % 100);
+            PlaytimeHistoryBlock block = PlaytimeHistoryBlock.decode(monthStart(month), row.getData());
+            block.replay((timestamp, changedAppids, changedPlaytimes, changedCount, total) -> {
+                if (timestamp < from || timestamp > to) {
+                    return;
+                }
+                if (appid == null) {
+                    points.add(new PlaytimePoint(timestamp, total));
+                    return;
+                }
+                for (int i = 0; i < changedCount; i++) {
+                    if (changedAppids[i] == appid) {
+                        points.add(new PlaytimePoint(timestamp, changedPlaytimes[i]));
+                        break;
+                    }
+                }
+            });
+        }
+        return points;
+    }
+
+    // 라이브러리를 가져올 때마다 기록 (실패해도 조회 응답에는 영향 없음)
+    @EventListener
+    public void onLibraryUpdated(LibraryUpdatedEvent event) {
+        try {
+            record(event.getSteamId(), event.getGames(), System.currentTimeMillis() / 1000);
+        } catch (Exception e) {
+            logger.error("Error recording playtime history for steamId: " + event.getSteamId(), e);
+        }
+    }
+
+    private static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+
+    private static long monthStart(YearMonth month) {
+        return month.atDay(1).atStartOfDay(ZoneOffset.UTC).toEpochSecond();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.steam.service;
+
+import com.example.steam.model.RecommendedGame;
+
+import java.util.List;
+
+public interface RecommendationService {
+
+    List<RecommendedGame> getRecommendations(String steamId, int limit); // 사용자 맞춤 게임 추천
+
+    void rebuildIndexes(); // 저장된 라이브러리로 추천 색인 재구축
+}
@@ -0,0 +1,283 @@
+package com.example.steam.service;
+
+import com.example.steam.entity.RecommendationList;
+import com.example.steam.event.LibraryChangedEvent;
+import com.example.steam.event.LibraryUpdatedEvent;
+import com.example.steam.event.TasteChangedEvent;
+import com.example.steam.model.LibraryGame;
+import com.example.steam.model.RecommendedGame;
+import com.example.steam.recommend.BipartiteCsrGraph;
+import com.example.steam.recommend.ContentRecommender;
+import com.example.steam.recommend.DecayingTasteProfile;
+import com.example.steam.recommend.LibraryRegistry;
+import com.example.steam.recommend.MmrReranker;
+import com.example.steam.recommend.RandomWalkRecommender;
+import com.example.steam.recommend.ScoredGame;
+import com.example.steam.recommend.TagVectorIndex;
+import com.example.steam.recommend.UserLibrary;
+import com.example.steam.repository.RecommendationListRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+@Service
+public class RecommendationServiceImpl implements RecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(RecommendationServiceImpl.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final TypeReference<List<RecommendedGame>> ITEMS_TYPE = new TypeReference<>() {
+    };
+
+    private final SteamService steamService;
+    private final LibraryRegistry libraryRegistry;
+    private final RandomWalkRecommender randomWalkRecommender;
+    private final ContentRecommender contentRecommender;
+    private final AppDetailsService appDetailsService;
+    private final RecommendationListRepository recommendationListRepository;
+    private final DecayingTasteProfile tasteProfile;
+    private final ShardedContentService shardedContentService;
+    private final MmrReranker mmrReranker;
+    private final int smallLibrarySize;
+    private final int materializedSize;
+    private final String modelVersion;
+    private final float recentBoost;
+    private final int shardMinAppid;
+    private final int shardMaxAppid;
+
+    // appid -> 게임 이름 (라이브러리 응답에서 수집)
+    private final Map<Integer, String> gameNames = new ConcurrentHashMap<>();
+
+    // 재계산 대기열 (같은 사용자는 한 번만 대기)
+    private final Queue<String> recomputeQueue = new ConcurrentLinkedQueue<>();
+    private final Set<String> pending = ConcurrentHashMap.newKeySet();
+    // 라이브러리는 그대로지만 최근 취향이 바뀌어 다시 계산해야 하는 사용자
+    private final Set<String> tasteChanged = ConcurrentHashMap.newKeySet();
+
+    private volatile long graphVersion = -1;
+    private volatile long contentVersion = -1;
+
+    public RecommendationServiceImpl(SteamService steamService,
+                                     LibraryRegistry libraryRegistry,
+                                     RandomWalkRecommender randomWalkRecommender,
+                                     ContentRecommender contentRecommender,
+                                     AppDetailsService appDetailsService,
+                                     RecommendationListRepository recommendationListRepository,
+                                     DecayingTasteProfile tasteProfile,
+                                     ShardedContentService shardedContentService,
+                                     MmrReranker mmrReranker,
+                                     @Value("${recommend.content.small-library-size:5}") int smallLibrarySize,
+                                     @Value("${recommend.materialized-size:100}") int materializedSize,
+                                     @Value("${recommend.model.version:3}") String modelVersion,
+                                     @Value("${recommend.taste.boost:10}") float recentBoost,
+                                     @Value("${recommend.shard.min-appid:0}") int shardMinAppid,
+                                     @Value("${recommend.shard.max-appid:2147483647}") int shardMaxAppid) {
+        this.steamService = steamService;
+        this.libraryRegistry = libraryRegistry;
+        this.randomWalkRecommender = randomWalkRecommender;
+        this.contentRecommender = contentRecommender;
+        this.appDetailsService = appDetailsService;
+        this.recommendationListRepository = recommendationListRepository;
+        this.tasteProfile = tasteProfile;
+        this.shardedContentService = shardedContentService;
+        this.mmrReranker = mmrReranker;
+        this.smallLibrarySize = smallLibrarySize;
+        this.materializedSize = materializedSize;
+        this.modelVersion = modelVersion;
+        this.recentBoost = recentBoost;
+        this.shardMinAppid = shardMinAppid;
+        this.shardMaxAppid = shardMaxAppid;
+    }
+
+    /**
+     * 저장된 추천 목록을 그대로 읽어 반환한다. 모델과 무관하게 조회 비용은 행 하나 읽기다.
+     * 모델 버전이 바뀐 목록은 우선 그대로 내려주고 재계산을 예약한다.
+     * 저장된 목록이 없으면 요청 스레드에서 계산하고, 색인이 준비된 뒤의 결과만 저장한다.
+     */
+    @Override
+    public List<RecommendedGame> getRecommendations(String steamId, int limit) {
+        if (steamId == null) {
+            return new ArrayList<>();  // 스팀 계정을 연동하지 않은 사용자
+        }
+        Optional<RecommendationList> stored = recommendationListRepository.findById(steamId);
+        List<RecommendedGame> items;
+        if (stored.isPresent()) {
+            if (!modelVersion.equals(stored.get().getModelVersion())) {
+                requestRecompute(steamId);
+            }
+            items = readItems(stored.get());
+        } else {
+            // 처음 방문한 사용자만 요청 스레드에서 한 번 계산해 저장
+            items = recompute(steamId);
+        }
+        return items.size() > limit ? new ArrayList<>(items.subList(0, limit)) : items;
+    }
+
+    // 원본 데이터가 바뀐 색인만 새로 만들어 교체한다
+    @Override
+    @Scheduled(fixedDelayString = "${recommend.rebuild-interval-ms:300000}", initialDelay = 60000)
+    public void rebuildIndexes() {
+        long version = libraryRegistry.version();
+        if (version != graphVersion) {
+            long start = System.currentTimeMillis();
+            BipartiteCsrGraph graph = BipartiteCsrGraph.build(libraryRegistry.snapshot());
+            randomWalkRecommender.setGraph(graph);
+            graphVersion = version;
+            logger.info("Rebuilt user-game graph: {} users, {} games, {} edges, ~{} KB in {} ms",
+                    graph.userCount(), graph.gameCount(), graph.edgeCount(), graph.estimatedBytes() / 1024,
+                    System.currentTimeMillis() - start);
+        }
+
+        long catalogueVersion = appDetailsService.getVersion();
+        if (catalogueVersion != contentVersion) {
+            long start = System.currentTimeMillis();
+            // 이 노드가 맡은 appid 범위만 담는다 (IDF 는 전체 카탈로그 기준)
+            TagVectorIndex index = TagVectorIndex.build(appDetailsService.getTagsByAppid(),
+                    appid -> appid >= shardMinAppid && appid <= shardMaxAppid);
+            contentRecommender.setIndex(index);
+            contentVersion = catalogueVersion;
+            logger.info("Rebuilt tag vector index: {} games, {} tags in {} ms",
+                    index.gameCount(), index.tagCount(), System.currentTimeMillis() - start);
+        }
+    }
+
+    // 가져온 라이브러리로 색인 원본만 갱신 (재계산 여부는 LibraryChangedEvent 로 판단)
+    @EventListener
+    public void onLibraryUpdated(LibraryUpdatedEvent event) {
+        UserLibrary library = event.toUserLibrary();
+        libraryRegistry.put(library);
+        for (LibraryGame game : event.getGames()) {
+            if (game.getName() != null) {
+                gameNames.putIfAbsent(game.getAppid(), game.getName());
+            }
+        }
+    }
+
+    // 보유 목록이나 누적 플레이 시간이 실제로 바뀐 경우에만 재계산을 예약한다
+    @EventListener
+    public void onLibraryChanged(LibraryChangedEvent event) {
+        if (event.isLibraryChanged()) {
+            requestRecompute(event.getSteamId());
+        }
+    }
+
+    // 최근 플레이로 취향 프로필이 실제로 바뀌었으면 라이브러리 해시와 무관하게 재계산을 예약한다
+    @EventListener
+    public void onTasteChanged(TasteChangedEvent event) {
+        if (libraryRegistry.get(event.getSteamId()) != null) {
+            tasteChanged.add(event.getSteamId());
+            requestRecompute(event.getSteamId());
+        }
+    }
+
+    // 대기열에 쌓인 사용자의 추천 목록을 백그라운드에서 다시 계산
+    @Scheduled(fixedDelayString = "${recommend.recompute-interval-ms:1000}")
+    public void drainRecomputeQueue() {
+        String steamId;
+        while ((steamId = recomputeQueue.poll()) != null) {
+            pending.remove(steamId);
+            try {
+                boolean forced = tasteChanged.remove(steamId);
+                if (forced || isStale(steamId)) {
+                    recompute(steamId);
+                }
+            } catch (Exception e) {
+                logger.error("Error recomputing recommendations for steamId: " + steamId, e);
+            }
+        }
+    }
+
+    // 저장된 목록이 없거나, 현재 라이브러리 해시나 모델 버전과 다르면 재계산 대상
+    private boolean isStale(String steamId) {
+        UserLibrary library = libraryRegistry.get(steamId);
+        Optional<RecommendationList> stored = recommendationListRepository.findById(steamId);
+        return stored.isEmpty()
+                || !modelVersion.equals(stored.get().getModelVersion())
+                || (library != null && !Objects.equals(stored.get().getLibraryHash(), library.libraryHash()));
+    }
+
+    private void requestRecompute(String steamId) {
+        if (pending.add(steamId)) {
+            recomputeQueue.add(steamId);
+        }
+    }
+
+    private List<RecommendedGame> recompute(String steamId) {
+        UserLibrary library = libraryRegistry.get(steamId);
+        if (library == null) {
+            // 라이브러리를 가져오면 LibraryUpdatedEvent 로 registry 에 등록된다
+            steamService.getLibrary(steamId);
+            library = libraryRegistry.get(steamId);
+        }
+        if (library == null) {
+            return new ArrayList<>();
+        }
+        // 저장 해시는 원본 라이브러리 기준, 계산에는 최근 관심 게임을 강조한 사본을 쓴다
+        UserLibrary emphasized = tasteProfile.emphasize(library, recentBoost, System.currentTimeMillis() / 1000);
+        List<RecommendedGame> items = computeRecommendations(emphasized, materializedSize);
+        if (graphVersion < 0 || items.isEmpty()) {
+            // 색인이 처음 만들어지기 전(기동 직후)이거나 결과가 없으면 저장하지 않는다.
+            // 저장하면 해시와 모델 버전이 같아 라이브러리가 바뀔 때까지 빈/임시 목록이 그대로 나간다
+            return items;
+        }
+
+        RecommendationList list = new RecommendationList();
+        list.setSteamId(steamId);
+        list.setLibraryHash(library.libraryHash());
+        list.setModelVersion(modelVersion);
+        list.setItems(writeItems(items));
+        list.setComputedAt(LocalDateTime.now());
+        recommendationListRepository.save(list);
+        return items;
+    }
+
+    private List<RecommendedGame> computeRecommendations(UserLibrary library, int limit) {
+        // 라이브러리가 작으면 협업 필터링 신호가 부족하므로 태그 기반 추천을 사용
+        List<ScoredGame> scored = library.size() < smallLibrarySize
+                ? List.of()
+                : randomWalkRecommender.recommend(library, limit);
+        if (scored.isEmpty()) {
+            scored = shardedContentService.recommend(library, limit);
+        }
+        // 같은 시리즈/장르 게임이 상위를 채우지 않도록 저장 전에 한 번 재정렬 (조회 시 비용 없음)
+        scored = mmrReranker.rerank(scored, contentRecommender.getIndex(), limit);
+        List<RecommendedGame> result = new ArrayList<>(scored.size());
+        for (ScoredGame game : scored) {
+            result.add(new RecommendedGame(game.appid(), gameNames.get(game.appid()), game.score(),
+                    game.becauseAppid(), gameNames.get(game.becauseAppid()), game.becauseWeight()));
+        }
+        return result;
+    }
+
+    private static List<RecommendedGame> readItems(RecommendationList list) {
+        try {
+            return list.getItems() == null ? new ArrayList<>() : objectMapper.readValue(list.getItems(), ITEMS_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("추천 목록 JSON 변환 실패", e);
+        }
+    }
+
+    private static String writeItems(List<RecommendedGame> items) {
+        try {
+            return objectMapper.writeValueAsString(items);
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("추천 목록 JSON 변환 실패", e);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.example.steam.service;
+
+import com.example.steam.model.RecommendedGame;
+
+import java.util.List;
+
+public interface SeedRecommendationService {
+
+    List<Integer> saveSeeds(String userId, List<Integer> appids); // 온보딩 시드 게임 저장 (중복 제거 후 저장된 목록 반환)
+
+    List<Integer> getSeeds(String userId); // 저장된 시드 게임
+
+    List<RecommendedGame> getRecommendations(String userId, int limit); // 시드 게임의 이웃 목록으로 만든 추천
+}
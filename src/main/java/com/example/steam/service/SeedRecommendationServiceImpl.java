@@ -0,0 +1,149 @@
+package com.example.steam.service;
+
+import com.example.steam.entity.AppDetails;
+import com.example.steam.entity.SeedGames;
+import com.example.steam.model.RecommendedGame;
+import com.example.steam.recommend.BipartiteCsrGraph;
+import com.example.steam.recommend.ContentRecommender;
+import com.example.steam.recommend.ItemNeighborIndex;
+import com.example.steam.recommend.MmrReranker;
+import com.example.steam.recommend.RandomWalkRecommender;
+import com.example.steam.recommend.ScoredGame;
+import com.example.steam.repository.AppDetailsRepository;
+import com.example.steam.repository.SeedGamesRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Service
+public class SeedRecommendationServiceImpl implements SeedRecommendationService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SeedRecommendationServiceImpl.class);
+
+    private final SeedGamesRepository seedGamesRepository;
+    private final AppDetailsRepository appDetailsRepository;
+    private final RandomWalkRecommender randomWalkRecommender;
+    private final ContentRecommender contentRecommender;
+    private final MmrReranker mmrReranker;
+    private final int maxSeeds;
+    private final int neighbors;
+    private final int maxOwners;
+
+    // 이웃 색인과, 그것을 만든 그래프 (그래프가 교체되면 다시 만든다)
+    private volatile ItemNeighborIndex neighborIndex;
+    private volatile BipartiteCsrGraph indexedGraph;
+
+    public SeedRecommendationServiceImpl(SeedGamesRepository seedGamesRepository,
+                                         AppDetailsRepository appDetailsRepository,
+                                         RandomWalkRecommender randomWalkRecommender,
+                                         ContentRecommender contentRecommender,
+                                         MmrReranker mmrReranker,
+                                         @Value("${recommend.seed.max-seeds:20}") int maxSeeds,
+                                         @Value("${recommend.seed.neighbors:50}") int neighbors,
+                                         @Value("${recommend.seed.max-owners:1000}") int maxOwners) {
+        this.seedGamesRepository = seedGamesRepository;
+        this.appDetailsRepository = appDetailsRepository;
+        this.randomWalkRecommender = randomWalkRecommender;
+        this.contentRecommender = contentRecommender;
+        this.mmrReranker = mmrReranker;
+        this.maxSeeds = maxSeeds;
+        this.neighbors = neighbors;
+        this.maxOwners = maxOwners;
+    }
+
+    @Override
+    public List<Integer> saveSeeds(String userId, List<Integer> appids) {
+        Set<Integer> distinct = new LinkedHashSet<>();
+        for (Integer appid : appids) {
+            if (appid != null && appid > 0 && distinct.size() < maxSeeds) {
+                distinct.add(appid);
+            }
+        }
+        if (distinct.isEmpty()) {
+            throw new IllegalArgumentException("시드 게임을 하나 이상 골라야 합니다.");
+        }
+        SeedGames seeds = seedGamesRepository.findById(userId).orElseGet(SeedGames::new);
+        seeds.setUserId(userId);
+        seeds.setAppids(distinct.stream().map(String::valueOf).collect(Collectors.joining(",")));
+        seeds.setUpdatedAt(LocalDateTime.now());
+        seedGamesRepository.save(seeds);
+        return new ArrayList<>(distinct);
+    }
+
+    @Override
+    public List<Integer> getSeeds(String userId) {
+        return seedGamesRepository.findById(userId)
+                .map(seeds -> parseAppids(seeds.getAppids()))
+                .orElseGet(ArrayList::new);
+    }
+
+    /**
+     * 요청 시점 비용은 시드 수 × 이웃 수 만큼의 합산과 힙 연산, MMR 재정렬뿐이다 (이웃 목록은 미리 계산).
+     */
+    @Override
+    public List<RecommendedGame> getRecommendations(String userId, int limit) {
+        ItemNeighborIndex index = this.neighborIndex;
+        List<Integer> seeds = getSeeds(userId);
+        if (index == null || seeds.isEmpty()) {
+            return new ArrayList<>();
+        }
+        // MMR 풀 크기만큼 후보를 뽑아 다양성 재정렬 후 limit 개
+        List<ScoredGame> candidates = index.recommend(seeds.stream().mapToInt(Integer::intValue).toArray(),
+                Math.max(limit, mmrReranker.poolSize()));
+        List<ScoredGame> scored = mmrReranker.rerank(candidates, contentRecommender.getIndex(), limit);
+
+        Set<Integer> appids = new LinkedHashSet<>();
+        for (ScoredGame game : scored) {
+            appids.add(game.appid());
+            appids.add(game.becauseAppid());
+        }
+        Map<Integer, String> names = new HashMap<>();
+        for (AppDetails details : appDetailsRepository.findAllById(appids)) {
+            names.put(details.getAppid(), details.getName());
+        }
+        List<RecommendedGame> result = new ArrayList<>(scored.size());
+        for (ScoredGame game : scored) {
+            result.add(new RecommendedGame(game.appid(), names.get(game.appid()), game.score(),
+                    game.becauseAppid(), names.get(game.becauseAppid()), game.becauseWeight()));
+        }
+        return result;
+    }
+
+    // 랜덤 워크 추천기의 그래프가 교체됐으면 이웃 목록을 다시 계산한다
+    @Scheduled(fixedDelayString = "${recommend.seed.rebuild-interval-ms:60000}", initialDelay = 90000)
+    public void rebuildNeighborIndex() {
+        BipartiteCsrGraph graph = randomWalkRecommender.getGraph();
+        if (graph == null || graph == indexedGraph) {
+            return;
+        }
+        long start = System.currentTimeMillis();
+        ItemNeighborIndex index = ItemNeighborIndex.build(graph, neighbors, maxOwners);
+        neighborIndex = index;
+        indexedGraph = graph;
+        logger.info("Rebuilt item neighbor index: {} games, {} neighbors, ~{} KB in {} ms",
+                index.gameCount(), index.neighborCount(), index.estimatedBytes() / 1024,
+                System.currentTimeMillis() - start);
+    }
+
+    private static List<Integer> parseAppids(String appids) {
+        List<Integer> result = new ArrayList<>();
+        if (appids == null || appids.isEmpty()) {
+            return result;
+        }
+        Arrays.stream(appids.split(",")).map(String::trim).filter(s -> !s.isEmpty())
+                .forEach(s -> result.add(Integer.parseInt(s)));
+        return result;
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.steam.service;
+
+import com.example.steam.recommend.ScoredGame;
+import com.example.steam.recommend.UserLibrary;
+
+import java.util.List;
+
+public interface ShardedContentService {
+
+    List<ScoredGame> recommend(UserLibrary library, int limit); // 샤드가 설정되어 있으면 scatter-gather, 아니면 로컬 색인
+}
@@ -0,0 +1,165 @@
+package com.example.steam.service;
+
+import com.example.steam.model.ShardQuery;
+import com.example.steam.recommend.ContentRecommender;
+import com.example.steam.recommend.ScoredGame;
+import com.example.steam.recommend.TagProfileEntry;
+import com.example.steam.recommend.TopK;
+import com.example.steam.recommend.UserLibrary;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * appid 범위로 나눈 콘텐츠 색인 샤드에 질의를 흩뿌리고 결과를 모은다.
+ *
+ * 1단계: 각 샤드가 자기 범위의 보유 게임으로 부분 프로필을 만들고, 코디네이터가 합친다.
+ * 2단계: 합친 프로필을 다시 보내 샤드별 상위 k 개를 받고, TopK 로 병합한다.
+ * 두 단계 모두 같은 마감 시각을 공유하며, 시간 안에 답하지 않은 샤드는 빼고 부분 결과를 돌려준다.
+ *
+ * 로컬에서 여러 JVM 으로 시험하기 (각 노드는 같은 DB 의 전체 카탈로그로 IDF 를 계산).
+ * 샤드 노드는 범위와 토큰이 모두 있어야 /internal/shard/** 를 연다:
+ *   ./gradlew bootRun --args='--server.port=8081 --recommend.shard.min-appid=0 --recommend.shard.max-appid=499999 --recommend.shard.token=secret'
+ *   ./gradlew bootRun --args='--server.port=8082 --recommend.shard.min-appid=500000 --recommend.shard.token=secret'
+ *   ./gradlew bootRun --args='--recommend.shard.nodes=http://localhost:8081,http://localhost:8082 --recommend.shard.token=secret'
+ */
+@Service
+public class ShardedContentServiceImpl implements ShardedContentService {
+
+    private static final Logger logger = LoggerFactory.getLogger(ShardedContentServiceImpl.class);
+    private static final ParameterizedTypeReference<Map<String, TagProfileEntry>> PROFILE_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+    private static final ParameterizedTypeReference<List<ScoredGame>> GAMES_TYPE =
+            new ParameterizedTypeReference<>() {
+            };
+
+    private final ContentRecommender contentRecommender;
+    private final List<String> nodes;
+    private final String shardToken;
+    private final long timeoutNanos;
+    private final RestTemplate restTemplate;
+    private final ExecutorService executor;
+
+    public ShardedContentServiceImpl(ContentRecommender contentRecommender,
+                                     @Value("${recommend.shard.nodes:}") String nodes,
+                                     @Value("${recommend.shard.token:}") String shardToken,
+                                     @Value("${recommend.shard.timeout-ms:200}") int timeoutMillis) {
+        this.contentRecommender = contentRecommender;
+        this.nodes = Arrays.stream(nodes.split(","))
+                .map(String::trim)
+                .filter(node -> !node.isEmpty())
+                .map(node -> node.endsWith("/") ? node.substring(0, node.length() - 1) : node)
+                .toList();
+        this.shardToken = shardToken;
+        this.timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeoutMillis);
+
+        // 샤드 호출 전용 RestTemplate: 소켓 단에서도 마감 시간을 넘기지 않는다
+        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
+        factory.setConnectTimeout(timeoutMillis);
+        factory.setReadTimeout(timeoutMillis);
+        this.restTemplate = new RestTemplate(factory);
+
+        AtomicInteger threadSeq = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, this.nodes.size() * 2), r -> {
+            Thread thread = new Thread(r, "shard-scatter-" + threadSeq.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        if (!this.nodes.isEmpty() && shardToken.isBlank()) {
+            logger.warn("recommend.shard.nodes is set without recommend.shard.token; shard nodes will reject every call");
+        }
+        if (!this.nodes.isEmpty()) {
+            logger.info("Content recommendations scatter across {} shards: {}", this.nodes.size(), this.nodes);
+        }
+    }
+
+    @Override
+    public List<ScoredGame> recommend(UserLibrary library, int limit) {
+        if (nodes.isEmpty()) {
+            return contentRecommender.recommend(library, limit);
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        ShardQuery query = new ShardQuery(library.steamId(), library.appids(), library.playtimes(), null, limit);
+
+        // 1단계: 부분 프로필 병합
+        Map<String, TagProfileEntry> profile = new HashMap<>();
+        for (Map<String, TagProfileEntry> part : scatter("/internal/shard/profile", query, PROFILE_TYPE, deadline)) {
+            part.forEach((tag, entry) -> profile.merge(tag, entry, TagProfileEntry::merge));
+        }
+        if (profile.isEmpty()) {
+            return new ArrayList<>();
+        }
+
+        // 2단계: 샤드별 상위 k 개를 하나의 힙으로 병합 (이유 정보는 appid 로 다시 찾는다)
+        query.setProfile(profile);
+        TopK top = new TopK(limit);
+        Map<Integer, ScoredGame> byAppid = new HashMap<>();
+        for (List<ScoredGame> part : scatter("/internal/shard/topk", query, GAMES_TYPE, deadline)) {
+            for (ScoredGame game : part) {
+                if (top.offer(game.appid(), game.score())) {
+                    byAppid.put(game.appid(), game);
+                }
+            }
+        }
+        List<ScoredGame> result = new ArrayList<>(top.size());
+        for (ScoredGame game : top.toScoredGames()) {
+            result.add(byAppid.get(game.appid()));
+        }
+        return result;
+    }
+
+    // 모든 샤드에 같은 요청을 보내고 마감 시각까지 도착한 응답만 모은다
+    private <T> List<T> scatter(String path, ShardQuery query, ParameterizedTypeReference<T> type, long deadline) {
+        HttpHeaders headers = new HttpHeaders();
+        if (!shardToken.isEmpty()) {
+            headers.set("X-Shard-Token", shardToken);
+        }
+        HttpEntity<ShardQuery> entity = new HttpEntity<>(query, headers);
+        List<CompletableFuture<T>> futures = new ArrayList<>(nodes.size());
+        for (String node : nodes) {
+            futures.add(CompletableFuture.supplyAsync(
+                    () -> restTemplate.exchange(node + path, HttpMethod.POST, entity, type).getBody(), executor));
+        }
+        List<T> responses = new ArrayList<>(nodes.size());
+        for (int i = 0; i < futures.size(); i++) {
+            long remaining = deadline - System.nanoTime();
+            try {
+                T response = futures.get(i).get(Math.max(remaining, 0L), TimeUnit.NANOSECONDS);
+                if (response != null) {
+                    responses.add(response);
+                }
+            } catch (Exception e) {
+                // 늦거나 실패한 샤드는 빼고 나머지로 결과를 만든다
+                futures.get(i).cancel(true);
+                logger.warn("Shard {} did not answer {} in time for steamId: {} ({})",
+                        nodes.get(i), path, query.getSteamId(), e.toString());
+            }
+        }
+        return responses;
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.steam.service;
+
+import com.example.steam.model.SimilarPlayer;
+
+import java.util.List;
+
+public interface SimilarPlayerService {
+
+    List<SimilarPlayer> findSimilarPlayers(String steamId, int limit); // 라이브러리가 비슷한 사이트 사용자 조회
+
+    void updateLibrary(String steamId, int[] appids); // 라이브러리 변경 시 시그니처 갱신
+}
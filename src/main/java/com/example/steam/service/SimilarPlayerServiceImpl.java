@@ -0,0 +1,73 @@
+package com.example.steam.service;
+
+import com.example.steam.dto.User;
+import com.example.steam.event.LibraryRestoredEvent;
+import com.example.steam.event.LibraryUpdatedEvent;
+import com.example.steam.model.SimilarPlayer;
+import com.example.steam.recommend.MinHashLshIndex;
+import com.example.steam.repository.UserRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Service
+public class SimilarPlayerServiceImpl implements SimilarPlayerService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SimilarPlayerServiceImpl.class);
+
+    private final MinHashLshIndex index;
+    private final SteamService steamService;
+    private final UserRepository userRepository;
+
+    // 32 밴드 x 4 행 = 128 해시, 유사도 약 0.4 부근부터 후보로 걸린다
+    public SimilarPlayerServiceImpl(SteamService steamService,
+                                    UserRepository userRepository,
+                                    @Value("${recommend.minhash.bands:32}") int bands,
+                                    @Value("${recommend.minhash.rows:4}") int rows) {
+        this.steamService = steamService;
+        this.userRepository = userRepository;
+        this.index = new MinHashLshIndex(bands, rows, 0x5EED_CAFEL);
+    }
+
+    @Override
+    public List<SimilarPlayer> findSimilarPlayers(String steamId, int limit) {
+        if (steamId == null) {
+            return new ArrayList<>();  // 스팀 계정을 연동하지 않은 사용자
+        }
+        if (!index.contains(steamId)) {
+            // 아직 색인되지 않은 사용자는 라이브러리를 한 번 가져와 이벤트로 색인시킨다
+            steamService.getLibrary(steamId);
+        }
+        List<SimilarPlayer> result = new ArrayList<>();
+        for (MinHashLshIndex.Neighbor neighbor : index.query(steamId, limit)) {
+            String nickname = userRepository.findBySteamId(neighbor.steamId())
+                    .map(User::getSteamNickname)
+                    .orElse(null);
+            result.add(new SimilarPlayer(neighbor.steamId(), nickname, neighbor.similarity()));
+        }
+        return result;
+    }
+
+    @Override
+    public void updateLibrary(String steamId, int[] appids) {
+        index.update(steamId, appids);
+    }
+
+    // 라이브러리를 새로 가져올 때마다 시그니처를 증분 갱신
+    @EventListener
+    public void onLibraryUpdated(LibraryUpdatedEvent event) {
+        updateLibrary(event.getSteamId(), event.getAppids());
+        logger.debug("MinHash signature updated for steamId: {} (indexed users: {})", event.getSteamId(), index.size());
+    }
+
+    // 재시작/아카이브 복원으로 registry 에 되살린 라이브러리도 색인한다 (Steam 을 다시 호출하지 않도록)
+    @EventListener
+    public void onLibraryRestored(LibraryRestoredEvent event) {
+        updateLibrary(event.getLibrary().steamId(), event.getLibrary().appids());
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.steam.service;
+
+import com.example.steam.model.ArchiveExport;
+import com.example.steam.recommend.UserLibrary;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface SnapshotArchiveService {
+
+    ArchiveExport export(LocalDate date) throws IOException; // owned_game, playtime_history 를 날짜 파티션으로 내보냄
+
+    List<LocalDate> listDates() throws IOException; // 아카이브된 라이브러리 파티션 날짜 (오름차순)
+
+    void forEachLibrary(LocalDate date, Consumer<UserLibrary> consumer) throws IOException; // DB 없이 아카이브에서 라이브러리 읽기 (학습용)
+
+    int restore(LocalDate date) throws IOException; // DB 에 없는 사용자/기록 블록만 아카이브에서 채움 (관리자 백필), 채운 사용자 수 반환
+}
@@ -0,0 +1,490 @@
+package com.example.steam.service;
+
+import com.example.steam.archive.ArchiveManifest;
+import com.example.steam.archive.ArchiveStore;
+import com.example.steam.archive.OwnedGameArchive;
+import com.example.steam.archive.PlaytimeHistoryArchive;
+import com.example.steam.entity.PlaytimeHistory;
+import com.example.steam.entity.PlaytimeHistoryId;
+import com.example.steam.event.LibraryRestoredEvent;
+import com.example.steam.model.ArchiveExport;
+import com.example.steam.model.LibraryGame;
+import com.example.steam.recommend.LibraryRegistry;
+import com.example.steam.recommend.UserLibrary;
+import com.example.steam.repository.OwnedGameJdbcRepository;
+import com.example.steam.repository.PlaytimeHistoryJdbcRepository;
+import com.example.steam.repository.PlaytimeHistoryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+
+/**
+ * owned_game / playtime_history 를 날짜 파티션 컬럼 아카이브로 내보내고 다시 읽는다.
+ *
+ * 키: library/date=yyyy-MM-dd/part-<run>-NNNNN.sgar.gz, history/date=yyyy-MM-dd/part-<run>-NNNNN.sgar.gz
+ * 파티션 하나가 그날의 전체 스냅샷이다. DB 를 행 단위로 흘려 읽어 임시 파일에 쓰고,
+ * rows-per-file 을 넘으면 사용자 경계에서 파일을 나눠 저장소에 올린다 (메모리는 행 그룹 하나분).
+ * 파트 이름에 실행마다 다른 run 을 넣어 기존 파트를 덮어쓰지 않고, 두 테이블을 모두 올린 뒤에야
+ * 파티션별 _manifest 를 바꿔 공개하고 이전 파트를 지운다. 도중에 실패하면 이번 실행의 파트만 지우므로
+ * 읽는 쪽(매니페스트 기준)은 항상 이전 또는 새 스냅샷 하나만 본다.
+ * 학습/평가는 forEachLibrary 나 LibraryDataset 으로 DB 없이 파일만 읽는다.
+ * DB 로 되돌려 쓰기(restore)는 관리자가 명시적으로 한 번 호출하며, DB 에 없는 사용자와 기록 블록만 채운다.
+ */
+@Service
+public class SnapshotArchiveServiceImpl implements SnapshotArchiveService {
+
+    private static final Logger logger = LoggerFactory.getLogger(SnapshotArchiveServiceImpl.class);
+
+    static final String LIBRARY_PREFIX = "library/";
+    static final String HISTORY_PREFIX = "history/";
+    private static final String PARTITION = "date=";
+    private static final String FILE_SUFFIX = ArchiveManifest.PART_SUFFIX;
+
+    private final ArchiveStore archiveStore;
+    private final OwnedGameJdbcRepository ownedGameJdbcRepository;
+    private final PlaytimeHistoryJdbcRepository playtimeHistoryJdbcRepository;
+    private final PlaytimeHistoryRepository playtimeHistoryRepository;
+    private final LibrarySnapshotService librarySnapshotService;
+    private final LibraryRegistry libraryRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final boolean enabled;
+    private final long rowsPerFile;
+    private final AtomicBoolean restoring = new AtomicBoolean();
+
+    public SnapshotArchiveServiceImpl(ArchiveStore archiveStore,
+                                      OwnedGameJdbcRepository ownedGameJdbcRepository,
+                                      PlaytimeHistoryJdbcRepository playtimeHistoryJdbcRepository,
+                                      PlaytimeHistoryRepository playtimeHistoryRepository,
+                                      LibrarySnapshotService librarySnapshotService,
+                                      LibraryRegistry libraryRegistry,
+                                      ApplicationEventPublisher eventPublisher,
+                                      @Value("${archive.enabled:false}") boolean enabled,
+                                      @Value("${archive.rows-per-file:5000000}") long rowsPerFile) {
+        this.archiveStore = archiveStore;
+        this.ownedGameJdbcRepository = ownedGameJdbcRepository;
+        this.playtimeHistoryJdbcRepository = playtimeHistoryJdbcRepository;
+        this.playtimeHistoryRepository = playtimeHistoryRepository;
+        this.librarySnapshotService = librarySnapshotService;
+        this.libraryRegistry = libraryRegistry;
+        this.eventPublisher = eventPublisher;
+        this.enabled = enabled;
+        this.rowsPerFile = Math.max(1, rowsPerFile);
+    }
+
+    // 매일 현재 스냅샷을 그날(UTC) 날짜 파티션으로 내보낸다 (기본 UTC 04:30)
+    @Scheduled(cron = "${archive.cron:0 30 4 * * *}", zone = "UTC")
+    public void exportDaily() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            ArchiveExport result = export(LocalDate.now(ZoneOffset.UTC));
+            logger.info("Archived {} library rows and {} history blocks ({} files, {} bytes) to {} in {} ms",
+                    result.getLibraryRows(), result.getHistoryRows(), result.getFiles().size(), result.getBytes(),
+                    archiveStore.describe(), result.getElapsedMillis());
+        } catch (Exception e) {
+            logger.error("Error exporting snapshot archive", e);
+        }
+    }
+
+    @Override
+    public ArchiveExport export(LocalDate date) throws IOException {
+        long start = System.currentTimeMillis();
+        String runId = Long.toString(start, 36);
+        long[] bytes = new long[1];
+        String libraryPrefix = partitionPrefix(LIBRARY_PREFIX, date);
+        String historyPrefix = partitionPrefix(HISTORY_PREFIX, date);
+
+        LibraryPartWriter libraries = new LibraryPartWriter(libraryPrefix, runId, bytes);
+        HistoryPartWriter history = new HistoryPartWriter(historyPrefix, runId, bytes);
+        try {
+            ownedGameJdbcRepository.forEachGame(libraries);
+            libraries.finish();
+            playtimeHistoryJdbcRepository.forEachBlock(history);
+            history.finish();
+            // 두 테이블을 모두 올린 뒤에만 공개한다
+            libraries.publish();
+            history.publish();
+        } catch (IOException | RuntimeException e) {
+            // 잘린 파트를 올리지 않고, 이번 실행이 올린 파트도 지운다 (이미 공개한 쪽은 그대로)
+            libraries.abort();
+            history.abort();
+            if (e instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) e).getCause();
+            }
+            throw e;
+        }
+        // 공개가 끝난 뒤 이전 실행, 실패한 실행의 파트를 지운다
+        deleteUnlisted(libraryPrefix, libraries.keys);
+        deleteUnlisted(historyPrefix, history.keys);
+        List<String> files = new ArrayList<>(libraries.keys);
+        files.addAll(history.keys);
+        return ArchiveExport.builder()
+                .date(date.toString())
+                .libraryRows(libraries.totalRows)
+                .historyRows(history.totalRows)
+                .bytes(bytes[0])
+                .files(files)
+                .elapsedMillis(System.currentTimeMillis() - start)
+                .build();
+    }
+
+    // 파티션의 매니페스트를 새 파트 목록으로 바꾼다 (읽는 쪽은 이 시점부터 새 스냅샷을 본다)
+    private void writeManifest(String prefix, List<String> keys) throws IOException {
+        Path manifest = Files.createTempFile("snapshot-archive-", ArchiveManifest.FILE_NAME);
+        try {
+            List<String> names = new ArrayList<>(keys.size());
+            for (String key : keys) {
+                names.add(key.substring(prefix.length()));
+            }
+            ArchiveManifest.write(manifest, names);
+            archiveStore.put(prefix + ArchiveManifest.FILE_NAME, manifest);
+        } finally {
+            Files.deleteIfExists(manifest);
+        }
+    }
+
+    private void deleteUnlisted(String prefix, List<String> keys) throws IOException {
+        Set<String> current = new HashSet<>(keys);
+        for (String key : archiveStore.list(prefix)) {
+            if (key.endsWith(FILE_SUFFIX) && !current.contains(key)) {
+                archiveStore.delete(key);
+            }
+        }
+    }
+
+    // 파티션에서 읽을 파트 키 (매니페스트가 있으면 거기 적힌 것만)
+    private List<String> partKeys(String prefix) throws IOException {
+        List<String> keys = archiveStore.list(prefix);
+        String manifest = prefix + ArchiveManifest.FILE_NAME;
+        if (keys.contains(manifest)) {
+            List<String> parts = new ArrayList<>();
+            try (InputStream in = archiveStore.open(manifest)) {
+                for (String name : ArchiveManifest.read(in)) {
+                    parts.add(prefix + name);
+                }
+            }
+            return parts;
+        }
+        List<String> parts = new ArrayList<>();
+        for (String key : keys) {
+            if (key.endsWith(FILE_SUFFIX)) {
+                parts.add(key);
+            }
+        }
+        return parts;
+    }
+
+    @Override
+    public List<LocalDate> listDates() throws IOException {
+        TreeSet<LocalDate> dates = new TreeSet<>();
+        for (String key : archiveStore.list(LIBRARY_PREFIX + PARTITION)) {
+            int begin = LIBRARY_PREFIX.length() + PARTITION.length();
+            int end = key.indexOf('/', begin);
+            if (end > begin) {
+                dates.add(LocalDate.parse(key.substring(begin, end)));
+            }
+        }
+        return new ArrayList<>(dates);
+    }
+
+    @Override
+    public void forEachLibrary(LocalDate date, Consumer<UserLibrary> consumer) throws IOException {
+        for (String key : partKeys(partitionPrefix(LIBRARY_PREFIX, date))) {
+            try (InputStream in = archiveStore.open(key)) {
+                OwnedGameArchive.forEachLibrary(in, consumer);
+            }
+        }
+    }
+
+    /**
+     * 아카이브에서 DB 에 없는 것만 채운다 (DB 유실, 새 환경 백필).
+     * 저장된 스냅샷이 있는 사용자와 이미 있는 기록 블록은 건드리지 않으므로 더 새로운 데이터를 되돌리지 않는다.
+     * 동시에 한 번만 실행된다 (이미 실행 중이면 IllegalStateException).
+     */
+    @Override
+    public int restore(LocalDate date) throws IOException {
+        if (!restoring.compareAndSet(false, true)) {
+            throw new IllegalStateException("Archive restore already running");
+        }
+        try {
+            return restoreMissing(date);
+        } finally {
+            restoring.set(false);
+        }
+    }
+
+    private int restoreMissing(LocalDate date) throws IOException {
+        long start = System.currentTimeMillis();
+        Set<String> restored = new HashSet<>();
+        for (String key : partKeys(partitionPrefix(LIBRARY_PREFIX, date))) {
+            try (InputStream in = archiveStore.open(key)) {
+                GameCollector collector = new GameCollector((steamId, games) -> {
+                    if (librarySnapshotService.getSnapshot(steamId).isEmpty()) {
+                        librarySnapshotService.saveLibrary(steamId, games);
+                        restored.add(steamId);
+                    }
+                });
+                OwnedGameArchive.read(in, collector);
+                collector.flush();
+            }
+        }
+        AtomicInteger blocks = new AtomicInteger();
+        LocalDateTime now = LocalDateTime.now();
+        for (String key : partKeys(partitionPrefix(HISTORY_PREFIX, date))) {
+            try (InputStream in = archiveStore.open(key)) {
+                PlaytimeHistoryArchive.read(in, (steamId, month, observationCount, data) -> {
+                    PlaytimeHistoryId id = new PlaytimeHistoryId(steamId, month);
+                    if (playtimeHistoryRepository.existsById(id)) {
+                        return;
+                    }
+                    PlaytimeHistory row = new PlaytimeHistory();
+                    row.setSteamId(steamId);
+                    row.setMonth(month);
+                    row.setData(data);
+                    row.setObservationCount(observationCount);
+                    row.setUpdatedAt(now);
+                    playtimeHistoryRepository.save(row);
+                    blocks.incrementAndGet();
+                });
+            }
+        }
+        // 새로 채운 사용자만 추천 색인에도 바로 보이도록
+        forEachLibrary(date, library -> {
+            if (restored.contains(library.steamId()) && libraryRegistry.get(library.steamId()) == null) {
+                libraryRegistry.put(library);
+                eventPublisher.publishEvent(new LibraryRestoredEvent(library));
+            }
+        });
+        logger.info("Restored {} missing libraries and {} missing history blocks from archive date={} in {} ms",
+                restored.size(), blocks.get(), date, System.currentTimeMillis() - start);
+        return restored.size();
+    }
+
+    private static String partitionPrefix(String table, LocalDate date) {
+        return table + PARTITION + date + "/";
+    }
+
+    // 임시 파일에 파트 하나를 쓰고 다 차면 run 이 붙은 키로 저장소에 올린다 (공개는 매니페스트로)
+    private abstract class PartWriter implements RowCallbackHandler {
+        private final String prefix;
+        private final String runId;
+        private final long[] bytes;
+        private int part;
+        private Path file;
+        final List<String> keys = new ArrayList<>();
+        private boolean published;
+        long totalRows;
+
+        PartWriter(String prefix, String runId, long[] bytes) {
+            this.prefix = prefix;
+            this.runId = runId;
+            this.bytes = bytes;
+        }
+
+        abstract void open(OutputStream out) throws IOException;
+
+        abstract long partRows();
+
+        abstract void closePart() throws IOException;
+
+        // 사용자 경계에서만 호출한다
+        void rotateIfFull() throws IOException {
+            if (file != null && partRows() >= rowsPerFile) {
+                finishPart();
+            }
+            if (file == null) {
+                file = Files.createTempFile("snapshot-archive-", FILE_SUFFIX);
+                open(Files.newOutputStream(file));
+            }
+        }
+
+        // 스트림을 끝까지 읽은 뒤에만 호출한다 (마지막 파트 업로드)
+        void finish() throws IOException {
+            if (file != null) {
+                finishPart();
+            }
+        }
+
+        void publish() throws IOException {
+            writeManifest(prefix, keys);
+            published = true;
+        }
+
+        // 실패: 쓰던 파트는 올리지 않고 버리며, 이번 실행이 이미 올린 파트도 지운다
+        void abort() {
+            if (published) {
+                return;
+            }
+            if (file != null) {
+                try {
+                    closePart();
+                } catch (IOException | RuntimeException e) {
+                    // 버릴 파일이므로 무시
+                }
+                try {
+                    Files.deleteIfExists(file);
+                } catch (IOException e) {
+                    logger.warn("Could not delete temp archive part {}", file, e);
+                }
+                file = null;
+            }
+            for (String key : keys) {
+                try {
+                    archiveStore.delete(key);
+                } catch (IOException | RuntimeException e) {
+                    logger.warn("Could not delete unpublished archive part {}", key, e);
+                }
+            }
+            keys.clear();
+        }
+
+        private void finishPart() throws IOException {
+            try {
+                closePart();
+                String key = prefix + String.format("part-%s-%05d", runId, part++) + FILE_SUFFIX;
+                keys.add(key);
+                archiveStore.put(key, file);
+                bytes[0] += Files.size(file);
+            } finally {
+                Files.deleteIfExists(file);
+                file = null;
+            }
+        }
+    }
+
+    private final class LibraryPartWriter extends PartWriter {
+        private OwnedGameArchive.Writer writer;
+        private String steamId;
+
+        LibraryPartWriter(String prefix, String runId, long[] bytes) {
+            super(prefix, runId, bytes);
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                String id = rs.getString(1);
+                if (!id.equals(steamId)) {
+                    steamId = id;
+                    rotateIfFull();
+                }
+                writer.write(id, rs.getInt(2), rs.getInt(3), rs.getInt(4), rs.getLong(5));
+                totalRows++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void open(OutputStream out) throws IOException {
+            writer = OwnedGameArchive.writer(out);
+        }
+
+        @Override
+        long partRows() {
+            return writer.rowCount();
+        }
+
+        @Override
+        void closePart() throws IOException {
+            writer.close();
+        }
+    }
+
+    private final class HistoryPartWriter extends PartWriter {
+        private PlaytimeHistoryArchive.Writer writer;
+        private String steamId;
+
+        HistoryPartWriter(String prefix, String runId, long[] bytes) {
+            super(prefix, runId, bytes);
+        }
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                String id = rs.getString(1);
+                if (!id.equals(steamId)) {
+                    steamId = id;
+                    rotateIfFull();
+                }
+                writer.write(id, rs.getInt(2), rs.getInt(3), rs.getBytes(4));
+                totalRows++;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        @Override
+        void open(OutputStream out) throws IOException {
+            writer = PlaytimeHistoryArchive.writer(out);
+        }
+
+        @Override
+        long partRows() {
+            return writer.rowCount();
+        }
+
+        @Override
+        void closePart() throws IOException {
+            writer.close();
+        }
+    }
+
+    // 아카이브 행을 사용자 단위 LibraryGame 목록으로 모은다 (백필용)
+    private static final class GameCollector implements OwnedGameArchive.RowVisitor {
+        private final BiConsumer<String, List<LibraryGame>> consumer;
+        private String steamId;
+        private List<LibraryGame> games = new ArrayList<>();
+
+        GameCollector(BiConsumer<String, List<LibraryGame>> consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void row(String steamId, int appid, int playtimeForever, int playtime2weeks, long rtimeLastPlayed) {
+            if (!steamId.equals(this.steamId)) {
+                flush();
+                this.steamId = steamId;
+            }
+            games.add(LibraryGame.builder()
+                    .appid(appid)
+                    .playtime_forever(playtimeForever)
+                    .playtime_2weeks(playtime2weeks)
+                    .rtime_last_played(rtimeLastPlayed)
+                    .build());
+        }
+
+        void flush() {
+            if (steamId != null && !games.isEmpty()) {
+                consumer.accept(steamId, games);
+                games = new ArrayList<>();
+            }
+        }
+    }
+}
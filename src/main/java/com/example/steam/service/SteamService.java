@@ -1,7 +1,9 @@
 package com.example.steam.service;
 
+import com.example.steam.model.LibraryGame;
 import com.example.steam.model.SteamUser;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 
@@ -20,10 +22,16 @@ public interface SteamService {
 
     int getRecentlyPlayedGamesCount(String steamId);
 
-    public int getCurrentPlayers(String appId);
+    public int getCurrentPlayers(int appid);
 
     Map<String, Object> getGlobalAchievements(String gameid);
 
     public SteamUser getSteamProfile(String steamId); //스팀 프로필 정보
 
+    List<LibraryGame> getLibrary(String steamId); // 무료 플레이 게임을 포함한 라이브러리 (LibraryUpdatedEvent 발행)
+
+    List<String> getFriendIds(String steamId); // 친구 steamId 목록 (비공개면 빈 목록)
+
+    List<SteamUser> getPlayerSummaries(Collection<String> steamIds); // 100 명 단위 배치 조회
+
 }
\ No newline at end of file
@@ -1,5 +1,9 @@
 package com.example.steam.service;
 
+import com.example.steam.event.CurrentPlayersSampledEvent;
+import com.example.steam.event.LibraryUpdatedEvent;
+import com.example.steam.event.RecentlyPlayedEvent;
+import com.example.steam.model.LibraryGame;
 import com.example.steam.model.SteamUser;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.jsoup.Jsoup;
@@ -9,11 +13,14 @@ import org.jsoup.select.Elements;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestTemplate;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -28,10 +35,17 @@ public class SteamServiceImpl implements SteamService {
     @Value("${steam.api.key}")
     private String steamApiKey;
 
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    // GetPlayerSummaries 한 번에 조회할 수 있는 최대 steamId 수
+    private static final int SUMMARY_BATCH_SIZE = 100;
+
     private final RestTemplate restTemplate;
+    private final ApplicationEventPublisher eventPublisher;
 
-    public SteamServiceImpl(RestTemplate restTemplate) {
+    public SteamServiceImpl(RestTemplate restTemplate, ApplicationEventPublisher eventPublisher) {
         this.restTemplate = restTemplate;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -56,10 +70,14 @@ public class SteamServiceImpl implements SteamService {
     public Map<String, Object> getRecentlyPlayedGames(String steamId) {
         String url = String.format("https://api.steampowered.com/IPlayerService/GetRecentlyPlayedGames/v1/?key=%s&steamid=%s", steamApiKey, steamId);
         try {
-            return restTemplate.getForObject(url, Map.class);
+            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+            // 최근 2주 기록이 없어도 관측 시각은 의미가 있으므로 빈 목록도 발행
+            if (response != null && response.get("response") instanceof Map) {
+                eventPublisher.publishEvent(new RecentlyPlayedEvent(steamId, parseGames(response), System.currentTimeMillis() / 1000));
+            }
+            return response;
         } catch (HttpClientErrorException e) {
-            // 에러 로그 추가
-            System.out.println("Error: " + e.getResponseBodyAsString());
+            logger.error("Error fetching recently played games for steamId: {}, Response: {}", steamId, e.getResponseBodyAsString());
             throw e;
         }
     }
@@ -68,7 +86,47 @@ public class SteamServiceImpl implements SteamService {
     @Override
     public Object getAllGameStats(String steamId) {
         String url = String.format("https://api.steampowered.com/IPlayerService/GetOwnedGames/v1/?key=%s&steamid=%s&include_appinfo=true&include_played_free_games=true", steamApiKey, steamId);
-        return restTemplate.getForObject(url, Object.class);
+        Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+        publishLibrary(steamId, response);
+        return response;
+    }
+
+    // 무료 플레이 게임을 포함한 라이브러리를 가져와 LibraryUpdatedEvent 로 알린다
+    @Override
+    public List<LibraryGame> getLibrary(String steamId) {
+        String url = String.format("https://api.steampowered.com/IPlayerService/GetOwnedGames/v1/?key=%s&steamid=%s&include_appinfo=true&include_played_free_games=true", steamApiKey, steamId);
+        try {
+            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+            return publishLibrary(steamId, response);
+        } catch (HttpClientErrorException e) {
+            logger.error("Error fetching library for steamId: {}, Response: {}", steamId, e.getResponseBodyAsString());
+            throw e;
+        }
+    }
+
+    // GetOwnedGames 응답을 LibraryGame 목록으로 변환하고 이벤트를 발행
+    private List<LibraryGame> publishLibrary(String steamId, Map<String, Object> response) {
+        List<LibraryGame> games = parseGames(response);
+        // 비공개 프로필은 games 가 비어 있으므로 색인을 지우지 않도록 발행하지 않는다
+        if (!games.isEmpty()) {
+            eventPublisher.publishEvent(new LibraryUpdatedEvent(steamId, games));
+        }
+        return games;
+    }
+
+    private List<LibraryGame> parseGames(Map<String, Object> response) {
+        if (response == null || !(response.get("response") instanceof Map)) {
+            return Collections.emptyList();
+        }
+        List<Map<String, Object>> games = (List<Map<String, Object>>) ((Map<String, Object>) response.get("response")).get("games");
+        if (games == null) {
+            return Collections.emptyList();
+        }
+        List<LibraryGame> result = new ArrayList<>(games.size());
+        for (Map<String, Object> game : games) {
+            result.add(objectMapper.convertValue(game, LibraryGame.class));
+        }
+        return result;
     }
 
     // 특정 게임의 리뷰를 가져오는 메서드
@@ -132,11 +190,14 @@ public class SteamServiceImpl implements SteamService {
     }
 
     @Override
-    public int getCurrentPlayers(String appId) {
-        String url = String.format("https://api.steampowered.com/ISteamUserStats/GetNumberOfCurrentPlayers/v1/?key=%s&appid=%s", steamApiKey, appId);
+    public int getCurrentPlayers(int appid) {
+        String url = String.format("https://api.steampowered.com/ISteamUserStats/GetNumberOfCurrentPlayers/v1/?key=%s&appid=%d", steamApiKey, appid);
         Map<String, Object> response = restTemplate.getForObject(url, Map.class);
         Map<String, Object> responseData = (Map<String, Object>) response.get("response");
-        return (int) responseData.get("player_count");
+        int playerCount = (int) responseData.get("player_count");
+        // 트렌딩 집계용 표본
+        eventPublisher.publishEvent(new CurrentPlayersSampledEvent(appid, playerCount, System.currentTimeMillis()));
+        return playerCount;
     }
 
     @Override
@@ -172,4 +233,52 @@ public class SteamServiceImpl implements SteamService {
         return null;
     }
 
-}
\ No newline at end of file
+    @Override
+    public List<String> getFriendIds(String steamId) {
+        String url = String.format("https://api.steampowered.com/ISteamUser/GetFriendList/v1/?key=%s&steamid=%s&relationship=friend", steamApiKey, steamId);
+        try {
+            Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+            if (response == null || !(response.get("friendslist") instanceof Map)) {
+                return Collections.emptyList();
+            }
+            List<Map<String, Object>> friends = (List<Map<String, Object>>) ((Map<String, Object>) response.get("friendslist")).get("friends");
+            if (friends == null) {
+                return Collections.emptyList();
+            }
+            List<String> result = new ArrayList<>(friends.size());
+            for (Map<String, Object> friend : friends) {
+                result.add(String.valueOf(friend.get("steamid")));
+            }
+            return result;
+        } catch (HttpClientErrorException.Unauthorized e) {
+            // 친구 목록이 비공개인 프로필
+            return Collections.emptyList();
+        }
+    }
+
+    @Override
+    public List<SteamUser> getPlayerSummaries(Collection<String> steamIds) {
+        List<String> ids = new ArrayList<>(steamIds);
+        List<SteamUser> result = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += SUMMARY_BATCH_SIZE) {
+            String joined = String.join(",", ids.subList(from, Math.min(from + SUMMARY_BATCH_SIZE, ids.size())));
+            String url = String.format("https://api.steampowered.com/ISteamUser/GetPlayerSummaries/v2/?key=%s&steamids=%s", steamApiKey, joined);
+            try {
+                Map<String, Object> response = restTemplate.getForObject(url, Map.class);
+                if (response == null || !(response.get("response") instanceof Map)) {
+                    continue;
+                }
+                List<Map<String, Object>> players = (List<Map<String, Object>>) ((Map<String, Object>) response.get("response")).get("players");
+                if (players != null) {
+                    for (Map<String, Object> player : players) {
+                        result.add(objectMapper.convertValue(player, SteamUser.class));
+                    }
+                }
+            } catch (HttpClientErrorException e) {
+                logger.error("Error fetching player summaries batch, Response: {}", e.getResponseBodyAsString());
+                throw e;
+            }
+        }
+        return result;
+    }
+}
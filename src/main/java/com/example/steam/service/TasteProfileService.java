@@ -0,0 +1,10 @@
+package com.example.steam.service;
+
+import com.example.steam.model.TasteWeight;
+
+import java.util.List;
+
+public interface TasteProfileService {
+
+    List<TasteWeight> getTasteProfile(String steamId, int limit); // 최근 관심 게임 (감쇠 가중치 순)
+}
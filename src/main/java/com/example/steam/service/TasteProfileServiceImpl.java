@@ -0,0 +1,77 @@
+package com.example.steam.service;
+
+import com.example.steam.event.RecentlyPlayedEvent;
+import com.example.steam.event.TasteChangedEvent;
+import com.example.steam.model.LibraryGame;
+import com.example.steam.model.TasteWeight;
+import com.example.steam.recommend.DecayingTasteProfile;
+import com.example.steam.recommend.ScoredGame;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Service
+public class TasteProfileServiceImpl implements TasteProfileService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TasteProfileServiceImpl.class);
+
+    private final DecayingTasteProfile tasteProfile;
+    private final SteamService steamService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // appid -> 게임 이름 (최근 플레이 응답에서 수집)
+    private final Map<Integer, String> gameNames = new ConcurrentHashMap<>();
+
+    public TasteProfileServiceImpl(DecayingTasteProfile tasteProfile, SteamService steamService,
+                                   ApplicationEventPublisher eventPublisher) {
+        this.tasteProfile = tasteProfile;
+        this.steamService = steamService;
+        this.eventPublisher = eventPublisher;
+    }
+
+    @Override
+    public List<TasteWeight> getTasteProfile(String steamId, int limit) {
+        if (steamId == null) {
+            return new ArrayList<>();  // 스팀 계정을 연동하지 않은 사용자
+        }
+        if (!tasteProfile.contains(steamId)) {
+            // 처음 조회하는 사용자는 최근 플레이 기록을 한 번 가져와 이벤트로 반영시킨다
+            steamService.getRecentlyPlayedGames(steamId);
+        }
+        List<TasteWeight> result = new ArrayList<>();
+        for (ScoredGame game : tasteProfile.top(steamId, limit, System.currentTimeMillis() / 1000)) {
+            result.add(new TasteWeight(game.appid(), gameNames.get(game.appid()), game.score()));
+        }
+        return result;
+    }
+
+    // 최근 플레이 관측을 바뀐 게임만 프로필에 누적
+    @EventListener
+    public void onRecentlyPlayed(RecentlyPlayedEvent event) {
+        List<LibraryGame> games = event.getGames();
+        int[] appids = new int[games.size()];
+        int[] playtimeForever = new int[games.size()];
+        int[] playtime2weeks = new int[games.size()];
+        for (int i = 0; i < games.size(); i++) {
+            LibraryGame game = games.get(i);
+            appids[i] = game.getAppid();
+            playtimeForever[i] = game.getPlaytime_forever();
+            playtime2weeks[i] = game.getPlaytime_2weeks();
+            if (game.getName() != null) {
+                gameNames.putIfAbsent(game.getAppid(), game.getName());
+            }
+        }
+        int changed = tasteProfile.observe(event.getSteamId(), appids, playtimeForever, playtime2weeks, event.getObservedAt());
+        logger.debug("Taste profile updated for steamId: {} ({} games changed)", event.getSteamId(), changed);
+        if (changed > 0) {
+            eventPublisher.publishEvent(new TasteChangedEvent(event.getSteamId(), changed));
+        }
+    }
+}
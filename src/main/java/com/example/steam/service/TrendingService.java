@@ -0,0 +1,10 @@
+package com.example.steam.service;
+
+import com.example.steam.model.TrendingSnapshot;
+
+public interface TrendingService {
+
+    TrendingSnapshot getTrending(); // 마지막으로 계산한 트렌딩 스냅샷
+
+    void refreshSnapshot(); // 스냅샷 재계산
+}
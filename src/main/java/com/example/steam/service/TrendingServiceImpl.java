@@ -0,0 +1,200 @@
+package com.example.steam.service;
+
+import com.example.steam.entity.AppDetails;
+import com.example.steam.event.CurrentPlayersSampledEvent;
+import com.example.steam.event.RecentlyPlayedEvent;
+import com.example.steam.model.LibraryGame;
+import com.example.steam.model.TrendingGame;
+import com.example.steam.model.TrendingSnapshot;
+import com.example.steam.recommend.ScoredGame;
+import com.example.steam.recommend.TrendingDetector;
+import com.example.steam.repository.AppDetailsRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+@Service
+public class TrendingServiceImpl implements TrendingService {
+
+    private static final Logger logger = LoggerFactory.getLogger(TrendingServiceImpl.class);
+
+    // 창 전체에서 (사용자, 게임) 중복을 거르는 버킷별 비트 집합 크기 (버킷당 고정 128KB)
+    private static final int SEEN_BITS = 1 << 20;
+
+    private final SteamService steamService;
+    private final AppDetailsRepository appDetailsRepository;
+    private final TrendingDetector sitePlayers;
+    private final TrendingDetector currentPlayers;
+    private final long bucketMillis;
+    private final int buckets;
+    private final long windowMinutes;
+    private final int snapshotSize;
+    private final int sampleSize;
+
+    // 버킷 epoch % buckets 자리에 그 버킷에서 센 (사용자, 게임) 비트 (창 밖으로 나간 버킷은 재사용 시 비운다)
+    private final BitSet[] seen;
+    private final long[] seenEpochs;
+    // appid -> 현재 버킷에서 지금까지 본 최대 동시 접속자 수 (표본을 여러 번 받아도 버킷당 최댓값만 더한다)
+    private final Map<Integer, BucketMax> playerMax = new HashMap<>();
+
+    // 요청 스레드는 이 참조만 읽는다
+    private volatile TrendingSnapshot snapshot = new TrendingSnapshot(List.of(), List.of(), 0, 0);
+
+    // 기본: 60분 창을 5분 버킷 12개로, sketch 4 x 4096, 후보 1024 개
+    public TrendingServiceImpl(SteamService steamService,
+                               AppDetailsRepository appDetailsRepository,
+                               @Value("${trending.window-minutes:60}") long windowMinutes,
+                               @Value("${trending.buckets:12}") int buckets,
+                               @Value("${trending.sketch-depth:4}") int depth,
+                               @Value("${trending.sketch-width:4096}") int width,
+                               @Value("${trending.candidates:1024}") int candidates,
+                               @Value("${trending.snapshot-size:20}") int snapshotSize,
+                               @Value("${trending.sample-size:20}") int sampleSize) {
+        this.steamService = steamService;
+        this.appDetailsRepository = appDetailsRepository;
+        this.windowMinutes = windowMinutes;
+        this.bucketMillis = windowMinutes * 60_000L / buckets;
+        this.buckets = buckets;
+        this.seen = new BitSet[buckets];
+        this.seenEpochs = new long[buckets];
+        for (int i = 0; i < buckets; i++) {
+            seen[i] = new BitSet(SEEN_BITS);
+            seenEpochs[i] = Long.MIN_VALUE;
+        }
+        this.sitePlayers = new TrendingDetector(depth, width, buckets, bucketMillis, candidates);
+        this.currentPlayers = new TrendingDetector(depth, width, buckets, bucketMillis, candidates);
+        this.snapshotSize = snapshotSize;
+        this.sampleSize = sampleSize;
+    }
+
+    @Override
+    public TrendingSnapshot getTrending() {
+        return snapshot;
+    }
+
+    // 최근 2주 플레이 기록이 있는 게임마다 사용자 1명으로 센다 (창 안에서 다시 조회해도 한 번만)
+    @EventListener
+    public void onRecentlyPlayed(RecentlyPlayedEvent event) {
+        long now = System.currentTimeMillis();
+        for (LibraryGame game : event.getGames()) {
+            if (game.getPlaytime_2weeks() > 0 && firstInWindow(event.getSteamId(), game.getAppid(), now)) {
+                sitePlayers.add(game.getAppid(), 1, now);
+            }
+        }
+    }
+
+    /**
+     * 동시 접속자 표본은 더하지 않고 버킷별 최댓값으로 센다.
+     * 새 표본이 그 버킷의 최댓값을 넘으면 차이만 더하므로 자주 조회된 게임이 유리해지지 않는다.
+     */
+    @EventListener
+    public void onCurrentPlayersSampled(CurrentPlayersSampledEvent event) {
+        long delta = raiseBucketMax(event.getAppid(), event.getPlayerCount(), event.getSampledAt() / bucketMillis);
+        if (delta > 0) {
+            currentPlayers.add(event.getAppid(), delta, event.getSampledAt());
+        }
+    }
+
+    // 후보 게임의 동시 접속자 수를 주기적으로 다시 표본 추출해 요청 빈도와 무관하게 창을 채운다
+    @Scheduled(fixedDelayString = "${trending.sample-interval-ms:300000}", initialDelay = 60000)
+    public void sampleCandidates() {
+        Set<Integer> appids = new HashSet<>();
+        for (ScoredGame game : sitePlayers.top(sampleSize, System.currentTimeMillis())) {
+            appids.add(game.appid());
+        }
+        for (ScoredGame game : currentPlayers.top(sampleSize, System.currentTimeMillis())) {
+            appids.add(game.appid());
+        }
+        for (int appid : appids) {
+            try {
+                // 조회 결과는 CurrentPlayersSampledEvent 로 들어온다
+                steamService.getCurrentPlayers(appid);
+            } catch (Exception e) {
+                logger.warn("Error sampling current players for appid: {}", appid, e);
+            }
+        }
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${trending.snapshot-interval-ms:10000}")
+    public void refreshSnapshot() {
+        long now = System.currentTimeMillis();
+        List<ScoredGame> site = sitePlayers.top(snapshotSize, now);
+        List<ScoredGame> players = currentPlayers.top(snapshotSize, now);
+
+        Set<Integer> appids = new HashSet<>();
+        site.forEach(game -> appids.add(game.appid()));
+        players.forEach(game -> appids.add(game.appid()));
+        Map<Integer, String> names = new HashMap<>();
+        for (AppDetails details : appDetailsRepository.findAllById(appids)) {
+            names.put(details.getAppid(), details.getName());
+        }
+        snapshot = new TrendingSnapshot(toTrending(site, names), toTrending(players, names), windowMinutes, now);
+    }
+
+    private synchronized boolean firstInWindow(String steamId, int appid, long now) {
+        long epoch = now / bucketMillis;
+        int slot = (int) Math.floorMod(epoch, (long) buckets);
+        if (seenEpochs[slot] != epoch) {
+            seen[slot].clear();
+            seenEpochs[slot] = epoch;
+        }
+        int bit = Math.floorMod(steamId.hashCode() * 31 + appid * 0x9E3779B1, SEEN_BITS);
+        for (int i = 0; i < buckets; i++) {
+            if (seenEpochs[i] > epoch - buckets && seen[i].get(bit)) {
+                return false;
+            }
+        }
+        seen[slot].set(bit);
+        return true;
+    }
+
+    // 버킷 최댓값을 올리고 올라간 만큼을 반환한다 (지난 버킷의 표본이면 0)
+    private synchronized long raiseBucketMax(int appid, long playerCount, long epoch) {
+        BucketMax max = playerMax.get(appid);
+        if (max == null || max.epoch < epoch) {
+            // 버킷이 바뀌면 지난 항목은 버린다 (표본 추출 대상만 남는다)
+            if (max == null && playerMax.size() >= 4 * sampleSize + 1024) {
+                playerMax.values().removeIf(entry -> entry.epoch < epoch);
+            }
+            max = new BucketMax(epoch);
+            playerMax.put(appid, max);
+        } else if (max.epoch > epoch) {
+            return 0;
+        }
+        long delta = playerCount - max.value;
+        if (delta <= 0) {
+            return 0;
+        }
+        max.value = playerCount;
+        return delta;
+    }
+
+    private static final class BucketMax {
+        final long epoch;
+        long value;
+
+        BucketMax(long epoch) {
+            this.epoch = epoch;
+        }
+    }
+
+    private static List<TrendingGame> toTrending(List<ScoredGame> games, Map<Integer, String> names) {
+        List<TrendingGame> result = new ArrayList<>(games.size());
+        for (ScoredGame game : games) {
+            result.add(new TrendingGame(game.appid(), names.get(game.appid()), (long) game.score()));
+        }
+        return result;
+    }
+}
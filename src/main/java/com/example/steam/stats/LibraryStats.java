@@ -0,0 +1,170 @@
+package com.example.steam.stats;
+
+import java.util.Arrays;
+
+/**
+ * 사용자 한 명의 라이브러리 집계 (게임 수, 플레이 시간 합계/분포, 가장 많이 한 게임).
+ *
+ * 라이브러리 전체를 다시 읽지 않고 게임 한 건의 변경(이전 상태 -> 이후 상태)마다 빼고 더해 유지한다.
+ * 가장 많이 한 게임은 상위 TOP_CAPACITY 개만 들고 있다가, 그 안의 게임이 줄거나 빠지면
+ * 밖에 있던 게임이 올라와야 할 수 있으므로 stale 로 표시하고 호출하는 쪽이 전체로 다시 만든다 (누적 시간은 보통 늘기만 한다).
+ * 내용 해시(게임 해시의 합)도 같이 유지해 저장된 스냅샷과 같은 상태인지 확인할 수 있다.
+ * 스레드 안전하지 않다 (호출하는 쪽이 사용자 단위로 잠근다).
+ */
+public final class LibraryStats {
+
+    public static final int TOP_CAPACITY = 10;
+    // 플레이 시간 분포 구간 하한 (분): 안 함 / 1시간 미만 / 1~10 / 10~50 / 50~100 / 100시간 이상
+    public static final int[] BUCKET_LOWER_BOUNDS = {0, 1, 60, 600, 3000, 6000};
+
+    private int gameCount;
+    private int playedCount;
+    private long totalPlaytime;
+    private long recentPlaytime;
+    private final int[] buckets = new int[BUCKET_LOWER_BOUNDS.length];
+    private final int[] topAppids = new int[TOP_CAPACITY];
+    private final int[] topPlaytimes = new int[TOP_CAPACITY];
+    private int topSize;
+    private boolean stale;
+    private long contentHash;
+
+    /**
+     * 게임 한 건의 변경을 반영한다. hadBefore/hasAfter 가 false 면 그쪽 상태는 없는 것 (추가/제거).
+     */
+    public void apply(int appid,
+                      boolean hadBefore, int playtimeBefore, int recentBefore, long hashBefore,
+                      boolean hasAfter, int playtimeAfter, int recentAfter, long hashAfter) {
+        if (hadBefore) {
+            gameCount--;
+            if (playtimeBefore > 0) {
+                playedCount--;
+            }
+            totalPlaytime -= playtimeBefore;
+            recentPlaytime -= recentBefore;
+            buckets[bucket(playtimeBefore)]--;
+            contentHash -= hashBefore;
+        }
+        if (hasAfter) {
+            gameCount++;
+            if (playtimeAfter > 0) {
+                playedCount++;
+            }
+            totalPlaytime += playtimeAfter;
+            recentPlaytime += recentAfter;
+            buckets[bucket(playtimeAfter)]++;
+            contentHash += hashAfter;
+        }
+        updateTop(appid, hasAfter ? playtimeAfter : 0);
+    }
+
+    public int gameCount() {
+        return gameCount;
+    }
+
+    public int playedCount() {
+        return playedCount;
+    }
+
+    public long totalPlaytime() {
+        return totalPlaytime;
+    }
+
+    public long recentPlaytime() {
+        return recentPlaytime;
+    }
+
+    public int bucketCount(int bucket) {
+        return buckets[bucket];
+    }
+
+    public long contentHash() {
+        return contentHash;
+    }
+
+    // 상위 목록이 전체 라이브러리 기준과 다를 수 있어 다시 만들어야 하는지
+    public boolean isStale() {
+        return stale;
+    }
+
+    public void markStale() {
+        stale = true;
+    }
+
+    public int topSize() {
+        return topSize;
+    }
+
+    // 누적 플레이 시간 내림차순 i 번째
+    public int topAppid(int i) {
+        return topAppids[i];
+    }
+
+    public int topPlaytime(int i) {
+        return topPlaytimes[i];
+    }
+
+    static int bucket(int playtime) {
+        int bucket = 0;
+        while (bucket + 1 < BUCKET_LOWER_BOUNDS.length && playtime >= BUCKET_LOWER_BOUNDS[bucket + 1]) {
+            bucket++;
+        }
+        return bucket;
+    }
+
+    // 플레이한 게임만 상위 목록에 둔다 (playtime 0 은 제거와 같다)
+    private void updateTop(int appid, int playtime) {
+        int index = -1;
+        for (int i = 0; i < topSize; i++) {
+            if (topAppids[i] == appid) {
+                index = i;
+                break;
+            }
+        }
+        if (index >= 0) {
+            if (playtime < topPlaytimes[index]) {
+                // 줄었거나 빠졌다: 목록 밖 게임이 더 클 수 있는데 여기서는 모른다 (목록이 꽉 차 있지 않으면 전부 들고 있다)
+                if (topSize == TOP_CAPACITY) {
+                    stale = true;
+                }
+                removeTop(index);
+                if (playtime > 0) {
+                    insertTop(appid, playtime);
+                }
+            } else {
+                removeTop(index);
+                insertTop(appid, playtime);
+            }
+        } else if (playtime > 0 && (topSize < TOP_CAPACITY || playtime > topPlaytimes[topSize - 1])) {
+            insertTop(appid, playtime);
+        }
+    }
+
+    private void removeTop(int index) {
+        System.arraycopy(topAppids, index + 1, topAppids, index, topSize - index - 1);
+        System.arraycopy(topPlaytimes, index + 1, topPlaytimes, index, topSize - index - 1);
+        topSize--;
+    }
+
+    // 내림차순 자리에 끼워 넣고, 넘치면 마지막을 버린다
+    private void insertTop(int appid, int playtime) {
+        int position = topSize;
+        while (position > 0 && topPlaytimes[position - 1] < playtime) {
+            position--;
+        }
+        if (position >= TOP_CAPACITY) {
+            return;
+        }
+        int moved = Math.min(topSize, TOP_CAPACITY - 1) - position;
+        System.arraycopy(topAppids, position, topAppids, position + 1, moved);
+        System.arraycopy(topPlaytimes, position, topPlaytimes, position + 1, moved);
+        topAppids[position] = appid;
+        topPlaytimes[position] = playtime;
+        topSize = Math.min(topSize + 1, TOP_CAPACITY);
+    }
+
+    @Override
+    public String toString() {
+        return "LibraryStats{games=" + gameCount + ", played=" + playedCount + ", total=" + totalPlaytime
+                + ", buckets=" + Arrays.toString(buckets) + ", top=" + topSize + (stale ? ", stale" : "") + "}";
+    }
+}
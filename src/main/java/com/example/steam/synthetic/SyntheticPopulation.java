@@ -0,0 +1,208 @@
+package com.example.steam.synthetic;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * 규모 테스트용 가상 Steam 사용자 모집단.
+ * 라이브러리 크기는 파레토(멱법칙) 분포, 보유 appid 는 지프(Zipf) 인기도 분포를 따른다.
+ * 같은 seed 와 사용자 번호는 항상 같은 결과를 만든다 (사용자마다 seed 에서 파생한 난수열 사용).
+ */
+public class SyntheticPopulation {
+
+    public static final long STEAM_ID_BASE = 76561197960265728L;
+
+    private static final String[] GENRES = {"Action", "Adventure", "Indie", "RPG", "Strategy", "Simulation",
+            "Casual", "Sports", "Racing", "Massively Multiplayer", "Free to Play", "Early Access"};
+    private static final String[] CATEGORIES = {"Single-player", "Multi-player", "Steam Achievements",
+            "Steam Cloud", "Full controller support", "Co-op", "Online PvP", "Steam Trading Cards",
+            "Steam Workshop", "Remote Play Together", "In-App Purchases", "VR Support"};
+    private static final String[] COUNTRIES = {"KR", "US", "JP", "DE", "CN", "BR", "RU", "GB", "FR", "CA"};
+    private static final String[] REVIEW_OPENERS = {"Great game", "Not worth the price", "Surprisingly fun",
+            "Buggy at launch but fixed now", "Best co-op experience", "Too grindy", "A masterpiece",
+            "Good with friends", "Runs well on old hardware", "Lost track of time"};
+    private static final String[] REVIEW_DETAILS = {"the combat feels tight", "the story drags in the middle",
+            "the soundtrack is excellent", "matchmaking takes forever", "the art style is gorgeous",
+            "updates keep adding content", "performance drops in big fights", "the tutorial is confusing",
+            "mods make it even better", "the ending hit hard"};
+
+    private final long seed;
+    private final int[] appids;
+    private final double[] popularityCdf;
+    private final double libraryAlpha;
+    private final int minLibrary;
+    private final int maxLibrary;
+    private final long now;
+    private final int tasteClusters;
+
+    /**
+     * @param appCount     카탈로그 크기 (appid 는 10 의 배수로 부여)
+     * @param zipfExponent 인기도 지프 지수 (1.0 ~ 1.2 가 실제 분포와 비슷)
+     * @param libraryAlpha 라이브러리 크기 파레토 지수 (작을수록 꼬리가 두껍다)
+     * @param tasteClusters 취향 군집 수. 같은 군집 사용자는 서로 겹치는 게임을 더 많이 갖는다.
+     */
+    public SyntheticPopulation(long seed, int appCount, double zipfExponent, double libraryAlpha,
+                               int minLibrary, int maxLibrary, int tasteClusters, long nowEpochSeconds) {
+        this.seed = seed;
+        this.tasteClusters = Math.max(1, tasteClusters);
+        this.libraryAlpha = libraryAlpha;
+        this.minLibrary = minLibrary;
+        this.maxLibrary = maxLibrary;
+        this.now = nowEpochSeconds;
+
+        // 인기 순위를 appid 순서와 무관하게 섞는다
+        this.appids = new int[appCount];
+        for (int i = 0; i < appCount; i++) {
+            appids[i] = (i + 1) * 10;
+        }
+        SplittableRandom random = new SplittableRandom(seed);
+        for (int i = appCount - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = appids[i];
+            appids[i] = appids[j];
+            appids[j] = tmp;
+        }
+        this.popularityCdf = new double[appCount];
+        double sum = 0;
+        for (int rank = 0; rank < appCount; rank++) {
+            sum += 1.0 / Math.pow(rank + 1, zipfExponent);
+            popularityCdf[rank] = sum;
+        }
+        for (int rank = 0; rank < appCount; rank++) {
+            popularityCdf[rank] /= sum;
+        }
+    }
+
+    public int appCount() {
+        return appids.length;
+    }
+
+    // 인기 순위 rank 의 appid (0 이 가장 인기)
+    public int appidAtRank(int rank) {
+        return appids[rank];
+    }
+
+    public SyntheticUser user(long index) {
+        SplittableRandom random = new SplittableRandom(mix(seed ^ mix(index + 1)));
+        String steamId = String.valueOf(STEAM_ID_BASE + index);
+
+        // 라이브러리 크기: 파레토 분포 (대부분 수십 개, 일부는 수천 개)
+        double u = 1.0 - random.nextDouble();
+        int size = (int) Math.min(maxLibrary, Math.floor(minLibrary / Math.pow(u, 1.0 / libraryAlpha)));
+        size = Math.min(size, appids.length);
+
+        int cluster = random.nextInt(tasteClusters);
+        int[] owned = sampleDistinct(random, size, cluster);
+        Arrays.sort(owned);
+        int[] playtimeForever = new int[owned.length];
+        int[] playtime2weeks = new int[owned.length];
+        long[] lastPlayed = new long[owned.length];
+
+        // 약 35% 의 사용자만 최근 2주 동안 활동
+        boolean active = random.nextDouble() < 0.35;
+        int recentBudget = active ? 1 + random.nextInt(5) : 0;
+        for (int i = 0; i < owned.length; i++) {
+            // 30% 는 한 번도 실행하지 않은 게임, 나머지는 로그 정규 분포(중앙값 약 5시간)
+            if (random.nextDouble() < 0.30) {
+                continue;
+            }
+            playtimeForever[i] = (int) Math.min(500_000, Math.exp(Math.log(300) + 1.8 * gaussian(random)));
+            lastPlayed[i] = now - (long) (random.nextDouble() * 3 * 365 * 86400L);
+            if (recentBudget > 0 && random.nextDouble() < 0.2) {
+                int recent = (int) Math.exp(Math.log(120) + gaussian(random));
+                playtime2weeks[i] = Math.max(1, Math.min(playtimeForever[i], Math.min(recent, 14 * 24 * 60)));
+                lastPlayed[i] = now - random.nextInt(14 * 86400);
+                recentBudget--;
+            }
+        }
+
+        int visibility = random.nextDouble() < 0.85 ? 3 : 1;
+        long created = now - 86400L * (30 + random.nextInt(15 * 365));
+        return new SyntheticUser(index, steamId, "player_" + index,
+                visibility, created, now - random.nextInt(30 * 86400),
+                COUNTRIES[random.nextInt(COUNTRIES.length)],
+                owned, playtimeForever, playtime2weeks, lastPlayed);
+    }
+
+    // appid 의 장르/카테고리 태그 (인기 순위와 무관하게 appid 로 결정)
+    public List<String> tags(int appid) {
+        SplittableRandom random = new SplittableRandom(mix(seed ^ (0x7A65L * appid)));
+        String[] tags = new String[1 + random.nextInt(3) + 2 + random.nextInt(4)];
+        int genreCount = tags.length > 3 ? 1 + random.nextInt(3) : 1;
+        for (int i = 0; i < tags.length; i++) {
+            tags[i] = i < genreCount
+                    ? "genre:" + GENRES[skewedIndex(random, GENRES.length)]
+                    : "category:" + CATEGORIES[skewedIndex(random, CATEGORIES.length)];
+        }
+        return Arrays.stream(tags).distinct().toList();
+    }
+
+    // 짧은 리뷰 문장 count 개
+    public List<String> reviews(int appid, int count) {
+        SplittableRandom random = new SplittableRandom(mix(seed ^ (0x5E71EL * appid)));
+        String[] reviews = new String[count];
+        for (int i = 0; i < count; i++) {
+            reviews[i] = REVIEW_OPENERS[random.nextInt(REVIEW_OPENERS.length)] + ", "
+                    + REVIEW_DETAILS[random.nextInt(REVIEW_DETAILS.length)] + " and "
+                    + REVIEW_DETAILS[random.nextInt(REVIEW_DETAILS.length)] + ".";
+        }
+        return Arrays.asList(reviews);
+    }
+
+    /**
+     * 지프 인기도에 따라 서로 다른 appid size 개를 뽑는다.
+     * 절반 이상은 군집별로 순위를 밀어 둔 분포에서 뽑아 군집마다 인기 게임이 달라지게 한다.
+     */
+    private int[] sampleDistinct(SplittableRandom random, int size, int cluster) {
+        int[] result = new int[size];
+        BitSet taken = new BitSet(appids.length);
+        int clusterOffset = (int) ((long) cluster * appids.length / tasteClusters);
+        int n = 0;
+        int attempts = 0;
+        while (n < size) {
+            int rank;
+            if (attempts++ < size * 8) {
+                rank = Arrays.binarySearch(popularityCdf, random.nextDouble());
+                rank = rank >= 0 ? rank : Math.min(-rank - 1, appids.length - 1);
+                if (cluster > 0 && random.nextDouble() < 0.6) {
+                    rank = (rank + clusterOffset) % appids.length;
+                }
+            } else {
+                // 라이브러리가 아주 크면 꼬리에서 균등하게 채운다
+                rank = random.nextInt(appids.length);
+            }
+            if (!taken.get(rank)) {
+                taken.set(rank);
+                result[n++] = appids[rank];
+            }
+        }
+        return result;
+    }
+
+    private static int skewedIndex(SplittableRandom random, int length) {
+        double r = random.nextDouble();
+        return (int) Math.min(length - 1, Math.floor(length * r * r));
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        double u1 = 1.0 - random.nextDouble();
+        double u2 = random.nextDouble();
+        return Math.sqrt(-2.0 * Math.log(u1)) * Math.cos(2 * Math.PI * u2);
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * 가상 사용자 한 명. 프로필 필드는 SteamUser, 게임 필드는 GetOwnedGames 응답과 같은 의미다.
+     */
+    public record SyntheticUser(long index, String steamId, String personaname, int communityvisibilitystate,
+                                long timecreated, long lastlogoff, String loccountrycode,
+                                int[] appids, int[] playtimeForever, int[] playtime2weeks, long[] lastPlayed) {
+    }
+}
@@ -0,0 +1,284 @@
+package com.example.steam.synthetic;
+
+import com.example.steam.recommend.UserLibrary;
+import com.example.steam.util.ContentHash;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 가상 사용자 모집단을 로컬 Steam 대역 픽스처 파일 또는 JPA 테이블로 내보낸다.
+ *
+ * 픽스처 (out=디렉터리):
+ *  - libraries.csv.gz         steamId,appid,playtime_forever,playtime_2weeks,rtime_last_played (오프라인 평가 입력)
+ *  - owned_games.jsonl.gz     사용자별 GetOwnedGames 응답 형태
+ *  - player_summaries.jsonl.gz  GetPlayerSummaries players[] 항목(SteamUser) 형태
+ *  - reviews.jsonl.gz         인기 게임별 리뷰 문장
+ *  - tags.csv                 appid,genre:..|category:.. (콘텐츠 추천 평가 입력)
+ *
+ * JDBC (jdbc=URL): user, app_details, owned_game, library_snapshot 테이블에 배치 INSERT
+ *
+ * 실행: ./gradlew generateSyntheticPopulation -Pusers=1000000 -Pseed=42 -Pout=build/synthetic
+ */
+public class SyntheticPopulationGenerator {
+
+    private static final int BATCH_SIZE = 1000;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                options.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        long users = Long.parseLong(options.getOrDefault("users", "100000"));
+        long seed = Long.parseLong(options.getOrDefault("seed", "42"));
+        int apps = Integer.parseInt(options.getOrDefault("apps", "50000"));
+        int reviewApps = Integer.parseInt(options.getOrDefault("reviewApps", "1000"));
+        // now 를 고정해야 같은 seed 로 같은 결과가 나온다
+        long now = Long.parseLong(options.getOrDefault("now", "1760745600"));
+
+        SyntheticPopulation population = new SyntheticPopulation(seed, apps,
+                Double.parseDouble(options.getOrDefault("zipf", "1.07")),
+                Double.parseDouble(options.getOrDefault("libraryAlpha", "1.2")),
+                Integer.parseInt(options.getOrDefault("minLibrary", "8")),
+                Integer.parseInt(options.getOrDefault("maxLibrary", "8000")),
+                Integer.parseInt(options.getOrDefault("clusters", "20")),
+                now);
+
+        long start = System.currentTimeMillis();
+        if (options.containsKey("jdbc")) {
+            writeJdbc(population, users, options.get("jdbc"),
+                    options.getOrDefault("jdbcUser", "root"), options.getOrDefault("jdbcPassword", ""));
+        } else {
+            Path out = Path.of(options.getOrDefault("out", "build/synthetic"));
+            writeFixtures(population, users, reviewApps, out);
+        }
+        System.out.printf("generated %d users, %d apps (seed=%d) in %d ms%n",
+                users, apps, seed, System.currentTimeMillis() - start);
+    }
+
+    static void writeFixtures(SyntheticPopulation population, long users, int reviewApps, Path out)
+            throws IOException {
+        Files.createDirectories(out);
+        JsonFactory jsonFactory = new JsonFactory();
+        long edges = 0;
+        try (Writer libraries = gzipWriter(out.resolve("libraries.csv.gz"));
+             JsonGenerator owned = jsonFactory.createGenerator(gzip(out.resolve("owned_games.jsonl.gz")), JsonEncoding.UTF8);
+             JsonGenerator summaries = jsonFactory.createGenerator(gzip(out.resolve("player_summaries.jsonl.gz")), JsonEncoding.UTF8)) {
+            owned.setRootValueSeparator(null);
+            summaries.setRootValueSeparator(null);
+            libraries.write("steamId,appid,playtime_forever,playtime_2weeks,rtime_last_played\n");
+            for (long i = 0; i < users; i++) {
+                SyntheticPopulation.SyntheticUser user = population.user(i);
+                edges += user.appids().length;
+
+                StringBuilder rows = new StringBuilder(user.appids().length * 40);
+                for (int g = 0; g < user.appids().length; g++) {
+                    rows.append(user.steamId()).append(',').append(user.appids()[g]).append(',')
+                            .append(user.playtimeForever()[g]).append(',').append(user.playtime2weeks()[g]).append(',')
+                            .append(user.lastPlayed()[g]).append('\n');
+                }
+                libraries.write(rows.toString());
+
+                writeOwnedGames(owned, user);
+                writePlayerSummary(summaries, user);
+            }
+        }
+
+        try (Writer tags = Files.newBufferedWriter(out.resolve("tags.csv"), StandardCharsets.UTF_8);
+             JsonGenerator reviews = jsonFactory.createGenerator(gzip(out.resolve("reviews.jsonl.gz")), JsonEncoding.UTF8)) {
+            reviews.setRootValueSeparator(null);
+            for (int rank = 0; rank < population.appCount(); rank++) {
+                int appid = population.appidAtRank(rank);
+                tags.write(appid + "," + String.join("|", population.tags(appid)) + "\n");
+                if (rank < reviewApps) {
+                    // 인기 게임일수록 리뷰가 많다
+                    List<String> texts = population.reviews(appid, Math.max(3, 50 / (1 + rank / 20)));
+                    reviews.writeStartObject();
+                    reviews.writeNumberField("appid", appid);
+                    reviews.writeArrayFieldStart("reviews");
+                    for (String text : texts) {
+                        reviews.writeString(text);
+                    }
+                    reviews.writeEndArray();
+                    reviews.writeEndObject();
+                    reviews.writeRaw('\n');
+                }
+            }
+        }
+        System.out.printf("fixtures written to %s (%d library rows)%n", out.toAbsolutePath(), edges);
+    }
+
+    private static void writeOwnedGames(JsonGenerator json, SyntheticPopulation.SyntheticUser user) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("steamid", user.steamId());
+        json.writeObjectFieldStart("response");
+        json.writeNumberField("game_count", user.appids().length);
+        json.writeArrayFieldStart("games");
+        for (int g = 0; g < user.appids().length; g++) {
+            json.writeStartObject();
+            json.writeNumberField("appid", user.appids()[g]);
+            json.writeNumberField("playtime_forever", user.playtimeForever()[g]);
+            if (user.playtime2weeks()[g] > 0) {
+                json.writeNumberField("playtime_2weeks", user.playtime2weeks()[g]);
+            }
+            json.writeNumberField("rtime_last_played", user.lastPlayed()[g]);
+            json.writeEndObject();
+        }
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private static void writePlayerSummary(JsonGenerator json, SyntheticPopulation.SyntheticUser user) throws IOException {
+        json.writeStartObject();
+        json.writeStringField("steamid", user.steamId());
+        json.writeStringField("personaname", user.personaname());
+        json.writeStringField("profileurl", "https://steamcommunity.com/profiles/" + user.steamId() + "/");
+        json.writeStringField("avatar", "");
+        json.writeStringField("avatarmedium", "");
+        json.writeStringField("avatarfull", "");
+        json.writeNumberField("personastate", 0);
+        json.writeNumberField("communityvisibilitystate", user.communityvisibilitystate());
+        json.writeNumberField("profilestate", 1);
+        json.writeNumberField("lastlogoff", user.lastlogoff());
+        json.writeNumberField("timecreated", user.timecreated());
+        json.writeStringField("loccountrycode", user.loccountrycode());
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    /**
+     * 사용자 프로필은 user 테이블, 게임 메타데이터는 app_details 테이블,
+     * 라이브러리는 owned_game / library_snapshot 테이블에 넣는다.
+     * 이미 있는 행은 건너뛰므로 같은 seed 로 여러 번 실행해도 된다.
+     * (rewriteBatchedStatements=true 를 URL 에 붙이면 배치가 다중 행 INSERT 로 전송된다)
+     */
+    static void writeJdbc(SyntheticPopulation population, long users, String url, String user, String password)
+            throws SQLException {
+        try (Connection connection = DriverManager.getConnection(url, user, password)) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT IGNORE INTO user (user_id, name, nickname, steam_id, steam_nickname) VALUES (?, ?, ?, ?, ?)")) {
+                for (long i = 0; i < users; i++) {
+                    SyntheticPopulation.SyntheticUser u = population.user(i);
+                    ps.setString(1, "synthetic_" + u.index());
+                    ps.setString(2, u.personaname());
+                    ps.setString(3, u.personaname());
+                    ps.setString(4, u.steamId());
+                    ps.setString(5, u.personaname());
+                    ps.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        ps.executeBatch();
+                        connection.commit();
+                    }
+                }
+                ps.executeBatch();
+                connection.commit();
+            }
+
+            // 라이브러리: 행 수가 사용자 수보다 훨씬 많으므로 BATCH_SIZE 행마다 실행
+            Timestamp syncedAt = new Timestamp(System.currentTimeMillis() / 1000 * 1000);
+            try (PreparedStatement games = connection.prepareStatement(
+                    "INSERT IGNORE INTO owned_game (steam_id, appid, playtime_forever, playtime2weeks, rtime_last_played, content_hash, synced_at) VALUES (?, ?, ?, ?, ?, ?, ?)");
+                 PreparedStatement snapshots = connection.prepareStatement(
+                         "INSERT IGNORE INTO library_snapshot (steam_id, game_count, total_playtime, library_hash, content_hash, synced_at) VALUES (?, ?, ?, ?, ?, ?)")) {
+                long rows = 0;
+                for (long i = 0; i < users; i++) {
+                    SyntheticPopulation.SyntheticUser u = population.user(i);
+                    long totalPlaytime = 0;
+                    long contentHash = 0;
+                    for (int g = 0; g < u.appids().length; g++) {
+                        long gameHash = ContentHash.game(u.appids()[g], u.playtimeForever()[g], u.playtime2weeks()[g], u.lastPlayed()[g]);
+                        games.setString(1, u.steamId());
+                        games.setInt(2, u.appids()[g]);
+                        games.setInt(3, u.playtimeForever()[g]);
+                        games.setInt(4, u.playtime2weeks()[g]);
+                        games.setLong(5, u.lastPlayed()[g]);
+                        games.setLong(6, gameHash);
+                        games.setTimestamp(7, syncedAt);
+                        games.addBatch();
+                        totalPlaytime += u.playtimeForever()[g];
+                        contentHash += gameHash;
+                        if (++rows % BATCH_SIZE == 0) {
+                            games.executeBatch();
+                        }
+                    }
+                    snapshots.setString(1, u.steamId());
+                    snapshots.setInt(2, u.appids().length);
+                    snapshots.setLong(3, totalPlaytime);
+                    snapshots.setLong(4, new UserLibrary(u.steamId(), u.appids(), u.playtimeForever()).libraryHash());
+                    snapshots.setLong(5, contentHash);
+                    snapshots.setTimestamp(6, syncedAt);
+                    snapshots.addBatch();
+                    if ((i + 1) % BATCH_SIZE == 0) {
+                        games.executeBatch();
+                        snapshots.executeBatch();
+                        connection.commit();
+                    }
+                }
+                games.executeBatch();
+                snapshots.executeBatch();
+                connection.commit();
+            }
+
+            Timestamp fetchedAt = new Timestamp(System.currentTimeMillis());
+            try (PreparedStatement ps = connection.prepareStatement(
+                    "INSERT IGNORE INTO app_details (appid, name, type, genres, categories, fetched_at) VALUES (?, ?, 'game', ?, ?, ?)")) {
+                for (int rank = 0; rank < population.appCount(); rank++) {
+                    int appid = population.appidAtRank(rank);
+                    List<String> tags = population.tags(appid);
+                    ps.setInt(1, appid);
+                    ps.setString(2, "Synthetic Game " + appid);
+                    ps.setString(3, joinTags(tags, "genre:"));
+                    ps.setString(4, joinTags(tags, "category:"));
+                    ps.setTimestamp(5, fetchedAt);
+                    ps.addBatch();
+                    if ((rank + 1) % BATCH_SIZE == 0) {
+                        ps.executeBatch();
+                        connection.commit();
+                    }
+                }
+                ps.executeBatch();
+                connection.commit();
+            }
+        }
+    }
+
+    private static String joinTags(List<String> tags, String prefix) {
+        return tags.stream()
+                .filter(tag -> tag.startsWith(prefix))
+                .map(tag -> tag.substring(prefix.length()))
+                .collect(Collectors.joining(","));
+    }
+
+    private static OutputStream gzip(Path path) throws IOException {
+        return new GZIPOutputStream(Files.newOutputStream(path), 1 << 16);
+    }
+
+    private static Writer gzipWriter(Path path) throws IOException {
+        return new BufferedWriter(new OutputStreamWriter(gzip(path), StandardCharsets.UTF_8), 1 << 16);
+    }
+}
@@ -0,0 +1,69 @@
+package com.example.steam.util;
+
+/**
+ * 정수 키용 블룸 필터. 없다고 답하면 확실히 없고, 있다고 답하면 fpp 확률로 틀릴 수 있다.
+ * 해시 하나(splitmix64)를 두 32비트 조각으로 나눠 h1 + i * h2 로 k 개 위치를 만든다 (Kirsch-Mitzenmacher).
+ * 다 채운 뒤에는 읽기만 하므로 여러 스레드가 동시에 조회해도 된다.
+ */
+public final class BloomFilter {
+
+    private final long[] words;
+    private final long bitCount;
+    private final int hashCount;
+
+    private BloomFilter(long bitCount, int hashCount) {
+        this.bitCount = bitCount;
+        this.hashCount = hashCount;
+        this.words = new long[(int) ((bitCount + 63) >>> 6)];
+    }
+
+    // 원소 expected 개에서 거짓 양성 확률이 fpp 가 되도록 비트 수와 해시 수를 정한다
+    public static BloomFilter create(int expected, double fpp) {
+        if (fpp <= 0 || fpp >= 1) {
+            throw new IllegalArgumentException("fpp 는 0 과 1 사이여야 한다: " + fpp);
+        }
+        int n = Math.max(expected, 1);
+        long bits = Math.max(64, (long) Math.ceil(-n * Math.log(fpp) / (Math.log(2) * Math.log(2))));
+        int hashes = Math.max(1, (int) Math.round((double) bits / n * Math.log(2)));
+        return new BloomFilter(bits, hashes);
+    }
+
+    public void put(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+            words[(int) (bit >>> 6)] |= 1L << bit;
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long hash = mix(key);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = ((h1 + (long) i * h2) & Long.MAX_VALUE) % bitCount;
+            if ((words[(int) (bit >>> 6)] & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public int hashCount() {
+        return hashCount;
+    }
+
+    public long bytes() {
+        return 8L * words.length;
+    }
+
+    // splitmix64 마무리 함수
+    private static long mix(long z) {
+        z = (z + 0x9E3779B97F4A7C15L);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
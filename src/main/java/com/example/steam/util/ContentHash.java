@@ -0,0 +1,26 @@
+package com.example.steam.util;
+
+/**
+ * 라이브러리 동기화용 내용 해시.
+ * 게임 해시는 (appid, 누적/최근 플레이 시간, 마지막 플레이 시각) 을 섞은 64비트 값이고,
+ * 라이브러리 해시는 게임 해시의 합이라 게임 순서와 무관하다.
+ */
+public final class ContentHash {
+
+    private ContentHash() {
+    }
+
+    public static long game(int appid, int playtimeForever, int playtime2weeks, long rtimeLastPlayed) {
+        long h = mix(appid * 0x9E3779B97F4A7C15L);
+        h = mix(h ^ playtimeForever);
+        h = mix(h ^ playtime2weeks);
+        return mix(h ^ rtimeLastPlayed);
+    }
+
+    // splitmix64 마무리 함수
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.steam.util;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 토큰 버킷 요청 제한기. 초당 ratePerSecond 개씩 채워지고 최대 burst 개까지 쌓인다.
+ * 외부 API 일일 할당량을 넘지 않도록 호출 전에 토큰을 하나씩 받는다.
+ */
+public class TokenBucket {
+
+    private final double ratePerNano;
+    private final double capacity;
+    private double tokens;
+    private long lastRefill;
+
+    public TokenBucket(double ratePerSecond, int burst) {
+        if (ratePerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("ratePerSecond 와 burst 는 양수여야 한다: " + ratePerSecond + ", " + burst);
+        }
+        this.ratePerNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.capacity = burst;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    // 토큰이 있으면 바로 하나 쓰고 true
+    public synchronized boolean tryAcquire() {
+        refill();
+        if (tokens >= 1) {
+            tokens -= 1;
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * 토큰이 생길 때까지 최대 timeout 동안 기다린다.
+     *
+     * @return 기다린 끝에 토큰을 받았으면 true
+     */
+    public boolean acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (true) {
+            long waitNanos;
+            synchronized (this) {
+                refill();
+                if (tokens >= 1) {
+                    tokens -= 1;
+                    return true;
+                }
+                waitNanos = (long) Math.ceil((1 - tokens) / ratePerNano);
+            }
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            TimeUnit.NANOSECONDS.sleep(Math.min(waitNanos, remaining));
+        }
+    }
+
+    public synchronized double availableTokens() {
+        refill();
+        return tokens;
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        tokens = Math.min(capacity, tokens + (now - lastRefill) * ratePerNano);
+        lastRefill = now;
+    }
+}
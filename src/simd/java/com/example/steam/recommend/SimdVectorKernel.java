@@ -0,0 +1,78 @@
+package com.example.steam.recommend;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.FloatVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * jdk.incubator.vector 기반 SIMD 커널.
+ * 플랫폼 선호 폭(AVX2 면 8, AVX-512 면 16 레인)으로 누적하고 남는 꼬리만 스칼라로 처리한다.
+ * 컴파일과 실행 모두 --add-modules jdk.incubator.vector 가 필요하다 (main 과 분리된 simd 소스 세트에서만 컴파일).
+ */
+public final class SimdVectorKernel implements VectorKernel {
+
+    private static final VectorSpecies<Float> FLOATS = FloatVector.SPECIES_PREFERRED;
+    // int8 코드는 float 레인 수 이상 읽어 앞부분을 float 로 넓힌다 (16 레인이면 128비트, 그 외 64비트)
+    private static final VectorSpecies<Byte> BYTES = FLOATS.length() >= 16 ? ByteVector.SPECIES_128 : ByteVector.SPECIES_64;
+
+    @Override
+    public String name() {
+        return "simd-" + FLOATS.length();
+    }
+
+    @Override
+    public float dot(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector acc = FloatVector.zero(FLOATS);
+        int i = 0;
+        int bound = FLOATS.loopBound(length);
+        for (; i < bound; i += FLOATS.length()) {
+            FloatVector va = FloatVector.fromArray(FLOATS, a, aOffset + i);
+            FloatVector vb = FloatVector.fromArray(FLOATS, b, bOffset + i);
+            acc = va.fma(vb, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += a[aOffset + i] * b[bOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float dot(float[] query, byte[] codes, int codesOffset, int length) {
+        FloatVector acc = FloatVector.zero(FLOATS);
+        int i = 0;
+        int step = FLOATS.length();
+        int bound = FLOATS.loopBound(length);
+        // 바이트 벡터는 BYTES 길이만큼 읽으므로 배열 끝을 넘지 않는 구간까지만 벡터로 처리
+        int safeBound = Math.min(bound, codes.length - codesOffset - BYTES.length() + 1);
+        for (; i < safeBound; i += step) {
+            FloatVector vc = (FloatVector) ByteVector.fromArray(BYTES, codes, codesOffset + i)
+                    .convertShape(VectorOperators.B2F, FLOATS, 0);
+            acc = FloatVector.fromArray(FLOATS, query, i).fma(vc, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            sum += query[i] * codes[codesOffset + i];
+        }
+        return sum;
+    }
+
+    @Override
+    public float squaredDistance(float[] a, int aOffset, float[] b, int bOffset, int length) {
+        FloatVector acc = FloatVector.zero(FLOATS);
+        int i = 0;
+        int bound = FLOATS.loopBound(length);
+        for (; i < bound; i += FLOATS.length()) {
+            FloatVector diff = FloatVector.fromArray(FLOATS, a, aOffset + i)
+                    .sub(FloatVector.fromArray(FLOATS, b, bOffset + i));
+            acc = diff.fma(diff, acc);
+        }
+        float sum = acc.reduceLanes(VectorOperators.ADD);
+        for (; i < length; i++) {
+            float diff = a[aOffset + i] - b[bOffset + i];
+            sum += diff * diff;
+        }
+        return sum;
+    }
+}